@@ -24,7 +24,7 @@
  */
 package co.aikar.timings;
 
-import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.world.WorldTickThread;
 
 class UnsafeTimingHandler extends TimingHandler {
 
@@ -33,7 +33,8 @@ class UnsafeTimingHandler extends TimingHandler {
     }
 
     private static void checkThread() {
-        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+        // Worlds ticked in parallel are not timed, TimingHandler ignores their calls
+        if (!WorldTickThread.isServerOrWorldThread()) {
             throw new IllegalStateException("Calling Timings from Async Operation");
         }
     }
@@ -56,6 +56,7 @@ public class WorldTimingsHandler {
     public final Timing tracker2;
     public final Timing doTick;
     public final Timing tickEntities;
+    public final Timing parallelTick;
 
     // Chunk Load
     public final Timing syncChunkLoadTimer;
@@ -71,6 +72,7 @@ public class WorldTimingsHandler {
     public final Timing causeTrackerBlockBreakTimer;
     public final Timing causeTrackerEntityTimer;
     public final Timing causeTrackerEntityItemTimer;
+    public final Timing causeTrackerDeferredPhysicsTimer;
 
     // Chunk population
     public final Timing chunkPopulate;
@@ -112,12 +114,28 @@ public WorldTimingsHandler(World world) {
         this.tracker2 = SpongeTimingsFactory.ofSafe(name + "tracker stage 2");
         this.doTick = SpongeTimingsFactory.ofSafe(name + "doTick");
         this.tickEntities = SpongeTimingsFactory.ofSafe(name + "tickEntities");
+        this.parallelTick = SpongeTimingsFactory.ofSafe(name + "parallelTick");
 
         this.causeTrackerBlockTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - BlockCaptures");
         this.causeTrackerBlockBreakTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - BlockBreakCaptures");
         this.causeTrackerEntityTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - EntityCaptures");
         this.causeTrackerEntityItemTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - EntityItemCaptures");
+        this.causeTrackerDeferredPhysicsTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - DeferredBlockPhysics");
 
         this.chunkPopulate = SpongeTimingsFactory.ofSafe(name + "chunkPopulate");
     }
+
+    /**
+     * Records the time the world spent ticking on a world tick thread. Timings
+     * can only be taken on the server thread, so the time is measured by the
+     * world thread and recorded once all worlds are done.
+     *
+     * @param nanos The duration of the world tick
+     */
+    public void recordParallelTick(long nanos) {
+        final TimingHandler handler = (TimingHandler) this.parallelTick;
+        if (handler.enabled) {
+            handler.addDiff(nanos);
+        }
+    }
 }
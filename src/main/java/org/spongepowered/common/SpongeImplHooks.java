@@ -80,6 +80,7 @@
 import org.spongepowered.common.util.SpawnerSpawnType;
 import org.spongepowered.common.world.WorldManager;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Optional;
@@ -304,6 +305,10 @@ public static void onTileEntityChunkUnload(net.minecraft.tileentity.TileEntity t
         // forge only method
     }
 
+    public static void onPlayerDataSkipped(EntityPlayer player, File playersDirectory) {
+        // Overwritten in SpongeForge to still fire the player saving event when an unchanged player file is not rewritten
+    }
+
     public static boolean canConnectRedstone(Block block, IBlockState state, IBlockAccess world, BlockPos pos, @Nullable EnumFacing side) {
         return state.canProvidePower() && side != null;
     }
@@ -383,4 +388,8 @@ public static boolean shouldKeepSpawnLoaded(net.minecraft.world.DimensionType di
     public static void setShouldLoadSpawn(net.minecraft.world.DimensionType dimensionType, boolean keepSpawnLoaded) {
         // This is only used in SpongeForge
     }
+
+    public static boolean isParallelWorldTickingSupported() {
+        return true; // Overwritten in SpongeForge, mods expect the world tick events around the actual world tick
+    }
 }
@@ -32,6 +32,7 @@
 import org.spongepowered.api.event.service.ChangeServiceProviderEvent;
 import org.spongepowered.api.event.world.SaveWorldEvent;
 import org.spongepowered.common.interfaces.server.management.IMixinPlayerProfileCache;
+import org.spongepowered.common.interfaces.server.management.IMixinUserList;
 import org.spongepowered.common.util.SpongeUsernameCache;
 
 import java.util.Iterator;
@@ -77,6 +78,9 @@ public void onWorldSave(SaveWorldEvent event) {
                 ((IMixinPlayerProfileCache) server.getPlayerProfileCache()).setCanSave(true);
                 server.getPlayerProfileCache().save();
                 ((IMixinPlayerProfileCache) server.getPlayerProfileCache()).setCanSave(false);
+                // Expired bans are only dropped in memory when they are looked up
+                ((IMixinUserList) server.getPlayerList().getBannedPlayers()).saveIfUnsaved();
+                ((IMixinUserList) server.getPlayerList().getBannedIPs()).saveIfUnsaved();
             }
         }
     }
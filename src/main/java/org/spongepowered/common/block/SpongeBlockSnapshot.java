@@ -81,24 +81,35 @@
 
 import javax.annotation.Nullable;
 
+/**
+ * A snapshot of a block.
+ *
+ * <p>Snapshots are created for every captured block change, most of which
+ * are never inspected, so only the state, position and data references are
+ * stored up front. The position is kept packed like {@link BlockPos#toLong()},
+ * which is why the builder rejects positions that don't fit it, and the key and value views are built on first access. The tile entity
+ * compound is shared with the builder that created it and is never modified
+ * by the snapshot, the builder copies it before it writes to it again.</p>
+ */
 @SuppressWarnings("unchecked")
 public class SpongeBlockSnapshot implements BlockSnapshot {
 
     private final BlockState blockState;
     private final BlockState extendedState;
     private final UUID worldUniqueId;
-    private final Vector3i pos;
+    private final long pos;
     private final ImmutableList<ImmutableDataManipulator<?, ?>> extraData;
-    private ImmutableMap<Key<?>, ImmutableValue<?>> keyValueMap;
-    private ImmutableSet<ImmutableValue<?>> valueSet;
-    private ImmutableList<ImmutableDataManipulator<?, ?>> blockData;
-    private ImmutableMap<Key<?>, ImmutableValue<?>> blockKeyValueMap;
-    private ImmutableSet<ImmutableValue<?>> blockValueSet;
+    @Nullable private Vector3i position;
+    @Nullable private ImmutableMap<Key<?>, ImmutableValue<?>> keyValueMap;
+    @Nullable private ImmutableSet<ImmutableValue<?>> valueSet;
+    @Nullable private ImmutableList<ImmutableDataManipulator<?, ?>> blockData;
+    @Nullable private ImmutableMap<Key<?>, ImmutableValue<?>> blockKeyValueMap;
+    @Nullable private ImmutableSet<ImmutableValue<?>> blockValueSet;
     @Nullable final NBTTagCompound compound;
     @Nullable final UUID creatorUniqueId;
     @Nullable final UUID notifierUniqueId;
     // Internal use only
-    private final BlockPos blockPos;
+    @Nullable private BlockPos blockPos;
     private int updateFlag;
     private BlockChangeFlag changeFlag;
     public BlockChange blockChange; // used for post event
@@ -116,21 +127,17 @@ public SpongeBlockSnapshot(SpongeBlockSnapshotBuilder builder) {
         this.worldUniqueId = checkNotNull(builder.worldUuid);
         this.creatorUniqueId = builder.creatorUuid;
         this.notifierUniqueId = builder.notifierUuid;
-        this.pos = checkNotNull(builder.coords);
-        this.blockPos = VecHelper.toBlockPos(this.pos);
-
-        // This avoids cross contamination of block state based values versus tile entity values.
-        // TODO - delegate this to NbtProcessors when schematics are merged.
-        final ImmutableMap.Builder<Key<?>, ImmutableValue<?>> tileBuilder = ImmutableMap.builder();
-        this.extraData = builder.manipulators == null ? ImmutableList.<ImmutableDataManipulator<?, ?>>of() : ImmutableList.copyOf(builder.manipulators);
-        for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
-            for (ImmutableValue<?> value : manipulator.getValues()) {
-                tileBuilder.put(value.getKey(), value);
-            }
+        if (builder.blockPos != null) {
+            this.pos = builder.blockPos.toLong();
+            this.blockPos = builder.blockPos;
+        } else {
+            this.pos = VecHelper.toLong(checkNotNull(builder.coords));
+            this.position = builder.coords;
         }
-        this.keyValueMap = tileBuilder.build();
-        this.valueSet = this.keyValueMap.isEmpty() ? ImmutableSet.of() : ImmutableSet.copyOf(this.keyValueMap.values());
-        this.compound = builder.compound == null ? null : builder.compound.copy();
+        this.extraData = builder.manipulators == null || builder.manipulators.isEmpty()
+                ? ImmutableList.<ImmutableDataManipulator<?, ?>>of()
+                : ImmutableList.copyOf(builder.manipulators);
+        this.compound = builder.shareCompound();
         this.changeFlag = BlockChangeFlag.ALL;
     }
 
@@ -169,7 +176,10 @@ public UUID getWorldUniqueId() {
 
     @Override
     public Vector3i getPosition() {
-        return this.pos;
+        if (this.position == null) {
+            this.position = VecHelper.toVector3i(this.pos);
+        }
+        return this.position;
     }
 
     @Override
@@ -188,7 +198,7 @@ public boolean restore(boolean force, BlockChangeFlag flag) {
             ? null
             : BlockPhase.State.RESTORING_BLOCKS.createPhaseContext().buildAndSwitch()) {
 
-            BlockPos pos = VecHelper.toBlockPos(this.pos);
+            BlockPos pos = this.getBlockPos();
             IBlockState current = world.getBlockState(pos);
             IBlockState replaced = (IBlockState) this.blockState;
             if (!force && (current.getBlock() != replaced.getBlock() || current.getBlock().getMetaFromState(current) != replaced.getBlock()
@@ -205,7 +215,8 @@ public boolean restore(boolean force, BlockChangeFlag flag) {
             if (this.compound != null) {
                 final TileEntity te = world.getTileEntity(pos);
                 if (te != null) {
-                    te.readFromNBT(this.compound);
+                    // The compound may be shared, so the tile entity gets its own copy
+                    te.readFromNBT(this.compound.copy());
                     te.markDirty();
                 }
             }
@@ -248,9 +259,9 @@ public DataContainer toContainer() {
             .set(Queries.CONTENT_VERSION, getContentVersion())
             .set(Queries.WORLD_ID, this.worldUniqueId.toString())
             .createView(DataQueries.SNAPSHOT_WORLD_POSITION)
-                .set(Queries.POSITION_X, this.pos.getX())
-                .set(Queries.POSITION_Y, this.pos.getY())
-                .set(Queries.POSITION_Z, this.pos.getZ())
+                .set(Queries.POSITION_X, VecHelper.unpackX(this.pos))
+                .set(Queries.POSITION_Y, VecHelper.unpackY(this.pos))
+                .set(Queries.POSITION_Z, VecHelper.unpackZ(this.pos))
             .getContainer()
             .set(DataQueries.BLOCK_STATE, this.blockState);
 
@@ -375,7 +386,7 @@ public BlockSnapshot merge(BlockSnapshot that, MergeFunction function) {
 
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
-        if (this.keyValueMap.containsKey(key)) {
+        if (getTileMap().containsKey(key)) {
             return Optional.of((E) this.keyValueMap.get(key).get());
         } else if (getKeyValueMap().containsKey(key)) {
             return Optional.of((E) this.blockKeyValueMap.get(key).get());
@@ -410,6 +421,8 @@ private ImmutableSet<ImmutableValue<?>> getTileValueSet() {
 
     private ImmutableMap<Key<?>, ImmutableValue<?>> getTileMap() {
         if (this.keyValueMap == null) {
+            // This avoids cross contamination of block state based values versus tile entity values.
+            // TODO - delegate this to NbtProcessors when schematics are merged.
             final ImmutableMap.Builder<Key<?>, ImmutableValue<?>> tileBuilder = ImmutableMap.builder();
             for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
                 for (ImmutableValue<?> value : manipulator.getValues()) {
@@ -431,7 +444,7 @@ private ImmutableMap<Key<?>, ImmutableValue<?>> getTileMap() {
 
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
-        if (this.keyValueMap.containsKey(key)) {
+        if (getTileMap().containsKey(key)) {
             return Optional.of((V) this.keyValueMap.get(key).asMutable());
         } else if (getKeyValueMap().containsKey(key)) {
             return Optional.of((V) this.blockKeyValueMap.get(key).asMutable());
@@ -442,7 +455,7 @@ public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
     @Override
     public boolean supports(Key<?> key) {
         checkNotNull(key, "Key");
-        return this.keyValueMap.containsKey(key) || getKeyValueMap().containsKey(key);
+        return getTileMap().containsKey(key) || getKeyValueMap().containsKey(key);
     }
 
     @Override
@@ -454,7 +467,7 @@ public BlockSnapshot copy() {
     @Override
     public Set<Key<?>> getKeys() {
         if (this.keys == null) {
-            this.keys = ImmutableSet.<Key<?>>builder().addAll(getKeyValueMap().keySet()).addAll(getKeyValueMap().keySet()).build();
+            this.keys = ImmutableSet.<Key<?>>builder().addAll(getTileMap().keySet()).addAll(getKeyValueMap().keySet()).build();
         }
         return this.keys;
     }
@@ -476,13 +489,13 @@ public SpongeBlockSnapshotBuilder createBuilder() {
         final SpongeBlockSnapshotBuilder builder = new SpongeBlockSnapshotBuilder();
         builder.blockState(this.blockState)
             .extendedState(this.extendedState)
-            .position(this.pos)
+            .position(this.getPosition())
             .worldId(this.worldUniqueId);
         for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
             builder.add(manipulator);
         }
         if (this.compound != null) {
-            builder.unsafeNbt(this.compound);
+            builder.sharedNbt(this.compound);
         }
         return builder;
     }
@@ -498,6 +511,9 @@ public int getUpdateFlag() {
     }
 
     public BlockPos getBlockPos() {
+        if (this.blockPos == null) {
+            this.blockPos = BlockPos.fromLong(this.pos);
+        }
         return this.blockPos;
     }
 
@@ -505,7 +521,7 @@ public BlockPos getBlockPos() {
     public String toString() {
         return MoreObjects.toStringHelper(this)
                 .add("worldUniqueId", this.worldUniqueId)
-                .add("position", this.pos)
+                .add("position", this.getPosition())
                 .add("blockState", this.blockState)
                 .add("extendedState", this.extendedState)
                 .toString();
@@ -557,7 +573,7 @@ public boolean equals(Object o) {
         return this.changeFlag == that.changeFlag &&
                Objects.equal(this.extendedState, that.extendedState) &&
                Objects.equal(this.worldUniqueId, that.worldUniqueId) &&
-               Objects.equal(this.pos, that.pos) &&
+               this.pos == that.pos &&
                Objects.equal(this.extraData, that.extraData) &&
                Objects.equal(this.compound, that.compound);
     }
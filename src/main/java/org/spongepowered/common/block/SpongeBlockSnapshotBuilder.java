@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.block;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static org.spongepowered.common.data.util.DataUtil.checkDataExists;
@@ -33,6 +34,7 @@
 import net.minecraft.block.ITileEntityProvider;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockTypes;
@@ -52,6 +54,7 @@
 import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.data.IMixinCustomDataHolder;
+import org.spongepowered.common.util.VecHelper;
 
 import java.util.Iterator;
 import java.util.List;
@@ -69,8 +72,11 @@ public class SpongeBlockSnapshotBuilder extends AbstractDataBuilder<BlockSnapsho
     UUID creatorUuid;
     UUID notifierUuid;
     Vector3i coords;
+    @Nullable BlockPos blockPos;
     @Nullable List<ImmutableDataManipulator<?, ?>> manipulators;
     @Nullable NBTTagCompound compound;
+    // Whether the compound is also referenced by a snapshot, in which case it is copied before it is modified
+    private boolean compoundShared;
 
 
     public SpongeBlockSnapshotBuilder() {
@@ -101,23 +107,55 @@ public SpongeBlockSnapshotBuilder extendedState(BlockState extendedState) {
 
     @Override
     public SpongeBlockSnapshotBuilder position(Vector3i position) {
-        this.coords = checkNotNull(position);
+        this.coords = checkPosition(position);
+        this.blockPos = null;
+        this.updateCompoundPosition(position.getX(), position.getY(), position.getZ());
+        return this;
+    }
+
+    /**
+     * Sets the position without converting it to a {@link Vector3i}, the
+     * built snapshot only keeps the packed position.
+     *
+     * @param pos The position
+     * @return This builder, for chaining
+     */
+    public SpongeBlockSnapshotBuilder position(BlockPos pos) {
+        this.blockPos = checkNotNull(pos).toImmutable();
+        this.coords = null;
+        this.updateCompoundPosition(pos.getX(), pos.getY(), pos.getZ());
+        return this;
+    }
+
+    private static Vector3i checkPosition(Vector3i position) {
+        checkNotNull(position);
+        // Snapshots keep their position packed, see SpongeBlockSnapshot
+        checkArgument(VecHelper.canPack(position), "The position %s is out of range for a block snapshot", position);
+        return position;
+    }
+
+    private void updateCompoundPosition(int x, int y, int z) {
         if (this.compound != null) {
-            this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_X, position.getX());
-            this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_Y, position.getY());
-            this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_Z, position.getZ());
+            if (this.compoundShared) {
+                this.compound = this.compound.copy();
+                this.compoundShared = false;
+            }
+            this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_X, x);
+            this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_Y, y);
+            this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_Z, z);
         }
-        return this;
     }
 
     @Override
     public SpongeBlockSnapshotBuilder from(Location<World> location) {
         this.blockState = location.getBlock();
         this.worldUuid = location.getExtent().getUniqueId();
-        this.coords = location.getBlockPosition();
+        this.coords = checkPosition(location.getBlockPosition());
+        this.blockPos = null;
         if (this.blockState.getType() instanceof ITileEntityProvider) {
             if (location.hasTileEntity()) {
                 this.compound = new NBTTagCompound();
+                this.compoundShared = false;
                 org.spongepowered.api.block.tileentity.TileEntity te = location.getTileEntity().get();
                 ((TileEntity) te).writeToNBT(this.compound);
                 this.manipulators = ((IMixinCustomDataHolder) te).getCustomManipulators().stream()
@@ -142,9 +180,36 @@ public BlockSnapshot.Builder notifier(UUID uuid) {
 
     public SpongeBlockSnapshotBuilder unsafeNbt(NBTTagCompound compound) {
         this.compound = compound.copy();
+        this.compoundShared = false;
         return this;
     }
 
+    /**
+     * Sets the tile entity data without copying it. The compound must not be
+     * modified afterwards by the caller, the snapshots built from this
+     * builder will reference it.
+     *
+     * @param compound The tile entity data
+     * @return This builder, for chaining
+     */
+    public SpongeBlockSnapshotBuilder sharedNbt(NBTTagCompound compound) {
+        this.compound = checkNotNull(compound, "compound");
+        this.compoundShared = true;
+        return this;
+    }
+
+    /**
+     * Hands the compound over to a snapshot being built. Both keep
+     * referencing it until this builder has to modify it.
+     */
+    @Nullable
+    NBTTagCompound shareCompound() {
+        if (this.compound != null) {
+            this.compoundShared = true;
+        }
+        return this.compound;
+    }
+
     @Override
     public SpongeBlockSnapshotBuilder add(DataManipulator<?, ?> manipulator) {
         return add(checkNotNull(manipulator, "manipulator").asImmutable());
@@ -188,10 +253,11 @@ public SpongeBlockSnapshotBuilder from(BlockSnapshot holder) {
             this.notifierUuid = holder.getNotifier().get();
         }
         this.coords = holder.getPosition();
+        this.blockPos = null;
         this.manipulators = Lists.newArrayList(holder.getManipulators());
         if (holder instanceof SpongeBlockSnapshot) {
             if (((SpongeBlockSnapshot) holder).compound != null) {
-                this.compound = ((SpongeBlockSnapshot) holder).compound.copy();
+                this.sharedNbt(((SpongeBlockSnapshot) holder).compound);
             }
         }
         return this;
@@ -204,8 +270,10 @@ public SpongeBlockSnapshotBuilder reset() {
         this.creatorUuid = null;
         this.notifierUuid = null;
         this.coords = null;
+        this.blockPos = null;
         this.manipulators = null;
         this.compound = null;
+        this.compoundShared = false;
         return this;
     }
 
@@ -228,6 +296,9 @@ protected Optional<BlockSnapshot> buildContent(DataView container) throws Invali
         final SpongeBlockSnapshotBuilder builder = new SpongeBlockSnapshotBuilder();
         final UUID worldUuid = UUID.fromString(container.getString(Queries.WORLD_ID).get());
         final Vector3i coordinate = DataUtil.getPosition3i(container);
+        if (!VecHelper.canPack(coordinate)) {
+            throw new InvalidDataException("The position " + coordinate + " is out of range for a block snapshot");
+        }
         Optional<String> creatorUuid = container.getString(Queries.CREATOR_ID);
         Optional<String> notifierUuid = container.getString(Queries.NOTIFIER_ID);
 
@@ -253,7 +324,7 @@ protected Optional<BlockSnapshot> buildContent(DataView container) throws Invali
         Optional<DataView> unsafeCompound = container.getView(DataQueries.UNSAFE_NBT);
         final NBTTagCompound compound = unsafeCompound.isPresent() ? NbtTranslator.getInstance().translateData(unsafeCompound.get()) : null;
         if (compound != null) {
-            builder.unsafeNbt(compound);
+            builder.sharedNbt(compound);
         }
         if (container.contains(DataQueries.SNAPSHOT_TILE_DATA)) {
             final List<DataView> dataViews = container.getViewList(DataQueries.SNAPSHOT_TILE_DATA).get();
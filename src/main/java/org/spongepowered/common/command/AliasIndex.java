@@ -0,0 +1,61 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command;
+
+import java.util.Collection;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * A sorted index over every registered command alias, so the aliases
+ * starting with a prefix can be found without testing all of them.
+ */
+final class AliasIndex {
+
+    private final NavigableSet<String> aliases = new ConcurrentSkipListSet<>();
+
+    void addAll(Collection<String> aliases) {
+        this.aliases.addAll(aliases);
+    }
+
+    void remove(String alias) {
+        this.aliases.remove(alias);
+    }
+
+    /**
+     * Gets the aliases starting with the given prefix, in alphabetical
+     * order.
+     *
+     * @param prefix The lowercase prefix
+     * @return A live view of the matching aliases
+     */
+    NavigableSet<String> startingWith(String prefix) {
+        if (prefix.isEmpty()) {
+            return this.aliases;
+        }
+        return this.aliases.subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+}
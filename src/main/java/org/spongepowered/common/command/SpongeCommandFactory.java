@@ -93,6 +93,7 @@
 import org.spongepowered.common.interfaces.world.IMixinDimensionType;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.network.PacketBatching;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.WorldManager;
 
@@ -737,6 +738,12 @@ private static CommandSpec createSpongeTpsCommand() {
                             THREE_DECIMAL_DIGITS_FORMATTER.format(Math.min(1000.0 / (serverMeanTickTime), 20)),
                             TextColors.RESET, ", Mean: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.
                                     format(serverMeanTickTime), "ms"));
+                    if (PacketBatching.isEnabled()) {
+                        src.sendMessage(Text.of("Packet batching: ", TextColors.LIGHT_PURPLE, PacketBatching.getFlushCount(), TextColors.RESET,
+                                " flushes, Mean: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(PacketBatching.getAveragePacketsPerFlush()),
+                                TextColors.RESET, " packets and ", TextColors.RED,
+                                THREE_DECIMAL_DIGITS_FORMATTER.format(PacketBatching.getAverageBytesPerFlush()), TextColors.RESET, " bytes per flush"));
+                    }
                     return CommandResult.success();
                 })
                 .build();
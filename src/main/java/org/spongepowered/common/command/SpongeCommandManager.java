@@ -28,6 +28,8 @@
 import static org.spongepowered.api.command.CommandMessageFormatting.error;
 import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -56,6 +58,7 @@
 import org.spongepowered.api.util.TextMessageException;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.event.tracking.phase.general.CommandPhaseContext;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
 
@@ -72,6 +75,7 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
@@ -86,11 +90,15 @@
 public class SpongeCommandManager implements CommandManager {
 
     private static final Pattern SPACE_PATTERN = Pattern.compile(" ", Pattern.LITERAL);
+    // Every source and partial input is a separate entry, so this bounds the cache while many players are typing
+    private static final int MAX_CACHED_SUGGESTIONS = 1000;
     private final Logger logger;
     private final SimpleDispatcher dispatcher;
     private final Multimap<PluginContainer, CommandMapping> owners = HashMultimap.create();
     private final Map<CommandMapping, PluginContainer> reverseOwners = new ConcurrentHashMap<>();
     private final Object lock = new Object();
+    private final AliasIndex aliasIndex = new AliasIndex();
+    @Nullable private volatile SuggestionCache suggestionCache;
 
     /**
      * Construct a simple {@link CommandManager}.
@@ -163,6 +171,7 @@ public Optional<CommandMapping> register(Object plugin, CommandCallable callable
             Optional<CommandMapping> mapping = this.dispatcher.register(callable, aliasesWithPrefix, callback);
 
             if (mapping.isPresent()) {
+                this.aliasIndex.addAll(mapping.get().getAllAliases());
                 this.owners.put(container, mapping.get());
                 this.reverseOwners.put(mapping.get(), container);
             }
@@ -202,6 +211,11 @@ public Optional<CommandMapping> removeMapping(CommandMapping mapping) {
             Optional<CommandMapping> removed = this.dispatcher.removeMapping(mapping);
 
             if (removed.isPresent()) {
+                for (String alias : removed.get().getAllAliases()) {
+                    if (!this.dispatcher.containsAlias(alias)) {
+                        this.aliasIndex.remove(alias);
+                    }
+                }
                 forgetMapping(removed.get());
             }
 
@@ -373,7 +387,7 @@ public List<String> getSuggestions(CommandSource src, String arguments, @Nullabl
     public List<String> getSuggestions(CommandSource src, String arguments, @Nullable Location<World> targetPosition, boolean usingBlock) {
         try {
             final String[] argSplit = arguments.split(" ", 2);
-            List<String> suggestions = new ArrayList<>(this.dispatcher.getSuggestions(src, arguments, targetPosition));
+            List<String> suggestions = new ArrayList<>(getDispatcherSuggestions(src, arguments, targetPosition));
             Sponge.getCauseStackManager().pushCause(src);
             final TabCompleteEvent.Command event = SpongeEventFactory.createTabCompleteEventCommand(Sponge.getCauseStackManager().getCurrentCause(),
                     ImmutableList.copyOf(suggestions), suggestions, argSplit.length > 1 ? argSplit[1] : "", argSplit[0], arguments, Optional.ofNullable(targetPosition), usingBlock); // TODO zml: Should this be exposed in the API?
@@ -392,6 +406,55 @@ public List<String> getSuggestions(CommandSource src, String arguments, @Nullabl
         }
     }
 
+    private List<String> getDispatcherSuggestions(CommandSource src, String arguments, @Nullable Location<World> targetPosition)
+            throws CommandException {
+        // Suggestions for a block are only valid for that block, so they are never cached
+        final Cache<String, List<String>> cache = targetPosition == null ? getSuggestionCache() : null;
+        final String key = cache == null ? null : src.getIdentifier() + ' ' + arguments;
+        if (cache != null) {
+            final List<String> cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final List<String> suggestions;
+        if (arguments.indexOf(' ') == -1) {
+            // Completing the alias itself, which the dispatcher would test every registered alias for
+            suggestions = new ArrayList<>();
+            for (String alias : this.aliasIndex.startingWith(arguments.toLowerCase(Locale.ENGLISH))) {
+                for (CommandMapping mapping : this.dispatcher.getAll(alias)) {
+                    if (mapping.getCallable().testPermission(src)) {
+                        suggestions.add(alias);
+                        break;
+                    }
+                }
+            }
+        } else {
+            suggestions = this.dispatcher.getSuggestions(src, arguments, targetPosition);
+        }
+        if (cache != null) {
+            cache.put(key, ImmutableList.copyOf(suggestions));
+        }
+        return suggestions;
+    }
+
+    @Nullable
+    private Cache<String, List<String>> getSuggestionCache() {
+        final int ttl = SpongeImpl.getGlobalConfig().getConfig().getCommands().getSuggestionCacheTtl();
+        if (ttl <= 0) {
+            return null;
+        }
+        SuggestionCache cache = this.suggestionCache;
+        // Rebuilt whenever the configured ttl changed, such as after a config reload
+        if (cache == null || cache.ttl != ttl) {
+            this.suggestionCache = cache = new SuggestionCache(ttl, CacheBuilder.newBuilder()
+                    .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+                    .maximumSize(MAX_CACHED_SUGGESTIONS)
+                    .build());
+        }
+        return cache.cache;
+    }
+
     @Override
     public boolean testPermission(CommandSource source) {
         return this.dispatcher.testPermission(source);
@@ -417,4 +480,14 @@ public int size() {
         return this.dispatcher.size();
     }
 
+    private static final class SuggestionCache {
+
+        final int ttl;
+        final Cache<String, List<String>> cache;
+
+        SuggestionCache(int ttl, Cache<String, List<String>> cache) {
+            this.ttl = ttl;
+            this.cache = cache;
+        }
+    }
 }
@@ -62,6 +62,19 @@ public class CauseTrackerCategory extends ConfigCategory {
                                                                   + "and emit a warning about said spawn anyways.")
     boolean captureAndSpawnEntitiesSync = true;
 
+    @Setting(value = "deferred-block-physics-threshold", comment = "The number of block changes a single capture needs before the\n"
+                                                                   + "physics of those changes, meaning block additions, client\n"
+                                                                   + "updates and neighbor notifications, are spread over the\n"
+                                                                   + "following ticks instead of being applied right away. Events\n"
+                                                                   + "are still thrown for the whole capture at once. Set to 0 to\n"
+                                                                   + "always apply physics right away. (Default: 0)")
+    int deferredBlockPhysicsThreshold = 0;
+
+    @Setting(value = "deferred-block-physics-budget", comment = "The time in milliseconds each world may spend per tick on\n"
+                                                                + "applying deferred block physics. At least one chunk worth of\n"
+                                                                + "changes is applied every tick. (Default: 10)")
+    int deferredBlockPhysicsBudget = 10;
+
     public boolean isVerbose() {
         return this.isVerbose;
     }
@@ -78,6 +91,14 @@ public boolean captureEntitiesAsync() {
         return this.captureAndSpawnEntitiesSync;
     }
 
+    public int getDeferredBlockPhysicsThreshold() {
+        return this.deferredBlockPhysicsThreshold;
+    }
+
+    public int getDeferredBlockPhysicsBudget() {
+        return this.deferredBlockPhysicsBudget;
+    }
+
     public boolean reportWorldTickDifferences() {
         return this.reportWorldTickDifferentWorlds;
     }
@@ -41,6 +41,10 @@ public class CommandsCategory extends ConfigCategory {
             + "changes on the all worlds.")
     private Map<String, Boolean> multiWorldCommandPatches = new HashMap<>();
 
+    @Setting(value = "suggestion-cache-ttl", comment = "The time in milliseconds for which the tab completions of a command line are reused "
+            + "for the same source. Completions may be this much out of date. Set to 0 to disable.")
+    private int suggestionCacheTtl = 0;
+
     public Map<String, String> getAliases() {
         return this.aliases;
     }
@@ -49,4 +53,8 @@ public Map<String, Boolean> getMultiWorldCommandPatches() {
         return this.multiWorldCommandPatches;
     }
 
+    public int getSuggestionCacheTtl() {
+        return this.suggestionCacheTtl;
+    }
+
 }
@@ -66,6 +66,8 @@ public class LoggingCategory extends ConfigCategory {
     private boolean logEntitySpeedRemoval = false;
     @Setting(value = "world-auto-save", comment = "Log when a world auto-saves its chunk data. Note: This may be spammy depending on the auto-save-interval configured for world.")
     private boolean worldAutoSaveLogging = false;
+    @Setting(value = "world-save-statistics", comment = "Log how many data files were written and skipped as unchanged on each save, and the time spent writing them.")
+    private boolean worldSaveStatisticsLogging = false;
 
     public boolean blockBreakLogging() {
         return this.blockBreakLogging;
@@ -182,4 +184,8 @@ public void setLogEntitySpeedRemoval(boolean flag) {
     public boolean worldAutoSaveLogging() {
         return this.worldAutoSaveLogging;
     }
-}
\ No newline at end of file
+
+    public boolean worldSaveStatisticsLogging() {
+        return this.worldSaveStatisticsLogging;
+    }
+}
@@ -61,6 +61,28 @@ public class OptimizationCategory extends ConfigCategory {
             + "Note: This optimization has a few issues which is explained in the bug report. We are not responsible for any issues this may cause.")
     private boolean pandaRedstone = false;
 
+    @Setting(value = "packet-batching", comment = "Batches outbound packets per player connection to reduce the amount of network flushes.")
+    private PacketBatchingCategory packetBatchingCategory = new PacketBatchingCategory();
+
+    @Setting(value = "shared-broadcast-packets", comment = "If enabled, packets broadcast to many players are encoded and compressed once\n"
+            + "and the encoded bytes are shared by all recipients. Mods that modify outbound packets in the\n"
+            + "channel pipeline may not see packets sent this way.")
+    private boolean sharedBroadcastPackets = false;
+
+    @Setting(value = "player-proximity-index", comment = "If enabled, packets sent to the players near a position, like sounds and block break\n"
+            + "effects, only visit the players in the chunks around that position instead of every player on the server.")
+    private boolean playerProximityIndex = false;
+
+    @Setting(value = "particle-batching", comment = "If enabled, particle effects spawned by plugins are sent at the end of the world tick,\n"
+            + "merging the particle packets for a player that only differ in their amount of particles.")
+    private boolean particleBatching = false;
+
+    @Setting(value = "parallel-explosions", comment = "Ray traces explosions on worker threads.")
+    private ParallelExplosionCategory parallelExplosionCategory = new ParallelExplosionCategory();
+
+    @Setting(value = "parallel-world-ticking", comment = "Ticks independent worlds concurrently.")
+    private ParallelWorldTickingCategory parallelWorldTickingCategory = new ParallelWorldTickingCategory();
+
     public OptimizationCategory() {  
         try {  
             // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.  
@@ -99,4 +121,40 @@ public boolean useAsyncLighting() {
     public boolean usePandaRedstone() {
         return this.pandaRedstone;
     }
+
+    public PacketBatchingCategory getPacketBatchingCategory() {
+        return this.packetBatchingCategory;
+    }
+
+    public boolean usePacketBatching() {
+        return this.packetBatchingCategory.isEnabled();
+    }
+
+    public boolean useSharedBroadcastPackets() {
+        return this.sharedBroadcastPackets;
+    }
+
+    public boolean usePlayerProximityIndex() {
+        return this.playerProximityIndex;
+    }
+
+    public boolean useParticleBatching() {
+        return this.particleBatching;
+    }
+
+    public ParallelExplosionCategory getParallelExplosionCategory() {
+        return this.parallelExplosionCategory;
+    }
+
+    public boolean useParallelExplosions() {
+        return this.parallelExplosionCategory.isEnabled();
+    }
+
+    public ParallelWorldTickingCategory getParallelWorldTickingCategory() {
+        return this.parallelWorldTickingCategory;
+    }
+
+    public boolean useParallelWorldTicking() {
+        return this.parallelWorldTickingCategory.isEnabled();
+    }
 }
@@ -77,9 +77,16 @@ public class WorldCategory extends ConfigCategory {
                                                              + "\nNote: With the chunk gc enabled, this setting only applies to the ticks "
                                                              + "\nwhere the gc runs (controlled by 'chunk-gc-tick-interval')"
                                                              + "\nNote: If the max unloads is too low, too many chunks may remain"
-                                                             + "\nloaded on the world and increases the chance for a drop in tps. (Default: 100)")
+                                                             + "\nloaded on the world and increases the chance for a drop in tps."
+                                                             + "\nNote: Ignored if 'chunk-unload-time-budget' is set above 0. (Default: 100)")
     private int maxChunkUnloads = 100;
 
+    @Setting(value = "chunk-unload-time-budget", comment = "The maximum number of milliseconds spent unloading and saving queued chunks in a single tick. "
+                                                           + "\nChunks that are not unloaded within the budget stay queued for the next tick."
+                                                           + "\nNote: When set above 0, this replaces 'max-chunk-unloads-per-tick'."
+                                                           + "\nSet to 0 to disable and use 'max-chunk-unloads-per-tick' instead. (Default: 0)")
+    private int chunkUnloadTimeBudget = 0;
+
     @Setting(value = "chunk-gc-load-threshold", comment = "The number of newly loaded chunks before triggering a forced cleanup. "
                                                           + "\nNote: When triggered, the loaded chunk threshold will reset and start incrementing. "
                                                           + "\nDisabled by default.")
@@ -205,6 +212,10 @@ public int getMaxChunkUnloads() {
         return this.maxChunkUnloads;
     }
 
+    public int getChunkUnloadTimeBudget() {
+        return this.chunkUnloadTimeBudget;
+    }
+
     public double getItemMergeRadius() {
         return this.itemMergeRadius;
     }
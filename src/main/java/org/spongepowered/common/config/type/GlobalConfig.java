@@ -24,11 +24,12 @@
  */
 package org.spongepowered.common.config.type;
 
-import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
+import com.google.common.collect.ImmutableSet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import ninja.leaping.configurate.objectmapping.Setting;
 import org.spongepowered.common.config.category.BungeeCordCategory;
 import org.spongepowered.common.config.category.CauseTrackerCategory;
@@ -41,11 +42,16 @@
 import org.spongepowered.common.config.category.SqlCategory;
 import org.spongepowered.common.config.category.TeleportHelperCategory;
 import org.spongepowered.common.util.IpSet;
+import org.spongepowered.common.util.IpTrie;
 
 import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -62,6 +68,7 @@ public class GlobalConfig extends ConfigBase {
 
     @Setting("ip-sets")
     private Map<String, List<IpSet>> ipSets = new HashMap<>();
+    @Nullable private volatile IpSetIndex ipSetIndex;
 
     @Setting(value = "bungeecord")
     private BungeeCordCategory bungeeCord = new BungeeCordCategory();
@@ -105,15 +112,48 @@ public ModuleCategory getModules() {
     }
 
     public Map<String, Predicate<InetAddress>> getIpSets() {
-        return ImmutableMap.copyOf(Maps.transformValues(this.ipSets, new Function<List<IpSet>, Predicate<InetAddress>>() {
-            @Nullable
-            @Override
-            public Predicate<InetAddress> apply(List<IpSet> input) {
-                return Predicates.and(input);
+        return this.getIpSetIndex().predicates;
+    }
+
+    /**
+     * Gets the names of all ip sets containing the given address.
+     *
+     * <p>An ip set matches when every one of its ranges contains the
+     * address, which is resolved by counting the ranges found while walking
+     * the address down the index rather than testing every range.</p>
+     *
+     * @param address The address
+     * @return The names of the matching ip sets
+     */
+    public Set<String> getMatchingIpSets(InetAddress address) {
+        final IpSetIndex index = this.getIpSetIndex();
+        if (index.ranges.isEmpty()) {
+            return ImmutableSet.copyOf(index.matchingAll);
+        }
+        final Map<String, Integer> hits = new HashMap<>();
+        index.ranges.forEachMatch(address, names -> {
+            for (String name : names) {
+                hits.merge(name, 1, Integer::sum);
+            }
+        });
+        final ImmutableSet.Builder<String> matches = ImmutableSet.<String>builder().addAll(index.matchingAll);
+        for (Map.Entry<String, Integer> hit : hits.entrySet()) {
+            if (hit.getValue() == index.rangeCounts.getInt(hit.getKey())) {
+                matches.add(hit.getKey());
             }
-        }));
+        }
+        return matches.build();
     }
 
+    private IpSetIndex getIpSetIndex() {
+        IpSetIndex index = this.ipSetIndex;
+        // The map is only ever replaced as a whole when the config is (re)loaded
+        if (index == null || index.source != this.ipSets) {
+            index = new IpSetIndex(this.ipSets);
+            this.ipSetIndex = index;
+        }
+        return index;
+    }
 
     public ExploitCategory getExploits() {
         return this.exploits;
@@ -124,7 +164,7 @@ public OptimizationCategory getOptimizations() {
     }
 
     public Predicate<InetAddress> getIpSet(String name) {
-        return this.ipSets.containsKey(name) ? Predicates.and(this.ipSets.get(name)) : null;
+        return this.getIpSetIndex().predicates.get(name);
     }
 
     @Override
@@ -151,4 +191,40 @@ public TeleportHelperCategory getTeleportHelper() {
         return this.teleportHelper;
     }
 
+    private static final class IpSetIndex {
+
+        final Map<String, List<IpSet>> source;
+        final Map<String, Predicate<InetAddress>> predicates;
+        final Object2IntMap<String> rangeCounts = new Object2IntOpenHashMap<>();
+        final Set<String> matchingAll = new HashSet<>();
+        final IpTrie<List<String>> ranges;
+
+        IpSetIndex(Map<String, List<IpSet>> source) {
+            this.source = source;
+            final ImmutableMap.Builder<String, Predicate<InetAddress>> predicates = ImmutableMap.builder();
+            IpTrie<List<String>> ranges = IpTrie.empty();
+            for (Map.Entry<String, List<IpSet>> entry : source.entrySet()) {
+                final String name = entry.getKey();
+                predicates.put(name, Predicates.and(entry.getValue()));
+                int count = 0;
+                for (IpSet range : entry.getValue()) {
+                    final List<String> names = ranges.getExact(range.getAddress(), range.getPrefixLength());
+                    if (names != null && names.contains(name)) {
+                        // Repeating a range doesn't narrow the set
+                        continue;
+                    }
+                    final List<String> merged = new ArrayList<>(names == null ? Collections.<String>emptyList() : names);
+                    merged.add(name);
+                    ranges = ranges.with(range, merged);
+                    count++;
+                }
+                this.rangeCounts.put(name, count);
+                if (count == 0) {
+                    this.matchingAll.add(name);
+                }
+            }
+            this.predicates = predicates.build();
+            this.ranges = ranges;
+        }
+    }
 }
@@ -0,0 +1,238 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.EncoderException;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a {@link DataView} in the binary NBT format straight to a
+ * {@link ByteBuf}, producing the same bytes as translating it with the
+ * {@link NbtTranslator} and writing the resulting compound, without building
+ * the intermediate {@link net.minecraft.nbt.NBTTagCompound}.
+ */
+public final class NbtStreamWriter {
+
+    private static final int MAX_UTF_LENGTH = 65535;
+
+    /**
+     * Writes the view as an unnamed root compound tag.
+     *
+     * @param buf The buffer to write to
+     * @param view The view to write
+     */
+    public static void writeRootCompound(ByteBuf buf, DataView view) {
+        checkNotNull(view, "view");
+        buf.writeByte(NbtDataUtil.TAG_COMPOUND);
+        writeUTF(buf, "");
+        writeView(buf, view);
+    }
+
+    private static void writeView(ByteBuf buf, DataView view) {
+        for (Map.Entry<DataQuery, Object> entry : view.getValues(false).entrySet()) {
+            final Object value = entry.getValue();
+            final String key = entry.getKey().asString('.');
+            if (value instanceof Boolean) {
+                writeNamedTag(buf, key + NbtTranslator.BOOLEAN_IDENTIFER, value);
+            } else {
+                writeNamedTag(buf, key, value);
+            }
+        }
+        buf.writeByte(NbtDataUtil.TAG_END);
+    }
+
+    private static void writeNamedTag(ByteBuf buf, String key, Object value) {
+        buf.writeByte(getType(value));
+        writeUTF(buf, key);
+        writePayload(buf, value);
+    }
+
+    /**
+     * Gets the NBT tag type that the {@link NbtTranslator} would translate
+     * the value to.
+     */
+    private static byte getType(Object value) {
+        checkNotNull(value);
+        if (value instanceof Boolean || value instanceof Byte) {
+            return NbtDataUtil.TAG_BYTE;
+        } else if (value instanceof Short) {
+            return NbtDataUtil.TAG_SHORT;
+        } else if (value instanceof Integer) {
+            return NbtDataUtil.TAG_INT;
+        } else if (value instanceof Long) {
+            return NbtDataUtil.TAG_LONG;
+        } else if (value instanceof Float) {
+            return NbtDataUtil.TAG_FLOAT;
+        } else if (value instanceof Double) {
+            return NbtDataUtil.TAG_DOUBLE;
+        } else if (value instanceof String) {
+            return NbtDataUtil.TAG_STRING;
+        } else if (value instanceof byte[] || value instanceof Byte[]) {
+            return NbtDataUtil.TAG_BYTE_ARRAY;
+        } else if (value instanceof int[] || value instanceof Integer[]) {
+            return NbtDataUtil.TAG_INT_ARRAY;
+        } else if (value instanceof List) {
+            return NbtDataUtil.TAG_LIST;
+        } else if (value instanceof Map || value instanceof DataSerializable || value instanceof DataView) {
+            return NbtDataUtil.TAG_COMPOUND;
+        }
+        throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writePayload(ByteBuf buf, Object value) {
+        if (value instanceof Boolean) {
+            buf.writeByte((Boolean) value ? 1 : 0);
+        } else if (value instanceof Byte) {
+            buf.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            buf.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            buf.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            buf.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            buf.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            buf.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            writeUTF(buf, (String) value);
+        } else if (value instanceof byte[]) {
+            final byte[] array = (byte[]) value;
+            buf.writeInt(array.length);
+            buf.writeBytes(array);
+        } else if (value instanceof Byte[]) {
+            final Byte[] array = (Byte[]) value;
+            buf.writeInt(array.length);
+            for (Byte data : array) {
+                buf.writeByte(data);
+            }
+        } else if (value instanceof int[]) {
+            final int[] array = (int[]) value;
+            buf.writeInt(array.length);
+            for (int data : array) {
+                buf.writeInt(data);
+            }
+        } else if (value instanceof Integer[]) {
+            final Integer[] array = (Integer[]) value;
+            buf.writeInt(array.length);
+            for (Integer data : array) {
+                buf.writeInt(data);
+            }
+        } else if (value instanceof List) {
+            writeList(buf, (List<Object>) value);
+        } else if (value instanceof Map) {
+            writeMap(buf, (Map<Object, Object>) value);
+        } else if (value instanceof DataSerializable) {
+            writeView(buf, ((DataSerializable) value).toContainer());
+        } else if (value instanceof DataView) {
+            writeView(buf, (DataView) value);
+        } else {
+            throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
+        }
+    }
+
+    private static void writeList(ByteBuf buf, List<Object> list) {
+        // Like NBTTagList, the first element decides the element type and
+        // elements of any other type are dropped
+        final byte type = list.isEmpty() ? NbtDataUtil.TAG_END : getType(list.get(0));
+        int size = 0;
+        for (Object object : list) {
+            if (getType(object) == type) {
+                size++;
+            }
+        }
+        buf.writeByte(type);
+        buf.writeInt(size);
+        for (Object object : list) {
+            if (getType(object) == type) {
+                writePayload(buf, object);
+            }
+        }
+    }
+
+    private static void writeMap(ByteBuf buf, Map<Object, Object> map) {
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            final Object key = entry.getKey();
+            if (key instanceof DataQuery) {
+                final String name = ((DataQuery) key).asString('.');
+                writeNamedTag(buf, entry.getValue() instanceof Boolean ? name + NbtTranslator.BOOLEAN_IDENTIFER : name, entry.getValue());
+            } else if (key instanceof String) {
+                writeNamedTag(buf, (String) key, entry.getValue());
+            } else {
+                writeNamedTag(buf, key.toString(), entry.getValue());
+            }
+        }
+        buf.writeByte(NbtDataUtil.TAG_END);
+    }
+
+    /**
+     * Writes the string in the modified UTF-8 encoding used by
+     * {@link java.io.DataOutput#writeUTF(String)}, without allocating.
+     */
+    private static void writeUTF(ByteBuf buf, String string) {
+        final int length = string.length();
+        int encodedLength = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                encodedLength++;
+            } else if (c > 0x07FF) {
+                encodedLength += 3;
+            } else {
+                encodedLength += 2;
+            }
+        }
+        if (encodedLength > MAX_UTF_LENGTH) {
+            throw new EncoderException("Encoded string too long: " + encodedLength + " bytes");
+        }
+        buf.writeShort(encodedLength);
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                buf.writeByte(c);
+            } else if (c > 0x07FF) {
+                buf.writeByte(0xE0 | ((c >> 12) & 0x0F));
+                buf.writeByte(0x80 | ((c >> 6) & 0x3F));
+                buf.writeByte(0x80 | (c & 0x3F));
+            } else {
+                buf.writeByte(0xC0 | ((c >> 6) & 0x1F));
+                buf.writeByte(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private NbtStreamWriter() {
+    }
+}
@@ -63,8 +63,8 @@ public boolean supports(EntityType entityType) {
 
     @Override
     protected Optional<Integer> getVal(ItemStack itemStack) {
-        NBTTagCompound fireworks = itemStack.getOrCreateSubCompound("Fireworks");
-        if (fireworks.hasKey("Flight")) {
+        NBTTagCompound fireworks = itemStack.getSubCompound("Fireworks");
+        if (fireworks != null && fireworks.hasKey("Flight")) {
             return Optional.of((int) fireworks.getByte("Flight"));
         }
         return Optional.empty();
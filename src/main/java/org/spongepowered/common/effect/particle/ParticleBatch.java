@@ -0,0 +1,152 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.effect.particle;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.SPacketParticles;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the particle packets sent to the players of a world during a
+ * tick and sends them at the end of the tick.
+ *
+ * <p>Particle packets that only differ in their particle count are merged
+ * into a single packet per player, which the client spreads over the same
+ * area. Packets with a count of zero place a single particle with an exact
+ * velocity and are sent as they are.</p>
+ */
+public final class ParticleBatch {
+
+    private final WorldServer world;
+    private final Map<EntityPlayerMP, Map<Object, Queued>> queued = new IdentityHashMap<>();
+
+    public ParticleBatch(WorldServer world) {
+        this.world = world;
+    }
+
+    public static boolean isEnabled() {
+        return SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useParticleBatching();
+    }
+
+    public void add(EntityPlayerMP player, Packet<?> packet) {
+        final Map<Object, Queued> packets = this.queued.computeIfAbsent(player, key -> new LinkedHashMap<>());
+        if (packet instanceof SPacketParticles && ((SPacketParticles) packet).particleCount > 0) {
+            final SPacketParticles particles = (SPacketParticles) packet;
+            final Queued merged = packets.computeIfAbsent(new MergeKey(particles), key -> new Queued(particles));
+            if (merged.packet != particles) {
+                merged.count += particles.particleCount;
+            }
+        } else {
+            // Not mergeable, an identity key keeps the packet apart
+            final Queued single = new Queued(packet);
+            packets.put(single, single);
+        }
+    }
+
+    /**
+     * Sends all queued packets to the players still in the world.
+     */
+    public void flush() {
+        if (this.queued.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<EntityPlayerMP, Map<Object, Queued>> entry : this.queued.entrySet()) {
+            final EntityPlayerMP player = entry.getKey();
+            if (player.connection == null || player.world != this.world) {
+                continue;
+            }
+            for (Queued queued : entry.getValue().values()) {
+                player.connection.sendPacket(queued.toPacket());
+            }
+        }
+        this.queued.clear();
+    }
+
+    private static final class Queued {
+
+        final Packet<?> packet;
+        int count;
+
+        Queued(Packet<?> packet) {
+            this.packet = packet;
+            this.count = packet instanceof SPacketParticles ? ((SPacketParticles) packet).particleCount : 0;
+        }
+
+        Packet<?> toPacket() {
+            if (!(this.packet instanceof SPacketParticles)) {
+                return this.packet;
+            }
+            final SPacketParticles particles = (SPacketParticles) this.packet;
+            if (this.count == particles.particleCount) {
+                return particles;
+            }
+            return new SPacketParticles(particles.particleType, particles.longDistance, particles.xCoord, particles.yCoord, particles.zCoord,
+                    particles.xOffset, particles.yOffset, particles.zOffset, particles.particleSpeed, this.count, particles.particleArguments);
+        }
+    }
+
+    private static final class MergeKey {
+
+        private final SPacketParticles packet;
+        private final int hash;
+
+        MergeKey(SPacketParticles packet) {
+            this.packet = packet;
+            int hash = packet.particleType.hashCode();
+            hash = 31 * hash + Float.floatToIntBits(packet.xCoord);
+            hash = 31 * hash + Float.floatToIntBits(packet.yCoord);
+            hash = 31 * hash + Float.floatToIntBits(packet.zCoord);
+            hash = 31 * hash + Arrays.hashCode(packet.particleArguments);
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof MergeKey)) {
+                return false;
+            }
+            final SPacketParticles a = this.packet;
+            final SPacketParticles b = ((MergeKey) obj).packet;
+            return a.particleType == b.particleType
+                    && a.longDistance == b.longDistance
+                    && a.xCoord == b.xCoord && a.yCoord == b.yCoord && a.zCoord == b.zCoord
+                    && a.xOffset == b.xOffset && a.yOffset == b.yOffset && a.zOffset == b.zOffset
+                    && a.particleSpeed == b.particleSpeed
+                    && Arrays.equals(a.particleArguments, b.particleArguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
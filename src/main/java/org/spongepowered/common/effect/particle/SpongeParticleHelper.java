@@ -28,7 +28,6 @@
 import com.flowpowered.math.vector.Vector3f;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.item.EntityFireworkRocket;
 import net.minecraft.init.Items;
 import net.minecraft.item.Item;
@@ -57,6 +56,7 @@
 import org.spongepowered.api.util.Direction;
 import org.spongepowered.common.data.processor.common.FireworkUtils;
 import org.spongepowered.common.data.type.SpongeNotePitch;
+import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.item.inventory.SpongeItemStackSnapshot;
 
 import java.util.ArrayList;
@@ -343,7 +343,7 @@ private static final class CachedFireworkPacket implements ICachedParticleEffect
         private static final SPacketEntityStatus FIREWORK_ROCKET_DUMMY_EFFECT;
 
         static {
-            FIREWORK_ROCKET_ID = Entity.nextEntityID++;
+            FIREWORK_ROCKET_ID = EntityUtil.nextEntityId();
             FIREWORK_ROCKET_UNIQUE_ID = MathHelper.getRandomUUID(new Random());
 
             DESTROY_FIREWORK_ROCKET_DUMMY = new SPacketDestroyEntities(FIREWORK_ROCKET_ID);
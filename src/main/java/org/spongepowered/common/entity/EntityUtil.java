@@ -111,6 +111,7 @@
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.registry.type.entity.ProfessionRegistryModule;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ParallelWorldTicker;
 import org.spongepowered.common.world.WorldManager;
 
 import java.util.ArrayList;
@@ -140,8 +141,23 @@ public boolean apply(Entity entity) {
         }
     });
 
+    // Guards the increment of Entity.nextEntityID, which stays the counter itself as mods and platform code
+    // hand out ids with Entity.nextEntityID++ as well
+    private static final Object ENTITY_ID_LOCK = new Object();
+
     public static final Function<Humanoid, EntityPlayer> HUMANOID_TO_PLAYER = (humanoid) -> humanoid instanceof EntityPlayer ? (EntityPlayer) humanoid : null;
 
+    /**
+     * Gets a new entity id, unique across all worlds and threads.
+     *
+     * @return The entity id
+     */
+    public static int nextEntityId() {
+        synchronized (ENTITY_ID_LOCK) {
+            return Entity.nextEntityID++;
+        }
+    }
+
     /**
      * Called specifically from {@link MixinEntity#changeDimension(int)} to overwrite
      * {@link Entity#changeDimension(int)}. This is mostly for debugging
@@ -155,6 +171,9 @@ public boolean apply(Entity entity) {
      */
     @Nullable
     public static Entity transferEntityToDimension(IMixinEntity mixinEntity, int toSuggestedDimension) {
+        if (ParallelWorldTicker.requiresExclusive()) {
+            return ParallelWorldTicker.runExclusive(() -> transferEntityToDimension(mixinEntity, toSuggestedDimension));
+        }
         final Entity entity = toNative(mixinEntity);
         // handle portal event
         MoveEntityEvent.Teleport.Portal event = handleDisplaceEntityPortalEvent(entity, toSuggestedDimension, null);
@@ -195,6 +214,9 @@ public static Entity transferEntityToDimension(IMixinEntity mixinEntity, int toS
      */
     @Nullable
     public static Entity teleportPlayerToDimension(EntityPlayerMP entityPlayerMP, int suggestedDimensionId) {
+        if (ParallelWorldTicker.requiresExclusive()) {
+            return ParallelWorldTicker.runExclusive(() -> teleportPlayerToDimension(entityPlayerMP, suggestedDimensionId));
+        }
         // Fire teleport event here to support Forge's EntityTravelDimensionEvent
         // This also prevents sending client wrong data if event is cancelled
         WorldServer toWorld = SpongeImpl.getServer().getWorld(suggestedDimensionId);
@@ -24,6 +24,9 @@
  */
 package org.spongepowered.common.event;
 
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.Event;
+
 public class ShouldFire {
 
     // Format is event class name with underscores
@@ -68,4 +71,11 @@ public class ShouldFire {
     public static boolean CHANGE_INVENTORY_EVENT_TRANSFER_POST = false;
 
     public static boolean TICK_BLOCK_EVENT = false;
+
+    // Events without a dedicated flag above can be checked by type. Unlike the
+    // flags, this only accounts for listeners that would receive an event of
+    // exactly the given type, so pass the type that is actually posted.
+    public static boolean hasListeners(Class<? extends Event> eventClass) {
+        return ((SpongeEventManager) Sponge.getEventManager()).hasListeners(eventClass);
+    }
 }
@@ -39,10 +39,13 @@
 import org.spongepowered.asm.util.PrettyPrinter;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.util.ThreadUtil;
+import org.spongepowered.common.world.WorldTickThread;
 
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -54,16 +57,44 @@ public class SpongeCauseStackManager implements CauseStackManager {
 
     public static final boolean DEBUG_CAUSE_FRAMES = Boolean.valueOf(System.getProperty("sponge.debugcauseframes", "false"));
 
-    private final Deque<Object> cause = Queues.newArrayDeque();
+    // The cause stack is an immutable linked list, so any earlier stack state
+    // (and the cause built for it) can be restored by keeping a reference.
+    @Nullable private CauseNode cause;
     private final Deque<CauseStackFrameImpl> frames = Queues.newArrayDeque();
     private Map<EventContextKey<?>, Object> ctx = Maps.newHashMap();
 
     private int min_depth = 0;
-    private Cause cached_cause;
-    private EventContext cached_ctx;
+    @Nullable private EventContext cached_ctx;
+    // The cause built for an empty stack, valid while its context is current
+    @Nullable private Cause cached_empty_cause;
+
+    // Whether this is the stack of a world ticked in parallel
+    private final boolean isWorldStack;
 
     @Inject
-    private SpongeCauseStackManager() { }
+    private SpongeCauseStackManager() {
+        this.isWorldStack = false;
+    }
+
+    private SpongeCauseStackManager(boolean isWorldStack) {
+        this.isWorldStack = isWorldStack;
+    }
+
+    /**
+     * Creates the stack used while a world is ticked on a
+     * {@link WorldTickThread}. Calls to the server stack from that thread
+     * are forwarded to it.
+     *
+     * @return The new stack
+     */
+    public static SpongeCauseStackManager createWorldStack() {
+        return new SpongeCauseStackManager(true);
+    }
+
+    @Nullable
+    private SpongeCauseStackManager worldStack() {
+        return this.isWorldStack ? null : WorldTickThread.getCurrentCauseStackManager();
+    }
 
     private void enforceMainThread() {
         // On clients, this may not be available immediately, we can't bomb out that early.
@@ -77,25 +108,38 @@ private void enforceMainThread() {
     }
 
     private static boolean isPermittedThread() {
-        return Sponge.getServer().isMainThread()
+        return WorldTickThread.isServerOrWorldThread()
             || Thread.currentThread().getName().equals("Server Shutdown Thread");
     }
 
     @Override
     public Cause getCurrentCause() {
+        final SpongeCauseStackManager worldStack = worldStack();
+        if (worldStack != null) {
+            return worldStack.getCurrentCause();
+        }
         enforceMainThread();
-        if (this.cached_cause == null || this.cached_ctx == null) {
-            if (this.cause.isEmpty()) {
-                this.cached_cause = Cause.of(getCurrentContext(), SpongeImpl.getGame());
-            } else {
-                this.cached_cause = Cause.of(getCurrentContext(), this.cause);
+        final EventContext context = getCurrentContext();
+        final CauseNode node = this.cause;
+        if (node == null) {
+            if (this.cached_empty_cause == null || this.cached_empty_cause.getContext() != context) {
+                this.cached_empty_cause = Cause.of(context, SpongeImpl.getGame());
             }
+            return this.cached_empty_cause;
         }
-        return this.cached_cause;
+        // Popping back to an earlier stack state reuses the cause built for it
+        if (node.cached_cause == null || node.cached_cause.getContext() != context) {
+            node.cached_cause = Cause.of(context, node.toList());
+        }
+        return node.cached_cause;
     }
 
     @Override
     public EventContext getCurrentContext() {
+        final SpongeCauseStackManager worldStack = worldStack();
+        if (worldStack != null) {
+            return worldStack.getCurrentContext();
+        }
         enforceMainThread();
         if (this.cached_ctx == null) {
             this.cached_ctx = EventContext.of(this.ctx);
@@ -105,26 +149,40 @@ public EventContext getCurrentContext() {
 
     @Override
     public CauseStackManager pushCause(Object obj) {
+        final SpongeCauseStackManager worldStack = worldStack();
+        if (worldStack != null) {
+            return worldStack.pushCause(obj);
+        }
         enforceMainThread();
         checkNotNull(obj, "obj");
-        this.cached_cause = null;
-        this.cause.push(obj);
+        this.cause = new CauseNode(obj, this.cause);
         return this;
     }
 
     @Override
     public Object popCause() {
+        final SpongeCauseStackManager worldStack = worldStack();
+        if (worldStack != null) {
+            return worldStack.popCause();
+        }
         enforceMainThread();
-        if (this.cause.size() <= this.min_depth) {
+        final CauseNode node = this.cause;
+        final int size = node == null ? 0 : node.depth;
+        if (size <= this.min_depth) {
             throw new IllegalStateException("Cause stack corruption, tried to pop more objects off than were pushed since last frame (Size was "
-                    + this.cause.size() + " but mid depth is " + this.min_depth + ")");
+                    + size + " but mid depth is " + this.min_depth + ")");
         }
-        this.cached_cause = null;
-        return this.cause.pop();
+        this.cause = node.parent;
+        return node.value;
     }
 
     @Override
     public void popCauses(int n) {
+        final SpongeCauseStackManager worldStack = worldStack();
+        if (worldStack != null) {
+            worldStack.popCauses(n);
+            return;
+        }
         enforceMainThread();
         for (int i = 0; i < n; i++) {
             popCause();
@@ -133,16 +191,26 @@ public void popCauses(int n) {
 
     @Override
     public Object peekCause() {
+        final SpongeCauseStackManager worldStack = worldStack();
+        if (worldStack != null) {
+            return worldStack.peekCause();
+        }
         enforceMainThread();
-        return this.cause.peek();
+        return this.cause == null ? null : this.cause.value;
     }
 
     @Override
     public StackFrame pushCauseFrame() {
+        final SpongeCauseStackManager worldStack = worldStack();
+        if (worldStack != null) {
+            return worldStack.pushCauseFrame();
+        }
         enforceMainThread();
         CauseStackFrameImpl frame = new CauseStackFrameImpl(this.min_depth);
+        frame.old_cause = this.cause;
+        frame.old_ctx = this.cached_ctx;
         this.frames.push(frame);
-        this.min_depth = this.cause.size();
+        this.min_depth = this.cause == null ? 0 : this.cause.depth;
         if (DEBUG_CAUSE_FRAMES) {
             // Attach an exception to the frame so that if there is any frame
             // corruption we can print out the stack trace of when the frames
@@ -154,6 +222,11 @@ public StackFrame pushCauseFrame() {
 
     @Override
     public void popCauseFrame(StackFrame oldFrame) {
+        final SpongeCauseStackManager worldStack = worldStack();
+        if (worldStack != null) {
+            worldStack.popCauseFrame(oldFrame);
+            return;
+        }
         enforceMainThread();
         checkNotNull(oldFrame, "oldFrame");
         CauseStackFrameImpl frame = this.frames.peek();
@@ -229,23 +302,29 @@ public void popCauseFrame(StackFrame oldFrame) {
             ctx_invalid = true;
         }
         if (ctx_invalid) {
-            this.cached_ctx = null;
+            // The context is now back to the state it had when the frame was
+            // pushed, so the snapshot taken back then (if any) is valid again
+            this.cached_ctx = frame.old_ctx;
         }
         // If there were any objects left on the stack then we pop them off
-        while (this.cause.size() > this.min_depth) {
-            this.cause.pop();
-
-            // and clear the cached causes
-            this.cached_cause = null;
-        }
+        // by restoring the stack as it was when the frame was pushed
+        this.cause = frame.old_cause;
         this.min_depth = frame.old_min_depth;
     }
 
     @Override
     public <T> CauseStackManager addContext(EventContextKey<T> key, T value) {
+        final SpongeCauseStackManager worldStack = worldStack();
+        if (worldStack != null) {
+            return worldStack.addContext(key, value);
+        }
         enforceMainThread();
         checkNotNull(key, "key");
         checkNotNull(value, "value");
+        if (this.ctx.get(key) == value) {
+            // Nothing changes, so the current snapshot and frame stay valid
+            return this;
+        }
         this.cached_ctx = null;
         Object existing = this.ctx.put(key, value);
         if (!this.frames.isEmpty()) {
@@ -262,6 +341,10 @@ public <T> CauseStackManager addContext(EventContextKey<T> key, T value) {
     @Override
     @SuppressWarnings("unchecked")
     public <T> Optional<T> getContext(EventContextKey<T> key) {
+        final SpongeCauseStackManager worldStack = worldStack();
+        if (worldStack != null) {
+            return worldStack.getContext(key);
+        }
         enforceMainThread();
         checkNotNull(key, "key");
         return Optional.ofNullable((T) this.ctx.get(key));
@@ -270,10 +353,16 @@ public <T> Optional<T> getContext(EventContextKey<T> key) {
     @Override
     @SuppressWarnings("unchecked")
     public <T> Optional<T> removeContext(EventContextKey<T> key) {
+        final SpongeCauseStackManager worldStack = worldStack();
+        if (worldStack != null) {
+            return worldStack.removeContext(key);
+        }
         enforceMainThread();
         checkNotNull(key, "key");
-        this.cached_ctx = null;
         Object existing = this.ctx.remove(key);
+        if (existing != null) {
+            this.cached_ctx = null;
+        }
         if (existing != null && !this.frames.isEmpty()) {
             CauseStackFrameImpl frame = this.frames.peek();
             if (!frame.isNew(key)) {
@@ -283,6 +372,28 @@ public <T> Optional<T> removeContext(EventContextKey<T> key) {
         return Optional.ofNullable((T) existing);
     }
 
+    private static final class CauseNode {
+
+        final Object value;
+        @Nullable final CauseNode parent;
+        final int depth;
+        @Nullable Cause cached_cause;
+
+        CauseNode(Object value, @Nullable CauseNode parent) {
+            this.value = value;
+            this.parent = parent;
+            this.depth = parent == null ? 1 : parent.depth + 1;
+        }
+
+        List<Object> toList() {
+            final List<Object> list = new ArrayList<>(this.depth);
+            for (CauseNode node = this; node != null; node = node.parent) {
+                list.add(node.value);
+            }
+            return list;
+        }
+    }
+
     // TODO could pool these for more fasts
     public static class CauseStackFrameImpl implements StackFrame {
 
@@ -290,6 +401,8 @@ public static class CauseStackFrameImpl implements StackFrame {
         @Nullable private Map<EventContextKey<?>, Object> stored_ctx_values;
         @Nullable private Set<EventContextKey<?>> new_ctx_values;
         public int old_min_depth;
+        @Nullable CauseNode old_cause;
+        @Nullable EventContext old_ctx;
 
         public Exception stack_debug = null;
 
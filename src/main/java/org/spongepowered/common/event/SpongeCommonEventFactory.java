@@ -128,6 +128,7 @@
 import org.spongepowered.common.registry.provider.DirectionFacingProvider;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.WorldTickThread;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
@@ -467,8 +468,23 @@ public static boolean handlePistonEvent(IMixinWorldServer world, WorldServer.Ser
         }
     }
 
+    /**
+     * Gets whether a neighbor at the given position is part of a
+     * {@link NotifyNeighborBlockEvent}. Callers notifying neighbors without
+     * an event, because nothing listens to it, must skip the others too.
+     *
+     * @param pos The position of the neighbor
+     * @return True if the neighbor is notified
+     */
+    public static boolean isNotifiableNeighbor(BlockPos pos) {
+        return pos.getY() >= 0 && pos.getY() <= 255;
+    }
+
     @SuppressWarnings("rawtypes")
     public static NotifyNeighborBlockEvent callNotifyNeighborEvent(World world, BlockPos sourcePos, EnumSet notifiedSides) {
+        if (!ShouldFire.hasListeners(NotifyNeighborBlockEvent.class)) {
+            return null;
+        }
         final PhaseTracker phaseTracker = PhaseTracker.getInstance();
         final PhaseData peek = phaseTracker.getCurrentPhaseData();
         final PhaseContext<?> context = peek.context;
@@ -498,8 +514,8 @@ public static NotifyNeighborBlockEvent callNotifyNeighborEvent(World world, Bloc
                 BlockPos offset = sourcePos.offset(notifiedSide);
 
                 Direction direction = DirectionFacingProvider.getInstance().getKey(notifiedSide).get();
-                Location<World> location = new Location<>(world, VecHelper.toVector3i(offset));
-                if (location.getBlockY() >= 0 && location.getBlockY() <= 255) {
+                if (isNotifiableNeighbor(offset)) {
+                    Location<World> location = new Location<>(world, VecHelper.toVector3i(offset));
                     neighbors.put(direction, location.getBlock());
                 }
             }
@@ -665,7 +681,7 @@ public static boolean callDestructEntityEventDeath(EntityLivingBase entity, Dama
 
         originalMessage = SpongeTexts.toText(entity.getCombatTracker().getDeathMessage());
         formatter.getBody().add(new MessageEvent.DefaultBodyApplier(originalMessage));
-        final boolean isMainThread = Sponge.isServerAvailable() && Sponge.getServer().isMainThread();
+        final boolean isMainThread = Sponge.isServerAvailable() && WorldTickThread.isServerOrWorldThread();
         // Try-with-resources will not produce an NPE when trying to autoclose the frame if it is null. Client sided
         // checks need to be made here since entities can die on the client world.
         try (final StackFrame frame = isMainThread ? Sponge.getCauseStackManager().pushCauseFrame() : null) {
@@ -694,7 +710,11 @@ public static boolean handleCollideBlockEvent(Block block, net.minecraft.world.W
             return false;
         }
 
-        final PhaseTracker phaseTracker = PhaseTracker.getInstance();
+        if (!ShouldFire.hasListeners(CollideBlockEvent.class)) {
+            trackCollidedBlock(block, world, pos, entity);
+            return false;
+        }
+
         try (StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
             Sponge.getCauseStackManager().pushCause( entity);
 
@@ -711,24 +731,44 @@ public static boolean handleCollideBlockEvent(Block block, net.minecraft.world.W
                     new Location<>((World) world, VecHelper.toVector3d(pos)), direction);
             boolean cancelled = SpongeImpl.postEvent(event);
             if (!cancelled) {
-                IMixinEntity spongeEntity = (IMixinEntity) entity;
-                if (!pos.equals(spongeEntity.getLastCollidedBlockPos())) {
-                    final PhaseData peek = phaseTracker.getCurrentPhaseData();
-                    final Optional<User> notifier = peek.context.getNotifier();
-                    if (notifier.isPresent()) {
-                        IMixinChunk spongeChunk = (IMixinChunk) world.getChunkFromBlockCoords(pos);
-                        spongeChunk.addTrackedBlockPosition(block, pos, notifier.get(), PlayerTracker.Type.NOTIFIER);
-                    }
-                }
+                trackCollidedBlock(block, world, pos, entity);
             }
             return cancelled;
         }
     }
 
+    private static void trackCollidedBlock(Block block, net.minecraft.world.World world, BlockPos pos, net.minecraft.entity.Entity entity) {
+        IMixinEntity spongeEntity = (IMixinEntity) entity;
+        if (!pos.equals(spongeEntity.getLastCollidedBlockPos())) {
+            final PhaseData peek = PhaseTracker.getInstance().getCurrentPhaseData();
+            final Optional<User> notifier = peek.context.getNotifier();
+            if (notifier.isPresent()) {
+                IMixinChunk spongeChunk = (IMixinChunk) world.getChunkFromBlockCoords(pos);
+                spongeChunk.addTrackedBlockPosition(block, pos, notifier.get(), PlayerTracker.Type.NOTIFIER);
+            }
+        }
+    }
+
     public static boolean handleCollideImpactEvent(net.minecraft.entity.Entity projectile, @Nullable ProjectileSource projectileSource,
             RayTraceResult movingObjectPosition) {
         final PhaseTracker phaseTracker = PhaseTracker.getInstance();
         RayTraceResult.Type movingObjectType = movingObjectPosition.typeOfHit;
+        if (movingObjectType == RayTraceResult.Type.BLOCK
+                ? !ShouldFire.hasListeners(CollideBlockEvent.Impact.class)
+                : !ShouldFire.hasListeners(CollideEntityEvent.Impact.class)) {
+            // Nothing can cancel the impact, only track the impacted block
+            final BlockPos blockPos = movingObjectPosition.getBlockPos();
+            if (movingObjectType == RayTraceResult.Type.BLOCK && blockPos.getY() > 0) {
+                final Optional<User> owner = phaseTracker.getCurrentPhaseData().context.getOwner();
+                if (owner.isPresent()) {
+                    final BlockPos targetPos = new BlockPos(movingObjectPosition.hitVec);
+                    IMixinChunk spongeChunk = (IMixinChunk) projectile.world.getChunkFromBlockCoords(targetPos);
+                    spongeChunk.addTrackedBlockPosition(projectile.world.getBlockState(blockPos).getBlock(), targetPos, owner.get(),
+                            PlayerTracker.Type.NOTIFIER);
+                }
+            }
+            return false;
+        }
         try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
             Sponge.getCauseStackManager().pushCause(projectile);
             Sponge.getCauseStackManager().addContext(EventContextKeys.PROJECTILE_SOURCE, projectileSource == null
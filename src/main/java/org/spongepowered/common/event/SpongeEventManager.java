@@ -50,6 +50,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
+import org.spongepowered.common.world.WorldTickThread;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -91,6 +92,13 @@ public class SpongeEventManager implements EventManager {
     private final LoadingCache<Class<? extends Event>, RegisteredListener.Cache> handlersCache =
             Caffeine.newBuilder().initialCapacity(150).build((eventClass) -> bakeHandlers(eventClass));
 
+    /**
+     * Whether an event of a given type would currently reach any listener,
+     * filled lazily for every event type that is checked. The map is
+     * replaced whenever handlers are added or removed.
+     */
+    private volatile Map<Class<? extends Event>, Boolean> listenerPresence = new ConcurrentHashMap<>(150, 0.75f, 1);
+
     @Inject
     public SpongeEventManager(Logger logger, PluginManager pluginManager) {
         this.logger = logger;
@@ -184,6 +192,7 @@ private void register(List<RegisteredListener<? extends Event>> handlers) {
 
         if (changed) {
             this.handlersCache.invalidateAll();
+            this.listenerPresence = new ConcurrentHashMap<>(150, 0.75f, 1);
         }
     }
 
@@ -207,6 +216,27 @@ protected boolean hasAnyListeners(Class<? extends Event> clazz) {
         return !this.handlersCache.get(clazz).getListeners().isEmpty();
     }
 
+    /**
+     * Gets whether posting an event of exactly the given type would reach
+     * any listener. Callers can use this to skip building the event and its
+     * cause entirely.
+     *
+     * @param eventClass The event type
+     * @return True if the event has listeners
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        if (ListenerChecker.ALL_TRUE) {
+            return true;
+        }
+        final Map<Class<? extends Event>, Boolean> listenerPresence = this.listenerPresence;
+        // A plain lookup doesn't lock, unlike computeIfAbsent which locks the bin even when the value is present
+        final Boolean present = listenerPresence.get(eventClass);
+        if (present != null) {
+            return present;
+        }
+        return listenerPresence.computeIfAbsent(eventClass, this::hasAnyListeners);
+    }
+
     public void registerListener(PluginContainer plugin, Object listenerObject) {
         checkNotNull(plugin, "plugin");
         checkNotNull(listenerObject, "listener");
@@ -321,6 +351,7 @@ private void unregister(Predicate<RegisteredListener<?>> unregister) {
 
         if (changed) {
             this.handlersCache.invalidateAll();
+            this.listenerPresence = new ConcurrentHashMap<>(150, 0.75f, 1);
         }
     }
 
@@ -342,7 +373,7 @@ protected RegisteredListener.Cache getHandlerCache(Event event) {
 
     @SuppressWarnings("unchecked")
     protected boolean post(Event event, List<RegisteredListener<?>> handlers) {
-        if(!Sponge.getServer().isMainThread()) {
+        if(!WorldTickThread.isServerOrWorldThread()) {
             // If this event is being posted asynchronously then we don't want
             // to do any timing or cause stack changes
             for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
@@ -0,0 +1,234 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import co.aikar.timings.Timing;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.world.BlockChangeFlag;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.tracking.phase.block.BlockPhase;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Spreads the block physics of very large block captures over several ticks.
+ *
+ * <p>Events for a capture are always thrown at once and the block changes
+ * themselves are already in the world by the time its physics are deferred.
+ * What is deferred is everything that follows from a change being accepted:
+ * {@code onBlockAdded}, client updates and neighbor notifications. These are
+ * queued per world in batches of one chunk each and applied at the end of
+ * the world's tick within a time budget, at least one batch per tick.</p>
+ *
+ * <p>Batches are applied in order: captures in the order they were queued,
+ * the chunks of a capture in the order they were first changed, and the
+ * changes within a chunk in capture order. Everything still queued is
+ * applied before the world is saved.</p>
+ */
+public final class DeferredBlockPhysics {
+
+    private final WorldServer world;
+    private final ArrayDeque<Capture> captures = new ArrayDeque<>();
+
+    public DeferredBlockPhysics(WorldServer world) {
+        this.world = world;
+    }
+
+    /**
+     * Gets whether the physics of the given capture should be deferred.
+     * Invalidated transactions are only restored and never apply physics,
+     * so they do not count towards the threshold.
+     *
+     * @param transactions The transactions of the capture
+     * @return True to defer the physics
+     */
+    public static boolean shouldDefer(List<? extends Transaction<?>> transactions) {
+        return reachesThreshold(transactions, SpongeImpl.getGlobalConfig().getConfig().getCauseTracker().getDeferredBlockPhysicsThreshold());
+    }
+
+    static boolean reachesThreshold(List<? extends Transaction<?>> transactions, int threshold) {
+        if (threshold <= 0 || transactions.size() < threshold) {
+            return false;
+        }
+        int valid = 0;
+        for (Transaction<?> transaction : transactions) {
+            if (transaction.isValid() && ++valid >= threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Capture newCapture(@Nullable User notifier, @Nullable User owner) {
+        final Capture capture = new Capture(notifier, owner);
+        this.captures.add(capture);
+        return capture;
+    }
+
+    public boolean isEmpty() {
+        return this.captures.isEmpty();
+    }
+
+    /**
+     * Applies queued batches until the configured budget for this tick is
+     * used up.
+     */
+    public void tick() {
+        if (this.captures.isEmpty()) {
+            return;
+        }
+        final long budget = TimeUnit.MILLISECONDS.toNanos(SpongeImpl.getGlobalConfig().getConfig().getCauseTracker().getDeferredBlockPhysicsBudget());
+        final long start = System.nanoTime();
+        do {
+            this.applyNextBatch();
+        } while (!this.captures.isEmpty() && System.nanoTime() - start < budget);
+    }
+
+    /**
+     * Applies everything that is queued, regardless of the budget.
+     */
+    public void flush() {
+        while (!this.captures.isEmpty()) {
+            this.applyNextBatch();
+        }
+    }
+
+    private void applyNextBatch() {
+        final Capture capture = this.captures.peek();
+        final List<Change> batch = capture.poll();
+        if (capture.isEmpty()) {
+            this.captures.poll();
+        }
+        if (batch == null) {
+            return;
+        }
+        final Timing timing = ((IMixinWorldServer) this.world).getTimingsHandler().causeTrackerDeferredPhysicsTimer;
+        timing.startTiming();
+        final GeneralizedContext context = BlockPhase.State.DEFERRED_PHYSICS.createPhaseContext()
+                .source(this.world);
+        if (capture.notifier != null) {
+            context.notifier(capture.notifier);
+        }
+        if (capture.owner != null) {
+            context.owner(capture.owner);
+        }
+        try (final GeneralizedContext physicsContext = context.buildAndSwitch()) {
+            for (Change change : batch) {
+                this.apply(change);
+            }
+        } finally {
+            timing.stopTiming();
+        }
+    }
+
+    private void apply(Change change) {
+        if (!this.world.isBlockLoaded(change.pos)) {
+            return;
+        }
+        // The block was changed again since, and that change brought its own physics
+        if (this.world.getBlockState(change.pos) != change.newState) {
+            return;
+        }
+        if (change.flag.performBlockPhysics() && change.originalState.getBlock() != change.newState.getBlock()) {
+            change.newState.getBlock().onBlockAdded(this.world, change.pos, change.newState);
+        }
+        if ((change.updateFlag & 2) != 0) {
+            this.world.notifyBlockUpdate(change.pos, change.originalState, change.newState, change.updateFlag);
+        }
+        if (change.flag.updateNeighbors()) {
+            ((IMixinWorldServer) this.world).spongeNotifyNeighborsPostBlockChange(change.pos, change.originalState, change.newState,
+                    change.updateFlag);
+        } else if ((change.updateFlag & 16) == 0) {
+            this.world.updateObservingBlocksAt(change.pos, change.newState.getBlock());
+        }
+    }
+
+    /**
+     * The deferred changes of one capture, grouped by chunk.
+     */
+    public static final class Capture {
+
+        @Nullable final User notifier;
+        @Nullable final User owner;
+        private final Long2ObjectLinkedOpenHashMap<List<Change>> byChunk = new Long2ObjectLinkedOpenHashMap<>();
+
+        Capture(@Nullable User notifier, @Nullable User owner) {
+            this.notifier = notifier;
+            this.owner = owner;
+        }
+
+        public void add(BlockPos pos, IBlockState originalState, IBlockState newState, BlockChangeFlag flag, int updateFlag) {
+            final long key = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+            List<Change> changes = this.byChunk.get(key);
+            if (changes == null) {
+                changes = new ArrayList<>();
+                this.byChunk.put(key, changes);
+            }
+            changes.add(new Change(pos, originalState, newState, flag, updateFlag));
+        }
+
+        boolean isEmpty() {
+            return this.byChunk.isEmpty();
+        }
+
+        @Nullable
+        List<Change> poll() {
+            if (this.byChunk.isEmpty()) {
+                return null;
+            }
+            return this.byChunk.removeFirst();
+        }
+    }
+
+    static final class Change {
+
+        final BlockPos pos;
+        final IBlockState originalState;
+        final IBlockState newState;
+        final BlockChangeFlag flag;
+        final int updateFlag;
+
+        Change(BlockPos pos, IBlockState originalState, IBlockState newState, BlockChangeFlag flag, int updateFlag) {
+            this.pos = pos;
+            this.originalState = originalState;
+            this.newState = newState;
+            this.flag = flag;
+            this.updateFlag = updateFlag;
+        }
+    }
+
+}
@@ -67,6 +67,7 @@
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.registry.type.event.InternalSpawnTypes;
+import org.spongepowered.common.world.WorldTickThread;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
@@ -144,17 +145,32 @@ public final class PhaseTracker {
     private List<Tuple<IPhaseState<?>, IPhaseState<?>>> completedIncorrectStates = new ArrayList<>();
     private List<IPhaseState<?>> printedExceptionsForState = new ArrayList<>();
 
-    private PhaseTracker() {
-        // We cannot have two instances ever. ever ever.
-        checkState(INSTANCE == null, "More than one PhaseTracker instance is being created!!! Two cannot exist at once!");
+    private PhaseTracker(boolean worldTracker) {
+        // We cannot have two instances ever. ever ever. Except for worlds ticked in parallel, which get their own.
+        checkState(worldTracker || INSTANCE == null, "More than one PhaseTracker instance is being created!!! Two cannot exist at once!");
     }
 
-    private static final PhaseTracker INSTANCE = new PhaseTracker();
+    private static final PhaseTracker INSTANCE = new PhaseTracker(false);
 
     public static PhaseTracker getInstance() {
+        // Worlds ticked in parallel each track their own phases
+        final PhaseTracker worldTracker = WorldTickThread.getCurrentPhaseTracker();
+        if (worldTracker != null) {
+            return worldTracker;
+        }
         return checkNotNull(INSTANCE, "PhaseTracker instance was illegally set to null!");
     }
 
+    /**
+     * Creates the tracker used while a world is ticked on a
+     * {@link WorldTickThread}.
+     *
+     * @return The new tracker
+     */
+    public static PhaseTracker createWorldTracker() {
+        return new PhaseTracker(true);
+    }
+
     // ----------------- STATE ACCESS ----------------------------------
 
     void switchToPhase(IPhaseState<?> state, PhaseContext<?> phaseContext) {
@@ -569,7 +585,8 @@ public boolean setBlockState(final IMixinWorldServer mixinWorld, final BlockPos
         }
         else
         {
-            if (newState.getLightOpacity() != iblockstate.getLightOpacity() || newState.getLightValue() != iblockstate.getLightValue())
+            if ((newState.getLightOpacity() != iblockstate.getLightOpacity() || newState.getLightValue() != iblockstate.getLightValue())
+                && !mixinWorld.getBulkRelighter().defer(pos)) // Sponge - relight bulk edits once they are done
             {
                 minecraftWorld.profiler.startSection("checkLight");
                 minecraftWorld.checkLight(pos);
@@ -618,7 +635,8 @@ public boolean setBlockStateWithFlag(final IMixinWorldServer mixinWorld, final B
         if (iblockstate == null) {
             return false;
         }
-        if (newState.getLightOpacity() != iblockstate.getLightOpacity() || newState.getLightValue() != iblockstate.getLightValue()) {
+        if ((newState.getLightOpacity() != iblockstate.getLightOpacity() || newState.getLightValue() != iblockstate.getLightValue())
+                && !mixinWorld.getBulkRelighter().defer(pos)) {
             minecraftWorld.profiler.startSection("checkLight");
             minecraftWorld.checkLight(pos);
             minecraftWorld.profiler.endSection();
@@ -800,7 +818,7 @@ public boolean spawnEntityWithCause(World world, Entity entity) {
      * @return True if the entity spawn is on the main thread.
      */
     public static boolean validateEntitySpawn(IMixinWorldServer mixinWorldServer, Entity entity) {
-        if (Sponge.isServerAvailable() && Sponge.getServer().isMainThread()) {
+        if (Sponge.isServerAvailable() && WorldTickThread.isServerOrWorldThread()) {
             return true;
         }
         // We aren't in the server thread at this point, and an entity is spawning on the server....
@@ -389,7 +389,8 @@ static boolean trackBlockChange(PhaseTracker phaseTracker, IMixinWorldServer mix
         }
 
 
-        if (newState.getLightOpacity() != currentState.getLightOpacity() || newState.getLightValue() != currentState.getLightValue()) {
+        if ((newState.getLightOpacity() != currentState.getLightOpacity() || newState.getLightValue() != currentState.getLightValue())
+                && !mixinWorld.getBulkRelighter().defer(pos)) {
             minecraftWorld.profiler.startSection("checkLight");
             minecraftWorld.checkLight(pos);
             minecraftWorld.profiler.endSection();
@@ -624,6 +625,10 @@ public static boolean performBlockAdditions(List<Transaction<BlockSnapshot>> tra
         final CapturedMultiMapSupplier<BlockPos, ItemDropData> capturedBlockDrops = phaseContext.getBlockDropSupplier();
         final CapturedMultiMapSupplier<BlockPos, EntityItem> capturedBlockItemEntityDrops = phaseContext.getBlockItemDropSupplier();
         final CapturedMultiMapSupplier<BlockPos, net.minecraft.entity.Entity> capturedBlockEntitySpawns = phaseContext.getBlockEntitySpawnSupplier();
+        // Sponge - oversized captures have their physics applied over the following ticks
+        final boolean deferPhysics = DeferredBlockPhysics.shouldDefer(transactions);
+        IMixinWorldServer deferredWorld = null;
+        DeferredBlockPhysics.Capture deferredCapture = null;
         for (Transaction<BlockSnapshot> transaction : transactions) {
             if (!transaction.isValid()) {
                 // Rememver that this value needs to be set to false to return because of the fact that
@@ -661,6 +666,17 @@ public static boolean performBlockAdditions(List<Transaction<BlockSnapshot>> tra
             // We call onBlockAdded here for both TE blocks (BlockContainer's) and other blocks.
             // MixinChunk#setBlockState will only call onBlockAdded for BlockContainers when it's passed a null newBlockSnapshot,
             // which only happens when capturing is not being done.
+            if (deferPhysics) {
+                if (deferredWorld != mixinWorldServer) {
+                    deferredWorld = mixinWorldServer;
+                    deferredCapture = mixinWorldServer.getDeferredBlockPhysics()
+                        .newCapture(phaseContext.getNotifier().orElse(null), phaseContext.getOwner().orElse(null));
+                }
+                proxyBlockAccess.proceed();
+                ((IPhaseState) phaseState).handleBlockChangeWithUser(oldBlockSnapshot.blockChange, transaction, phaseContext);
+                deferredCapture.add(pos, originalState, newState, changeFlag, oldBlockSnapshot.getUpdateFlag());
+                continue;
+            }
             final PhaseTracker phaseTracker = PhaseTracker.getInstance();
             if (changeFlag.performBlockPhysics() && originalState.getBlock() != newState.getBlock()) {
                 newState.getBlock().onBlockAdded(mixinWorldServer.asMinecraftWorld(), pos, newState);
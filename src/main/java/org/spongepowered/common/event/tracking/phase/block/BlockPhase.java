@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.event.tracking.phase.block;
 
+import org.spongepowered.common.event.tracking.GeneralizedContext;
 import org.spongepowered.common.event.tracking.IPhaseState;
 import org.spongepowered.common.event.tracking.phase.TrackingPhase;
 
@@ -39,6 +40,11 @@ public static final class State {
          * changes or entity spawns as a chunk unloads.
          */
         public static final IPhaseState<?> TILE_CHUNK_UNLOAD = new TileChunkUnloadState();
+        /**
+         * Applies the block physics of oversized captures that were spread
+         * over several ticks, see {@link org.spongepowered.common.event.tracking.DeferredBlockPhysics}.
+         */
+        public static final IPhaseState<GeneralizedContext> DEFERRED_PHYSICS = new DeferredPhysicsPhaseState();
 
         private State() {
         }
@@ -0,0 +1,70 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking.phase.block;
+
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.event.CauseStackManager.StackFrame;
+import org.spongepowered.api.event.cause.EventContextKeys;
+import org.spongepowered.api.event.cause.entity.spawn.SpawnTypes;
+import org.spongepowered.common.event.tracking.GeneralizedContext;
+import org.spongepowered.common.event.tracking.TrackingUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies block physics that were deferred from an earlier, oversized block
+ * capture. Anything the physics change or spawn is captured again and
+ * processed like any other capture.
+ */
+final class DeferredPhysicsPhaseState extends BlockPhaseState {
+
+    DeferredPhysicsPhaseState() {
+    }
+
+    @Override
+    public GeneralizedContext createPhaseContext() {
+        return super.createPhaseContext()
+            .addCaptures();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void unwind(GeneralizedContext context) {
+        try (StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+            context.getSource(Object.class).ifPresent(Sponge.getCauseStackManager()::pushCause);
+            Sponge.getCauseStackManager().addContext(EventContextKeys.SPAWN_TYPE, SpawnTypes.BLOCK_SPAWNING);
+            context.addNotifierAndOwnerToCauseStack();
+            context.getCapturedBlockSupplier()
+                    .acceptAndClearIfNotEmpty(blocks -> TrackingUtil.processBlockCaptures(blocks, this, context));
+            context.getCapturedEntitySupplier()
+                    .acceptAndClearIfNotEmpty(entities -> TrackingUtil.splitAndSpawnEntities(new ArrayList<>(entities)));
+            context.getCapturedItemsSupplier()
+                    .acceptAndClearIfNotEmpty(items -> TrackingUtil.splitAndSpawnEntities((List<Entity>) (List<?>) new ArrayList<>(items)));
+        }
+    }
+
+}
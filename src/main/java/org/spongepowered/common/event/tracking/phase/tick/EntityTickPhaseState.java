@@ -54,6 +54,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.interfaces.world.IMixinLocation;
@@ -242,6 +243,9 @@ public void unwind(EntityTickContext phaseContext) {
     }
 
     private void fireMovementEvents(net.minecraft.entity.Entity entity) {
+        if (!ShouldFire.hasListeners(MoveEntityEvent.class)) {
+            return;
+        }
         // Ignore movement event if entity is dead, a projectile, or item.
         // Note: Projectiles are handled with CollideBlockEvent.Impact
         if (entity.isDead || entity instanceof IProjectile || entity instanceof EntityItem) {
@@ -25,6 +25,8 @@
 package org.spongepowered.common.interfaces;
 
 import com.mojang.authlib.properties.Property;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.Packet;
 import org.spongepowered.api.MinecraftVersion;
 
 import java.net.InetSocketAddress;
@@ -52,4 +54,33 @@ public interface IMixinNetworkManager {
     Property[] getSpoofedProfile();
 
     void setSpoofedProfile(Property[] profile);
+
+    /**
+     * Queues the packet to be written to the connection with the next flush,
+     * which happens at the end of the tick or once the queue is full.
+     *
+     * @param packet The packet to queue
+     */
+    void queuePacket(Packet<?> packet);
+
+    /**
+     * Queues an already encoded packet like {@link #queuePacket(Packet)}. The
+     * buffer must already be compressed if this connection uses compression,
+     * and is released once it was written.
+     *
+     * @param buf The encoded packet
+     */
+    void queueEncodedPacket(ByteBuf buf);
+
+    /**
+     * Writes all queued packets to the connection and flushes it once.
+     */
+    void flushQueuedPackets();
+
+    /**
+     * Gets the compression threshold of this connection.
+     *
+     * @return The threshold, or -1 if packets are not compressed
+     */
+    int getCompressionThreshold();
 }
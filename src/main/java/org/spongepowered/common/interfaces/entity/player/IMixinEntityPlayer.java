@@ -25,6 +25,7 @@
 package org.spongepowered.common.interfaces.entity.player;
 
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 
@@ -45,4 +46,14 @@ public interface IMixinEntityPlayer extends IMixinEntity {
     UUID getCollidingEntityUuid();
 
     void setSpawnLocations(EntityPlayer oldPlayer);
+
+    /**
+     * Gets the player data as it was last written to the player file, used
+     * to skip saving the file when nothing changed.
+     *
+     * @return The last written data, or null if this player wasn't saved yet
+     */
+    @Nullable NBTTagCompound getLastSavedPlayerData();
+
+    void setLastSavedPlayerData(@Nullable NBTTagCompound compound);
 }
@@ -36,6 +36,8 @@ public interface IMixinText {
 
     String toJson();
 
+    byte[] toJsonBytes();
+
     String toLegacy(char code);
 
     String toLegacySingle(char code);
@@ -29,6 +29,8 @@
 
 import java.util.Iterator;
 
+import javax.annotation.Nullable;
+
 public interface IMixinTextComponent extends ITextComponent {
 
     Iterator<ITextComponent> childrenIterator();
@@ -45,4 +47,16 @@ public interface IMixinTextComponent extends ITextComponent {
 
     Text toText();
 
+    /**
+     * Gets the text this component was copied from, as long as nothing
+     * could have changed the component since. Its cached json can be
+     * written in place of serializing the component again.
+     *
+     * @return The text, or null if the component may have been modified
+     */
+    @Nullable
+    IMixinText getUnmodifiedSource();
+
+    void setUnmodifiedSource(@Nullable IMixinText source);
+
 }
@@ -40,6 +40,22 @@ public interface IMixinWorldInfo {
 
     NBTTagCompound getSpongeRootLevelNbt();
 
+    /**
+     * Gets a copy of the sponge level data if it changed since it was last
+     * written, see {@link #setSavedSpongeRootLevelNbt(NBTTagCompound)}.
+     *
+     * @return A copy of the data to save, or null if nothing changed
+     */
+    @Nullable NBTTagCompound getDirtySpongeRootLevelNbt();
+
+    /**
+     * Marks the copy as written to disk. It is used for the next comparison
+     * and must not be modified afterwards.
+     *
+     * @param compound The copy that was written
+     */
+    void setSavedSpongeRootLevelNbt(NBTTagCompound compound);
+
     void setSpongeRootLevelNBT(NBTTagCompound nbt);
 
     NBTTagCompound getSpongeNbt();
@@ -41,7 +41,11 @@
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.type.WorldConfig;
+import org.spongepowered.common.effect.particle.ParticleBatch;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.event.tracking.DeferredBlockPhysics;
+import org.spongepowered.common.world.BulkRelighter;
+import org.spongepowered.common.world.PlayerGrid;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
 
@@ -112,6 +116,14 @@ default boolean forceSpawnEntity(Entity entity) {
 
     void doChunkGC();
 
+    BulkRelighter getBulkRelighter();
+
+    DeferredBlockPhysics getDeferredBlockPhysics();
+
+    PlayerGrid getPlayerGrid();
+
+    ParticleBatch getParticleBatch();
+
     default WorldServer asMinecraftWorld() {
         return (WorldServer) this;
     }
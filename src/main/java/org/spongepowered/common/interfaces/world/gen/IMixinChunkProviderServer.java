@@ -35,6 +35,8 @@ public interface IMixinChunkProviderServer {
 
     void setMaxChunkUnloads(int maxUnloads);
 
+    void setChunkUnloadTimeBudget(int budget);
+
     void setDenyChunkRequests(boolean flag);
 
     void setForceChunkRequests(boolean flag);
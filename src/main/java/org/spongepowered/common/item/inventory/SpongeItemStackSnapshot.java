@@ -77,6 +77,7 @@ public class SpongeItemStackSnapshot implements ItemStackSnapshot {
     private final ImmutableSet<ImmutableValue<?>> values;
     @Nullable private final NBTTagCompound compound;
     @Nullable private Optional<UUID> creatorUniqueId;
+    private int hashCode;
 
     public SpongeItemStackSnapshot(ItemStack itemStack) {
         checkNotNull(itemStack);
@@ -95,12 +96,12 @@ public SpongeItemStackSnapshot(ItemStack itemStack) {
         this.privateStack = itemStack.copy();
         this.keys = keyBuilder.build();
         this.values = valueBuilder.build();
+        // The private stack is never modified, so its compound can be shared unless custom data has to be filtered out of it
         @Nullable NBTTagCompound compound = ((net.minecraft.item.ItemStack) this.privateStack).getTagCompound();
-        if (compound != null) {
-            compound = compound.copy();
+        if (compound != null && hasSpongeData(compound)) {
+            compound = NbtDataUtil.filterSpongeCustomData(compound.copy());
         }
         if (compound != null) {
-            NbtDataUtil.filterSpongeCustomData(compound);
             if (!compound.hasNoTags()) {
                 this.compound = compound;
             } else {
@@ -133,6 +134,13 @@ public SpongeItemStackSnapshot(ItemType itemType,
         this.compound = compound == null ? null : compound.copy();
     }
 
+    private static boolean hasSpongeData(NBTTagCompound compound) {
+        if (compound.hasKey(NbtDataUtil.FORGE_DATA, NbtDataUtil.TAG_COMPOUND)) {
+            return compound.getCompoundTag(NbtDataUtil.FORGE_DATA).hasKey(NbtDataUtil.SPONGE_DATA, NbtDataUtil.TAG_COMPOUND);
+        }
+        return compound.hasKey(NbtDataUtil.SPONGE_DATA, NbtDataUtil.TAG_COMPOUND);
+    }
+
     @Override
     public ItemType getType() {
         return this.itemType;
@@ -155,8 +163,9 @@ public Translation getTranslation() {
 
     @Override
     public ItemStack createStack() {
-        net.minecraft.item.ItemStack nativeStack = ItemStackUtil.cloneDefensiveNative(ItemStackUtil.toNative(this.privateStack.copy()));
-        if(this.compound != null) {
+        net.minecraft.item.ItemStack nativeStack = ItemStackUtil.cloneDefensiveNative(ItemStackUtil.toNative(this.privateStack));
+        // A shared compound was already copied along with the stack
+        if (this.compound != null && this.compound != ItemStackUtil.toNative(this.privateStack).getTagCompound()) {
             nativeStack.setTagCompound(this.compound.copy());
         }
         return ItemStackUtil.fromNative(nativeStack);
@@ -369,6 +378,7 @@ public Optional<UUID> getCreator() {
     public void setCreator(@Nullable UUID uuid) {
         if (uuid != null) {
             this.creatorUniqueId = Optional.of(uuid);
+            this.hashCode = 0;
         }
     }
 
@@ -381,6 +391,9 @@ public boolean equals(Object o) {
             return false;
         }
         SpongeItemStackSnapshot that = (SpongeItemStackSnapshot) o;
+        if (this.hashCode != 0 && that.hashCode != 0 && this.hashCode != that.hashCode) {
+            return false;
+        }
         return this.quantity == that.quantity &&
                this.damageValue == that.damageValue &&
                Objects.equal(this.itemType, that.itemType) &&
@@ -390,7 +403,12 @@ public boolean equals(Object o) {
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(this.itemType, this.quantity, this.damageValue, this.compound, this.creatorUniqueId);
+        // Hashing the compound walks all of its tags, and snapshots are mostly immutable
+        int hashCode = this.hashCode;
+        if (hashCode == 0) {
+            this.hashCode = hashCode = Objects.hashCode(this.itemType, this.quantity, this.damageValue, this.compound, this.creatorUniqueId);
+        }
+        return hashCode;
     }
 
 }
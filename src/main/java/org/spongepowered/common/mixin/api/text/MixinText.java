@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.mixin.api.text;
 
+import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.Style;
@@ -56,6 +57,7 @@ public abstract class MixinText implements IMixinText {
 
     private ITextComponent component;
     private String json;
+    private volatile byte[] jsonBytes;
 
     protected TextComponentBase createComponent() {
         throw new UnsupportedOperationException();
@@ -105,7 +107,9 @@ private ITextComponent getHandle() {
 
     @Override
     public ITextComponent toComponent() {
-        return getHandle().createCopy(); // Mutable instances are not nice :(
+        final ITextComponent component = getHandle().createCopy(); // Mutable instances are not nice :(
+        ((IMixinTextComponent) component).setUnmodifiedSource(this);
+        return component;
     }
 
     @Override
@@ -127,6 +131,16 @@ public String toJson() {
         return this.json;
     }
 
+    @Override
+    public byte[] toJsonBytes() {
+        byte[] jsonBytes = this.jsonBytes;
+        if (jsonBytes == null) {
+            this.jsonBytes = jsonBytes = toJson().getBytes(Charsets.UTF_8);
+        }
+
+        return jsonBytes;
+    }
+
     @Override
     public String toLegacy(char code) {
         return ((IMixinTextComponent) getHandle()).toLegacy(code);
@@ -59,8 +59,10 @@ public void onInit(JsonObject object, CallbackInfo ci) {
     }
 
     private void setAddress() {
+        // Entries may ban a whole range in CIDR notation, which is keyed by its network address
+        final int slash = this.value.indexOf('/');
         try {
-            this.address = InetAddress.getByName(this.value);
+            this.address = InetAddress.getByName(slash == -1 ? this.value : this.value.substring(0, slash));
         } catch (UnknownHostException e) {
             throw new IllegalStateException("Error parsing Ban IP address!", e);
         }
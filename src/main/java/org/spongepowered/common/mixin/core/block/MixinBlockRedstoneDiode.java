@@ -57,7 +57,7 @@ public void onNotifyNeighbors(net.minecraft.world.World worldIn, BlockPos pos, I
         }
 
         NotifyNeighborBlockEvent event = SpongeCommonEventFactory.callNotifyNeighborEvent((World) worldIn, pos, java.util.EnumSet.of(enumfacing.getOpposite()));
-        if (event == null || (!event.isCancelled() && !event.getNeighbors().isEmpty())) {
+        if (event == null ? SpongeCommonEventFactory.isNotifiableNeighbor(blockpos) : !event.isCancelled() && !event.getNeighbors().isEmpty()) {
             worldIn.neighborChanged(blockpos, (BlockRedstoneDiode) (Object) this, pos);
             worldIn.notifyNeighborsOfStateExcept(blockpos, (BlockRedstoneDiode) (Object) this, enumfacing);
         }
@@ -109,7 +109,7 @@ public BlockSnapshot snapshotFor(Location<World> location) {
             }
             final NBTTagCompound compound = new NBTTagCompound();
             ((net.minecraft.tileentity.TileEntity) tileEntity).writeToNBT(compound);
-            builder.unsafeNbt(compound);
+            builder.sharedNbt(compound);
         }
         return builder.build();
     }
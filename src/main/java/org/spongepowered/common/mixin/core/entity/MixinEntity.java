@@ -135,6 +135,7 @@
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ParallelWorldTicker;
 
 import java.lang.ref.WeakReference;
 import java.util.Collection;
@@ -253,6 +254,16 @@ public abstract class MixinEntity implements IMixinEntity {
 
     @Shadow public abstract void setItemStackToSlot(EntityEquipmentSlot slotIn, ItemStack stack);
 
+    @Redirect(method = "<init>", at = @At(value = "FIELD", target = "Lnet/minecraft/entity/Entity;nextEntityID:I", opcode = Opcodes.GETSTATIC))
+    private int onGetNextEntityId() {
+        return EntityUtil.nextEntityId();
+    }
+
+    @Redirect(method = "<init>", at = @At(value = "FIELD", target = "Lnet/minecraft/entity/Entity;nextEntityID:I", opcode = Opcodes.PUTSTATIC))
+    private void onSetNextEntityId(int nextEntityId) {
+        // EntityUtil already advanced the counter when the id was taken
+    }
+
     @Redirect(method = "<init>", at = @At(value = "FIELD", target = "Lnet/minecraft/entity/Entity;dimension:I", opcode = Opcodes.PUTFIELD))
     private void onSet(net.minecraft.entity.Entity self, int dimensionId, net.minecraft.world.World worldIn) {
         if (worldIn instanceof IMixinWorldServer) {
@@ -470,6 +481,10 @@ public boolean setLocation(Location<World> location) {
         if (isRemoved()) {
             return false;
         }
+        if (location.getExtent() != this.world && ParallelWorldTicker.requiresExclusive()) {
+            final Location<World> target = location;
+            return ParallelWorldTicker.runExclusive(() -> setLocation(target));
+        }
 
         try (final BasicPluginContext context = PluginPhase.State.TELEPORT.createPhaseContext().buildAndSwitch()) {
 
@@ -94,6 +94,7 @@
 import org.spongepowered.common.interfaces.entity.IMixinEntityLivingBase;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayerMP;
 import org.spongepowered.common.registry.type.event.DamageSourceRegistryModule;
+import org.spongepowered.common.world.WorldTickThread;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -255,7 +256,7 @@ public void onDeath(DamageSource cause) {
         }
         // Double check that the PhaseTracker is already capturing the Death phase
         final PhaseTracker phaseTracker = PhaseTracker.getInstance();
-        final boolean isMainThread = !this.world.isRemote || Sponge.isServerAvailable() && Sponge.getServer().isMainThread();
+        final boolean isMainThread = !this.world.isRemote || Sponge.isServerAvailable() && WorldTickThread.isServerOrWorldThread();
         try (final StackFrame frame = isMainThread ? Sponge.getCauseStackManager().pushCauseFrame() : null) {
             if (!this.world.isRemote) {
                 final PhaseData peek = phaseTracker.getCurrentPhaseData();
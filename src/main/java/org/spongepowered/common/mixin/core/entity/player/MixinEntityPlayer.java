@@ -158,6 +158,7 @@ public abstract class MixinEntityPlayer extends MixinEntityLivingBase implements
     private UUID collidingEntityUuid = null;
     private Vector3d targetedLocation;
     private boolean dontRecalculateExperience;
+    @Nullable private NBTTagCompound lastSavedPlayerData;
 
     @Inject(method = "<init>(Lnet/minecraft/world/World;Lcom/mojang/authlib/GameProfile;)V", at = @At("RETURN"))
     public void construct(World worldIn, GameProfile gameProfileIn, CallbackInfo ci) {
@@ -480,6 +481,17 @@ public UUID getCollidingEntityUuid() {
         return this.collidingEntityUuid;
     }
 
+    @Nullable
+    @Override
+    public NBTTagCompound getLastSavedPlayerData() {
+        return this.lastSavedPlayerData;
+    }
+
+    @Override
+    public void setLastSavedPlayerData(@Nullable NBTTagCompound compound) {
+        this.lastSavedPlayerData = compound;
+    }
+
     /**
      * @author dualspiral - October 7th, 2016
      *
@@ -285,6 +285,10 @@ public int onAdd(InventoryPlayer inv, int index, ItemStack stack) {
             Slot slot = this.getMain().getSlot(SlotIndex.of(index)).get();
             ItemStackSnapshot original = ItemStackUtil.snapshotOf(this.getStackInSlot(index));
             int result = this.addResource(index, stack);
+            if (result == stack.getCount()) {
+                // Nothing was added to the slot
+                return result;
+            }
             ItemStackSnapshot replacement = ItemStackUtil.snapshotOf(this.getStackInSlot(index));
             this.capturedTransactions.add(new SlotTransaction(slot, original, replacement));
             return result;
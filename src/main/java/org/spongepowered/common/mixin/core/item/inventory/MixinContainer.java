@@ -220,7 +220,7 @@ public void onPutStackInSlot(int slotId, ItemStack itemstack, CallbackInfo ci) {
             this.init();
 
             final Slot slot = getSlot(slotId);
-            if (slot != null) {
+            if (slot != null && !ItemStack.areItemStacksEqual(slot.getStack(), itemstack)) {
                 ItemStackSnapshot originalItem = slot.getStack().isEmpty() ? ItemStackSnapshot.NONE
                         : ((org.spongepowered.api.item.inventory.ItemStack) slot.getStack()).createSnapshot();
                 ItemStackSnapshot newItem =
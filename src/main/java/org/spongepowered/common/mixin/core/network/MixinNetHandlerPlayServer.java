@@ -110,6 +110,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.entity.player.tab.SpongeTabList;
+import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.PhaseData;
@@ -123,8 +124,10 @@
 import org.spongepowered.common.interfaces.entity.player.IMixinInventoryPlayer;
 import org.spongepowered.common.interfaces.network.IMixinNetHandlerPlayServer;
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
+import org.spongepowered.common.network.PacketBatching;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.PlayerGrid;
 
 import java.net.InetSocketAddress;
 import java.util.Deque;
@@ -217,6 +220,7 @@ private void onPlayerTick(EntityPlayerMP player) {
             Sponge.getCauseStackManager().pushCause(player);
             player.onUpdateEntity();
         }
+        PlayerGrid.onPlayerMoved(player);
     }
 
     /**
@@ -228,7 +232,12 @@ private void onPlayerTick(EntityPlayerMP player) {
     public void onSendPacket(NetworkManager manager, Packet<?> packet) {
         packet = this.rewritePacket(packet);
         if (packet != null) {
-            manager.sendPacket(packet);
+            if (PacketBatching.isEnabled() && !PacketBatching.bypassesQueue(packet) && this.serverController.isCallingFromMinecraftThread()) {
+                // Flushed at the end of the tick, see MixinMinecraftServer
+                ((IMixinNetworkManager) manager).queuePacket(packet);
+            } else {
+                manager.sendPacket(packet);
+            }
         }
     }
 
@@ -405,6 +414,12 @@ public String onNormalizeSpace(String input) {
     @Inject(method = "setPlayerLocation(DDDFFLjava/util/Set;)V", at = @At(value = "RETURN"))
     public void setPlayerLocation(double x, double y, double z, float yaw, float pitch, Set<?> relativeSet, CallbackInfo ci) {
         this.justTeleported = true;
+        PlayerGrid.onPlayerMoved(this.player);
+    }
+
+    @Inject(method = "processPlayer", at = @At("RETURN"))
+    private void onProcessPlayerUpdateGrid(CPacketPlayer packetIn, CallbackInfo ci) {
+        PlayerGrid.onPlayerMoved(this.player);
     }
 
     /**
@@ -462,30 +477,34 @@ private boolean throwMoveEvent(EntityPlayerMP playerMP, CPacketPlayer packetIn)
             // These magic numbers are sad but help prevent excessive lag from this event.
             // eventually it would be nice to not have them
             if (deltaSquared > ((1f / 16) * (1f / 16)) || deltaAngleSquared > (.15f * .15f)) {
-                Transform<World> fromTransform = player.getTransform().setLocation(from).setRotation(fromrot);
-                Transform<World> toTransform = player.getTransform().setLocation(to).setRotation(torot);
-                Sponge.getCauseStackManager().pushCause(player);
-                MoveEntityEvent event = SpongeEventFactory.createMoveEntityEvent(Sponge.getCauseStackManager().getCurrentCause(), fromTransform, toTransform, player);
-                SpongeImpl.postEvent(event);
-                Sponge.getCauseStackManager().popCause();
-                if (event.isCancelled()) {
-                    mixinPlayer.setLocationAndAngles(fromTransform);
-                    this.lastMoveLocation = from;
-                    ((IMixinEntityPlayerMP) this.player).setVelocityOverride(null);
-                    return true;
-                } else if (!event.getToTransform().equals(toTransform)) {
-                    mixinPlayer.setLocationAndAngles(event.getToTransform());
-                    this.lastMoveLocation = event.getToTransform().getLocation();
-                    ((IMixinEntityPlayerMP) this.player).setVelocityOverride(null);
-                    return true;
-                } else if (!from.equals(player.getLocation()) && this.justTeleported) {
+                // Avoid building transforms and the event when nothing listens for it
+                if (ShouldFire.hasListeners(MoveEntityEvent.class)) {
+                    Transform<World> fromTransform = player.getTransform().setLocation(from).setRotation(fromrot);
+                    Transform<World> toTransform = player.getTransform().setLocation(to).setRotation(torot);
+                    Sponge.getCauseStackManager().pushCause(player);
+                    MoveEntityEvent event = SpongeEventFactory.createMoveEntityEvent(Sponge.getCauseStackManager().getCurrentCause(), fromTransform, toTransform, player);
+                    SpongeImpl.postEvent(event);
+                    Sponge.getCauseStackManager().popCause();
+                    if (event.isCancelled()) {
+                        mixinPlayer.setLocationAndAngles(fromTransform);
+                        this.lastMoveLocation = from;
+                        ((IMixinEntityPlayerMP) this.player).setVelocityOverride(null);
+                        return true;
+                    } else if (!event.getToTransform().equals(toTransform)) {
+                        mixinPlayer.setLocationAndAngles(event.getToTransform());
+                        this.lastMoveLocation = event.getToTransform().getLocation();
+                        ((IMixinEntityPlayerMP) this.player).setVelocityOverride(null);
+                        return true;
+                    }
+                }
+                if (!from.equals(player.getLocation()) && this.justTeleported) {
                     this.lastMoveLocation = player.getLocation();
                     // Prevent teleports during the move event from causing odd behaviors
                     this.justTeleported = false;
                     ((IMixinEntityPlayerMP) this.player).setVelocityOverride(null);
                     return true;
                 } else {
-                    this.lastMoveLocation = event.getToTransform().getLocation();
+                    this.lastMoveLocation = to;
                 }
                 this.resendLatestResourcePackRequest();
             }
@@ -515,6 +534,9 @@ private Entity processVehicleMoveEvent(EntityPlayerMP playerMP, CPacketVehicleMo
         }
 
         // Sponge Start - Movement event
+        if (!ShouldFire.hasListeners(MoveEntityEvent.class)) {
+            return ridingEntity;
+        }
         org.spongepowered.api.entity.Entity spongeEntity = (org.spongepowered.api.entity.Entity) ridingEntity;
         Vector3d fromrot = spongeEntity.getRotation();
 
@@ -24,24 +24,35 @@
  */
 package org.spongepowered.common.mixin.core.network;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.local.LocalAddress;
 import net.minecraft.network.INetHandler;
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
 import org.spongepowered.api.MinecraftVersion;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.network.PlayerConnection;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeMinecraftVersion;
 import org.spongepowered.common.interfaces.IMixinNetworkManager;
+import org.spongepowered.common.network.PacketBatching;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
 
 @SuppressWarnings("rawtypes")
 @Mixin(NetworkManager.class)
@@ -51,9 +62,15 @@ public abstract class MixinNetworkManager extends SimpleChannelInboundHandler im
     @Shadow private INetHandler packetListener;
 
     @Shadow public abstract SocketAddress getRemoteAddress();
+    @Shadow public abstract boolean isChannelOpen();
+    @Shadow public abstract void sendPacket(Packet<?> packetIn);
+    @Shadow private void flushOutboundQueue() {}
 
     private InetSocketAddress virtualHost;
     private MinecraftVersion version;
+    // Packets, or encoded packets that were shared between connections
+    private List<Object> queuedPackets = new ArrayList<>();
+    private int compressionThreshold = -1;
 
     private static final InetSocketAddress localhost = InetSocketAddress.createUnresolved("127.0.0.1", 0);
 
@@ -113,4 +130,91 @@ public int getLatency() {
         }
         throw new IllegalStateException("Latency is not currently available");
     }
+
+    @Override
+    public void queuePacket(Packet<?> packet) {
+        queue(packet);
+    }
+
+    @Override
+    public void queueEncodedPacket(ByteBuf buf) {
+        queue(buf);
+    }
+
+    private void queue(Object packet) {
+        final int size;
+        synchronized (this) {
+            this.queuedPackets.add(packet);
+            size = this.queuedPackets.size();
+        }
+        if (size >= PacketBatching.getMaxQueuedPackets()) {
+            flushQueuedPackets();
+        }
+    }
+
+    @Override
+    public void flushQueuedPackets() {
+        final List<Object> packets;
+        synchronized (this) {
+            if (this.queuedPackets.isEmpty()) {
+                return;
+            }
+            packets = this.queuedPackets;
+            this.queuedPackets = new ArrayList<>();
+        }
+        if (!isChannelOpen()) {
+            // Let vanilla hold on to the packets until the channel opens
+            for (Object packet : packets) {
+                if (packet instanceof ByteBuf) {
+                    ((ByteBuf) packet).release();
+                } else {
+                    sendPacket((Packet<?>) packet);
+                }
+            }
+            return;
+        }
+        flushOutboundQueue();
+        if (this.channel.eventLoop().inEventLoop()) {
+            writeQueuedPackets(packets);
+        } else {
+            this.channel.eventLoop().execute(() -> writeQueuedPackets(packets));
+        }
+    }
+
+    private void writeQueuedPackets(List<Object> packets) {
+        for (Object packet : packets) {
+            if (packet instanceof ByteBuf) {
+                // Encoded packets are already compressed, so they skip the compression handler if there is one
+                final ChannelHandlerContext compressor = this.channel.pipeline().context("compress");
+                if (compressor != null) {
+                    compressor.write(packet).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+                    continue;
+                }
+            }
+            this.channel.write(packet).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+        }
+        // The packets went through the encoder when written, so the pending bytes are the size of this flush
+        final ChannelOutboundBuffer outboundBuffer = this.channel.unsafe().outboundBuffer();
+        final long bytes = outboundBuffer == null ? 0 : outboundBuffer.totalPendingWriteBytes();
+        this.channel.flush();
+        PacketBatching.recordFlush(packets.size(), bytes);
+    }
+
+    // Packets sent directly to the connection must not overtake the queued ones
+    @Inject(method = {"sendPacket(Lnet/minecraft/network/Packet;)V",
+            "sendPacket(Lnet/minecraft/network/Packet;Lio/netty/util/concurrent/GenericFutureListener;[Lio/netty/util/concurrent/GenericFutureListener;)V",
+            "closeChannel"}, at = @At("HEAD"))
+    private void onSendPacketFlushQueue(CallbackInfo ci) {
+        flushQueuedPackets();
+    }
+
+    @Inject(method = "setCompressionThreshold", at = @At("HEAD"))
+    private void onSetCompressionThreshold(int threshold, CallbackInfo ci) {
+        this.compressionThreshold = threshold;
+    }
+
+    @Override
+    public int getCompressionThreshold() {
+        return this.compressionThreshold;
+    }
 }
@@ -28,17 +28,26 @@
 
 import com.google.common.base.Charsets;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.EncoderException;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.text.ITextComponent;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.network.ChannelBuf;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Implements;
 import org.spongepowered.asm.mixin.Interface;
 import org.spongepowered.asm.mixin.Intrinsic;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.interfaces.text.IMixinText;
+import org.spongepowered.common.interfaces.text.IMixinTextComponent;
+import org.spongepowered.common.data.persistence.NbtStreamWriter;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.common.network.SpongeNetworkManager;
 
@@ -55,6 +64,8 @@ public abstract class MixinPacketBuffer extends ByteBuf {
     private static final int MAX_STRING_LENGTH_BYTES = Short.MAX_VALUE;
     private static final int MAX_STRING_LENGTH = MixinPacketBuffer.MAX_STRING_LENGTH_BYTES >> 2;
 
+    @Shadow @Final private ByteBuf buf;
+
     // mojang methods, fluent in target
     @Shadow public abstract PacketBuffer writeByteArray(byte[] array);
     @Shadow public abstract PacketBuffer writeVarInt(int input);
@@ -70,6 +81,25 @@ public abstract class MixinPacketBuffer extends ByteBuf {
     @Shadow public abstract NBTTagCompound readCompoundTag() throws IOException;
     @Shadow public abstract UUID readUniqueId();
 
+    @Inject(method = "writeTextComponent", at = @At("HEAD"), cancellable = true)
+    private void onWriteTextComponent(ITextComponent component, CallbackInfoReturnable<PacketBuffer> cir) {
+        if (!(component instanceof IMixinTextComponent)) {
+            return;
+        }
+        final IMixinText source = ((IMixinTextComponent) component).getUnmodifiedSource();
+        if (source == null) {
+            return;
+        }
+        final byte[] json = source.toJsonBytes();
+        // Leave oversized json to vanilla, which rejects it
+        if (json.length > MAX_STRING_LENGTH_BYTES) {
+            return;
+        }
+        writeVarInt(json.length);
+        writeBytes(json);
+        cir.setReturnValue((PacketBuffer) (Object) this);
+    }
+
     public int cbuf$getCapacity() {
         return this.capacity();
     }
@@ -403,7 +433,39 @@ public int getInteger(int index) {
     }
 
     public ChannelBuf cbuf$writeString(String data) {
-        return (ChannelBuf) this.writeString(checkNotNull(data)); // fluent in target
+        checkNotNull(data);
+        final int length = utf8Length(data);
+        if (length < 0 || length > MixinPacketBuffer.MAX_STRING_LENGTH_BYTES) {
+            // Let vanilla deal with surrogates and report strings that are too big
+            return (ChannelBuf) this.writeString(data); // fluent in target
+        }
+        this.writeVarInt(length);
+        // Encodes straight into the buffer instead of going through String#getBytes
+        ByteBufUtil.writeUtf8(this.buf, data);
+        return (ChannelBuf) this;
+    }
+
+    /**
+     * Gets the length of the string encoded in UTF-8.
+     *
+     * @param data The string
+     * @return The encoded length, or -1 if the string contains surrogates
+     */
+    private static int utf8Length(String data) {
+        int length = 0;
+        for (int i = 0; i < data.length(); i++) {
+            final char c = data.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                return -1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
     }
 
     public ChannelBuf cbuf$setString(int index, String data) {
@@ -428,13 +490,16 @@ public int getInteger(int index) {
     }
 
     public ChannelBuf cbuf$writeUTF(String data) {
-        byte[] bytes = data.getBytes(Charsets.UTF_8);
-        if (bytes.length > MixinPacketBuffer.MAX_STRING_LENGTH_BYTES) {
-            throw new EncoderException("String too big (was " + data.length() + " bytes encoded, max "
+        final int lengthIndex = this.writerIndex();
+        this.writeShort(0);
+        // Encode straight into the buffer and fill in the length afterwards
+        final int length = ByteBufUtil.writeUtf8(this.buf, data);
+        if (length > MixinPacketBuffer.MAX_STRING_LENGTH_BYTES) {
+            this.writerIndex(lengthIndex);
+            throw new EncoderException("String too big (was " + length + " bytes encoded, max "
                     + MixinPacketBuffer.MAX_STRING_LENGTH_BYTES + ")");
         }
-        this.writeShort(bytes.length);
-        this.writeBytes(bytes);
+        this.setShort(lengthIndex, length);
         return (ChannelBuf) this;
     }
 
@@ -449,20 +514,15 @@ public int getInteger(int index) {
 
     public String cbuf$readUTF() {
         final short length = this.readShort();
-        final byte[] bytes = new byte[length];
-        this.readBytes(bytes);
-        return new String(bytes, Charsets.UTF_8);
+        // Decode from the buffer directly instead of copying to an array first
+        final String data = this.toString(this.readerIndex(), length, Charsets.UTF_8);
+        this.skipBytes(length);
+        return data;
     }
 
     public String cbuf$getUTF(int index) {
-        final int oldIndex = this.readerIndex();
-        this.readerIndex(index);
-        final short length = this.readShort();
-        final byte[] bytes = new byte[length];
-        this.readBytes(bytes);
-        final String data = new String(bytes, Charsets.UTF_8);
-        this.readerIndex(oldIndex);
-        return data;
+        final short length = this.getShort(index);
+        return this.toString(index + 2, length, Charsets.UTF_8);
     }
 
     public ChannelBuf cbuf$writeUniqueId(UUID data) {
@@ -493,8 +553,16 @@ public UUID getUniqueId(int index) {
     }
 
     public ChannelBuf cbuf$writeDataView(DataView data) {
-        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(checkNotNull(data, "data"));
-        this.writeCompoundTag(compound);
+        checkNotNull(data, "data");
+        // Equivalent NBT to writeCompoundTag(NbtTranslator.translateData(data)), without the intermediate compound
+        final int startIndex = this.writerIndex();
+        try {
+            NbtStreamWriter.writeRootCompound(this, data);
+        } catch (RuntimeException e) {
+            // Don't leave a partially written compound behind, whether the data was rejected or failed to encode
+            this.writerIndex(startIndex);
+            throw e;
+        }
         return (ChannelBuf) this;
     }
 
@@ -502,8 +570,11 @@ public UUID getUniqueId(int index) {
         checkNotNull(data, "data");
         final int oldIndex = this.writerIndex();
         this.writerIndex(index);
-        this.cbuf$writeDataView(data);
-        this.writerIndex(oldIndex);
+        try {
+            this.cbuf$writeDataView(data);
+        } finally {
+            this.writerIndex(oldIndex);
+        }
         return (ChannelBuf) this;
     }
 
@@ -103,15 +103,20 @@
 import org.spongepowered.common.interfaces.IMixinCommandSender;
 import org.spongepowered.common.interfaces.IMixinCommandSource;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
+import org.spongepowered.common.interfaces.IMixinNetworkManager;
 import org.spongepowered.common.interfaces.IMixinSubject;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.network.PacketBatching;
 import org.spongepowered.common.profile.SpongeProfileManager;
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
 import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.common.util.SpongeUsernameCache;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ParallelWorldTicker;
 import org.spongepowered.common.world.WorldManager;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
+import org.spongepowered.common.world.storage.SpongeDataWriter;
 
 import java.net.InetSocketAddress;
 import java.net.URISyntaxException;
@@ -337,6 +342,14 @@ public void onServerStopping(CallbackInfo ci) {
         }
     }
 
+    @Inject(method = "stopServer()V", at = @At("RETURN"))
+    public void onServerStopped(CallbackInfo ci) {
+        // Worlds and players were saved by now, make sure their data actually reached the disk
+        SpongeDataWriter.flush();
+        SpongeDataWriter.reportStatistics();
+        SpongeUsernameCache.flush();
+    }
+
     /**
      * @author blood - December 23rd, 2015
      * @author Zidane - March 13th, 2016
@@ -595,10 +608,13 @@ public String toString() {
         return getClass().getSimpleName();
     }
 
+    private boolean tickWorldsInParallel;
+
     // All chunk unload queuing needs to be processed BEFORE the future tasks are run as mods/plugins may have tasks that request chunks.
     // This prevents a situation where a chunk is requested to load then unloads at end of tick.
     @Inject(method = "updateTimeLightAndEntities", at = @At("HEAD"))
     public void onUpdateTimeLightAndEntitiesHead(CallbackInfo ci) {
+        this.tickWorldsInParallel = ParallelWorldTicker.isEnabled();
         for (int i = 0; i < this.worlds.length; ++i)
         {
             WorldServer worldServer = this.worlds[i];
@@ -628,12 +644,49 @@ public EntityTracker onUpdateTimeLightAndEntitiesGetEntityTracker(WorldServer wo
         // been marked active and will not unload.
         // Note: This injection must come after Forge's post world tick event or it will cause issues with mods.
         IMixinWorldServer spongeWorld = (IMixinWorldServer) worldServer;
-        if (spongeWorld.getChunkGCTickInterval() > 0) {
+        // Worlds ticked in parallel unload their chunks on their own thread
+        if (spongeWorld.getChunkGCTickInterval() > 0 && !this.tickWorldsInParallel) {
             worldServer.getChunkProvider().tick();
         }
         return worldServer.getEntityTracker();
     }
 
+    // When ticking worlds in parallel, each world is only queued here and the whole world
+    // tick, including entities, chunk unloads and the entity tracker, runs on a world thread.
+
+    @Redirect(method = "updateTimeLightAndEntities", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/WorldServer;tick()V"))
+    private void onTickWorld(WorldServer worldServer) {
+        if (this.tickWorldsInParallel) {
+            ParallelWorldTicker.queue(worldServer);
+        } else {
+            worldServer.tick();
+        }
+    }
+
+    @Redirect(method = "updateTimeLightAndEntities", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/WorldServer;updateEntities()V"))
+    private void onUpdateWorldEntities(WorldServer worldServer) {
+        if (!this.tickWorldsInParallel) {
+            worldServer.updateEntities();
+        }
+    }
+
+    @Redirect(method = "updateTimeLightAndEntities", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/EntityTracker;tick()V"))
+    private void onTickEntityTracker(EntityTracker entityTracker) {
+        if (!this.tickWorldsInParallel) {
+            entityTracker.tick();
+        }
+    }
+
+    // Nothing may touch the worlds while they are ticked, so wait for all of them before the network and players are ticked
+    @Inject(method = "updateTimeLightAndEntities", at = @At(value = "INVOKE", target = "Lnet/minecraft/network/NetworkSystem;networkTick()V"))
+    private void onBeforeNetworkTick(CallbackInfo ci) {
+        if (this.tickWorldsInParallel) {
+            // World threads send their packets right away, so anything queued so far has to go out first
+            flushQueuedPackets();
+            ParallelWorldTicker.tickQueuedWorlds();
+        }
+    }
+
     @Inject(method = "tick", at = @At(value = "HEAD"))
     public void onServerTickStart(CallbackInfo ci) {
         TimingsManager.FULL_SERVER_TICK.startTiming();
@@ -680,6 +733,19 @@ public void onServerTickEnd(CallbackInfo ci) {
         TimingsManager.FULL_SERVER_TICK.stopTiming();
     }
 
+    @Inject(method = "tick", at = @At(value = "RETURN"))
+    private void onServerTickEndFlushPackets(CallbackInfo ci) {
+        flushQueuedPackets();
+    }
+
+    private void flushQueuedPackets() {
+        if (PacketBatching.isEnabled()) {
+            for (EntityPlayerMP player : getPlayerList().getPlayers()) {
+                ((IMixinNetworkManager) player.connection.netManager).flushQueuedPackets();
+            }
+        }
+    }
+
     private int dimensionId;
 
     @Redirect(method = "addServerStatsToSnooper", at = @At(value = "FIELD", target = "Lnet/minecraft/world/WorldServer;provider:Lnet/minecraft/world/WorldProvider;", opcode = Opcodes.GETFIELD))
@@ -757,6 +823,7 @@ public void saveAllWorlds(boolean dontLog) {
                 }
             }
         }
+        SpongeDataWriter.reportStatistics();
     }
 
     @Override
@@ -28,6 +28,7 @@
 import com.mojang.authlib.GameProfile;
 import io.netty.buffer.Unpooled;
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.NetHandlerPlayServer;
@@ -112,8 +113,10 @@
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayerMP;
 import org.spongepowered.common.interfaces.network.play.server.IMixinSPacketWorldBorder;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.network.PacketBroadcast;
 import org.spongepowered.common.service.ban.SpongeIPBanList;
 import org.spongepowered.common.service.ban.SpongeUserListBans;
+import org.spongepowered.common.service.permission.SpongeContextCalculator;
 import org.spongepowered.common.service.permission.SpongePermissionService;
 import org.spongepowered.common.service.whitelist.SpongeUserListWhitelist;
 import org.spongepowered.common.text.SpongeTexts;
@@ -124,6 +127,7 @@
 import java.io.File;
 import java.net.SocketAddress;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -760,6 +764,8 @@ private void onPlayerLogOut(EntityPlayerMP player, CallbackInfo ci) {
 
         // Remove player reference from scoreboard
         ((IMixinServerScoreboard) ((Player) player).getScoreboard()).removePlayer(player, false);
+
+        SpongeContextCalculator.invalidateActiveContexts((Player) player);
     }
 
     @Redirect(method = "playerLoggedOut(Lnet/minecraft/entity/player/EntityPlayerMP;)V", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/WorldServer;removeEntity(Lnet/minecraft/entity/Entity;)V"))
@@ -770,6 +776,12 @@ private void onPlayerRemoveFromWorldFromDisconnect(WorldServer world, Entity pla
         }
     }
 
+    // Whether commands are allowed for all decides the op level of players without an ops entry
+    @Inject(method = "setCommandsAllowedForAll", at = @At("RETURN"))
+    private void onSetCommandsAllowedForAll(boolean allowed, CallbackInfo ci) {
+        SpongePermissionService.invalidateOpLevels();
+    }
+
     @Inject(method = "saveAllPlayerData()V", at = @At("RETURN"))
     private void onSaveAllPlayerData(CallbackInfo ci) {
         for (SpongeUser user : SpongeUser.dirtyUsers) {
@@ -841,4 +853,59 @@ public void sendMessage(ITextComponent component, boolean isSystem) {
         ChatUtil.sendMessage(component, MessageChannel.TO_ALL, (CommandSource) this.mcServer, !isSystem);
     }
 
+    @Inject(method = "sendPacketToAllPlayers", at = @At("HEAD"), cancellable = true)
+    private void onSendPacketToAllPlayers(Packet<?> packetIn, CallbackInfo ci) {
+        if (PacketBroadcast.isEnabled()) {
+            PacketBroadcast.sendToAll(packetIn, this.playerEntityList);
+            ci.cancel();
+        }
+    }
+
+    @Inject(method = "sendPacketToAllPlayersInDimension", at = @At("HEAD"), cancellable = true)
+    private void onSendPacketToAllPlayersInDimension(Packet<?> packetIn, int dimension, CallbackInfo ci) {
+        if (PacketBroadcast.isEnabled()) {
+            final List<EntityPlayerMP> recipients = new ArrayList<>();
+            for (EntityPlayerMP player : this.playerEntityList) {
+                if (player.dimension == dimension) {
+                    recipients.add(player);
+                }
+            }
+            PacketBroadcast.sendToAll(packetIn, recipients);
+            ci.cancel();
+        }
+    }
+
+    @Inject(method = "sendToAllNearExcept", at = @At("HEAD"), cancellable = true)
+    private void onSendToAllNearExcept(@Nullable EntityPlayer except, double x, double y, double z, double radius, int dimension,
+            Packet<?> packetIn, CallbackInfo ci) {
+        final boolean useProximityIndex = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().usePlayerProximityIndex();
+        if (!useProximityIndex && !PacketBroadcast.isEnabled()) {
+            return;
+        }
+        final List<EntityPlayerMP> recipients = new ArrayList<>();
+        final WorldServer world = useProximityIndex ? WorldManager.getWorldByDimensionId(dimension).orElse(null) : null;
+        if (world != null) {
+            ((IMixinWorldServer) world).getPlayerGrid().collectNear(except, x, y, z, radius, recipients);
+        } else {
+            for (EntityPlayerMP player : this.playerEntityList) {
+                if (player != except && player.dimension == dimension) {
+                    final double dx = x - player.posX;
+                    final double dy = y - player.posY;
+                    final double dz = z - player.posZ;
+                    if (dx * dx + dy * dy + dz * dz < radius * radius) {
+                        recipients.add(player);
+                    }
+                }
+            }
+        }
+        if (PacketBroadcast.isEnabled()) {
+            PacketBroadcast.sendToAll(packetIn, recipients);
+        } else {
+            for (EntityPlayerMP player : recipients) {
+                player.connection.sendPacket(packetIn);
+            }
+        }
+        ci.cancel();
+    }
+
 }
@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.core.server.management;
 
 import net.minecraft.server.management.UserList;
+import net.minecraft.server.management.UserListOps;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
@@ -32,19 +33,31 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.interfaces.server.management.IMixinUserList;
+import org.spongepowered.common.service.permission.SpongePermissionService;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Mixin(UserList.class)
-public abstract class MixinUserList {
+public abstract class MixinUserList implements IMixinUserList {
 
     @Shadow private static Logger LOGGER;
     @Shadow public File saveFile;
     @Shadow public abstract String getObjectKey(Object obj);
+    @Shadow public abstract void writeChanges() throws IOException;
+
+    private final AtomicInteger changeCount = new AtomicInteger();
+    private volatile boolean unsaved;
 
     @Redirect(method = "removeExpired", at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false))
     public boolean onAdd(List<Object> list, Object object) {
+        // Only reached for entries that did expire, unlike the rest of removeExpired which runs on every lookup
+        this.markChanged();
+        this.markUnsaved();
+        this.onOpsChanged();
         return list.add(this.getObjectKey(object)); // Mojang didn't implement this correctly, so we'll fix it
     }
 
@@ -57,4 +70,53 @@ private void onReadSavedFile(CallbackInfo ci) {
         }
     }
 
+    @Inject(method = {"addEntry", "removeEntry", "readSavedFile"}, at = @At("RETURN"))
+    private void onChanged(CallbackInfo ci) {
+        this.markChanged();
+    }
+
+    @Inject(method = {"addEntry", "removeEntry"}, at = @At("RETURN"))
+    private void onEntriesChanged(CallbackInfo ci) {
+        this.onOpsChanged();
+    }
+
+    // Op levels are part of the resolved permissions of users
+    private void onOpsChanged() {
+        if ((Object) this instanceof UserListOps) {
+            SpongePermissionService.invalidateOpLevels();
+        }
+    }
+
+    @Inject(method = "writeChanges", at = @At("HEAD"))
+    private void onWriteChanges(CallbackInfo ci) {
+        this.unsaved = false;
+    }
+
+    @Override
+    public int getChangeCount() {
+        return this.changeCount.get();
+    }
+
+    @Override
+    public void markChanged() {
+        this.changeCount.incrementAndGet();
+    }
+
+    @Override
+    public void markUnsaved() {
+        this.unsaved = true;
+    }
+
+    @Override
+    public void saveIfUnsaved() {
+        if (!this.unsaved) {
+            return;
+        }
+        try {
+            this.writeChanges();
+        } catch (IOException e) {
+            LOGGER.warn("Could not save the list after removing expired entries.", e);
+        }
+    }
+
 }
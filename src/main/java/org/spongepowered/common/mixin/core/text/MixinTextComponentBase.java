@@ -42,9 +42,13 @@
 import org.spongepowered.api.text.format.TextStyle;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.interfaces.text.IMixinTextComponent;
 import org.spongepowered.common.interfaces.text.IMixinClickEvent;
 import org.spongepowered.common.interfaces.text.IMixinHoverEvent;
+import org.spongepowered.common.interfaces.text.IMixinText;
 import org.spongepowered.common.text.ResolvedChatStyle;
 import org.spongepowered.common.text.TextComponentIterable;
 import org.spongepowered.common.text.format.SpongeTextColor;
@@ -52,19 +56,40 @@
 import java.util.Iterator;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 @Mixin(TextComponentBase.class)
 public abstract class MixinTextComponentBase implements IMixinTextComponent {
 
     @Shadow private Style style;
     @Shadow protected List<ITextComponent> siblings;
 
+    @Nullable private IMixinText unmodifiedSource;
+
+    // The style and the siblings are mutable, so handing either out forgets the source
+    @Inject(method = {"getStyle", "setStyle", "appendSibling", "getSiblings"}, at = @At("HEAD"))
+    private void onModify(CallbackInfoReturnable<?> cir) {
+        this.unmodifiedSource = null;
+    }
+
+    @Nullable
+    @Override
+    public IMixinText getUnmodifiedSource() {
+        return this.unmodifiedSource;
+    }
+
+    @Override
+    public void setUnmodifiedSource(@Nullable IMixinText source) {
+        this.unmodifiedSource = source;
+    }
+
     protected Text.Builder createBuilder() {
         throw new UnsupportedOperationException();
     }
 
     @Override
     public Iterator<ITextComponent> childrenIterator() {
-        return getSiblings().iterator();
+        return this.siblings.iterator();
     }
 
     @Override
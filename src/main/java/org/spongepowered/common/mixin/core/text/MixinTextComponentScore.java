@@ -27,10 +27,18 @@
 import net.minecraft.util.text.TextComponentScore;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(TextComponentScore.class)
 public abstract class MixinTextComponentScore extends MixinTextComponentBase {
 
+    @Inject(method = "setValue", at = @At("HEAD"))
+    private void onSetValue(String value, CallbackInfo ci) {
+        setUnmodifiedSource(null);
+    }
+
     @Override
     protected Text.Builder createBuilder() {
         return Text.builder();
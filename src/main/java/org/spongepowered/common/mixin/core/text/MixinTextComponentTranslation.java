@@ -31,6 +31,9 @@
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.interfaces.text.IMixinTextComponent;
 import org.spongepowered.common.text.TextComponentIterable;
 import org.spongepowered.common.text.translation.SpongeTranslation;
@@ -47,6 +50,11 @@ public abstract class MixinTextComponentTranslation extends MixinTextComponentBa
 
     @Shadow abstract void ensureInitialized();
 
+    @Inject(method = "getFormatArgs", at = @At("HEAD"))
+    private void onGetFormatArgs(CallbackInfoReturnable<Object[]> cir) {
+        setUnmodifiedSource(null);
+    }
+
     @Override
     protected Text.Builder createBuilder() {
         return Text.builder(new SpongeTranslation(this.key), wrapFormatArgs(this.formatArgs));
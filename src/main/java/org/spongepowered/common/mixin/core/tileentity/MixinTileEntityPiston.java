@@ -63,7 +63,8 @@ private void fireEvent(CallbackInfo ci) {
         }
 
         NotifyNeighborBlockEvent event = SpongeCommonEventFactory.callNotifyNeighborEvent((World) this.world, this.pos, java.util.EnumSet.of(this.pistonFacing.getOpposite()));
-        if (event == null || !event.isCancelled() && !event.getNeighbors().isEmpty()) {
+        if (event == null ? SpongeCommonEventFactory.isNotifiableNeighbor(this.pos.offset(this.pistonFacing.getOpposite()))
+                : !event.isCancelled() && !event.getNeighbors().isEmpty()) {
             this.world.neighborChanged(this.pos, this.pistonState.getBlock(), this.pos);
         }
         // We cancel here to avoid Forge event call in SF
@@ -94,6 +94,7 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.BlockUtil;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.PhaseData;
@@ -111,6 +112,7 @@
 import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
 import org.spongepowered.common.world.gen.WorldGenConstants;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
+import org.spongepowered.common.world.storage.TrackedBlockStore;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -514,7 +516,7 @@ public void onGetEntitiesWithinAABBForEntity(Entity entityIn, AxisAlignedBB aabb
             return;
         }
 
-        if (listToFill.size() == 0) {
+        if (listToFill.size() == 0 || !ShouldFire.hasListeners(CollideEntityEvent.class)) {
             return;
         }
 
@@ -537,7 +539,7 @@ public void onGetEntitiesOfTypeWithinAAAB(Class<? extends Entity> entityClass, A
             return;
         }
 
-        if (listToFill.size() == 0) {
+        if (listToFill.size() == 0 || !ShouldFire.hasListeners(CollideEntityEvent.class)) {
             return;
         }
 
@@ -733,14 +735,10 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
 
     }
 
+    @Nullable
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
-        return Collections.emptyMap();
-    }
-
-    @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
-        return Collections.emptyMap();
+    public TrackedBlockStore getTrackedBlockStore() {
+        return null;
     }
 
     @Override
@@ -774,11 +772,7 @@ public void setBlockCreator(BlockPos pos, @Nullable UUID uuid) {
     }
 
     @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
-    }
-
-    @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
+    public void setTrackedBlockStore(TrackedBlockStore trackedBlockStore) {
     }
 
     // Continuing the rest of the implementation
@@ -64,6 +64,7 @@
 import org.spongepowered.common.event.tracking.PhaseData;
 import org.spongepowered.common.interfaces.world.IMixinExplosion;
 import org.spongepowered.common.interfaces.world.IMixinLocation;
+import org.spongepowered.common.world.ExplosionRayTracer;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -170,7 +171,13 @@ public void doExplosionA() {
         // Sponge Start - If the explosion should not break blocks, don't bother calculating it
         if (this.shouldBreakBlocks) {
             // Sponge End
-            Set<BlockPos> set = Sets.<BlockPos>newHashSet();
+            // Sponge Start - Trace the rays on worker threads if possible
+            Set<BlockPos> set = ExplosionRayTracer.canTrace(this.exploder)
+                                ? ExplosionRayTracer.trace((net.minecraft.world.Explosion) (Object) this, this.world, this.exploder, this.x, this.y, this.z, this.size)
+                                : null;
+            if (set == null) {
+            set = Sets.<BlockPos>newHashSet();
+            // Sponge End
             int i = 16;
 
             for (int j = 0; j < 16; ++j) {
@@ -214,6 +221,7 @@ public void doExplosionA() {
                     }
                 }
             }
+            } // Sponge - Finish if statement
 
             this.affectedBlockPositions.addAll(set);
         } // Sponge - Finish if statement
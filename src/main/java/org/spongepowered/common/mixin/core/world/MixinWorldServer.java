@@ -149,6 +149,7 @@
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.data.util.DataQueries;
+import org.spongepowered.common.effect.particle.ParticleBatch;
 import org.spongepowered.common.effect.particle.SpongeParticleEffect;
 import org.spongepowered.common.effect.particle.SpongeParticleHelper;
 import org.spongepowered.common.effect.record.SpongeRecordType;
@@ -185,6 +186,8 @@
 import org.spongepowered.common.registry.provider.DirectionFacingProvider;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BulkRelighter;
+import org.spongepowered.common.world.PlayerGrid;
 import org.spongepowered.common.world.WorldManager;
 import org.spongepowered.common.world.border.PlayerBorderListener;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
@@ -237,6 +240,10 @@ public abstract class MixinWorldServer extends MixinWorld implements IMixinWorld
     private boolean weatherIceAndSnowEnabled = true;
     private int dimensionId;
     private IMixinChunkProviderServer mixinChunkProviderServer;
+    @Nullable private BulkRelighter bulkRelighter;
+    @Nullable private DeferredBlockPhysics deferredBlockPhysics;
+    @Nullable private PlayerGrid playerGrid;
+    @Nullable private ParticleBatch particleBatch;
 
     @Shadow @Final private MinecraftServer mcServer;
     @Shadow @Final private Set<NextTickListEntry> pendingTickListEntriesHashSet;
@@ -405,6 +412,7 @@ public void setActiveConfig(SpongeConfig<?> config) {
         if (this.getChunkProvider() != null) {
             final int maxChunkUnloads = this.activeConfig.getConfig().getWorld().getMaxChunkUnloads();
             this.mixinChunkProviderServer.setMaxChunkUnloads(maxChunkUnloads < 1 ? 1 : maxChunkUnloads);
+            this.mixinChunkProviderServer.setChunkUnloadTimeBudget(this.activeConfig.getConfig().getWorld().getChunkUnloadTimeBudget());
             this.mixinChunkProviderServer.setDenyChunkRequests(this.activeConfig.getConfig().getWorld().getDenyChunkRequests());
             for (net.minecraft.entity.Entity entity : this.loadedEntityList) {
                 if (entity instanceof IModData_Activation) {
@@ -797,6 +805,10 @@ public void updateEntities() {
         TrackingUtil.tickWorldProvider(this);
         // Sponge end
         super.updateEntities();
+        // Sponge - the entity updates are the last part of the world tick
+        if (this.particleBatch != null) {
+            this.particleBatch.flush();
+        }
     }
 
     @Redirect(method = "updateBlockTick", at = @At(value = "INVOKE", target="Lnet/minecraft/block/Block;updateTick(Lnet/minecraft/world/World;Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/state/IBlockState;Ljava/util/Random;)V"))
@@ -948,6 +960,14 @@ public void onSaveLevel(CallbackInfo ci) {
         }
     }
 
+    @Inject(method = "saveAllChunks", at = @At("HEAD"))
+    private void onSaveAllChunksFlushPhysics(boolean saveAllChunks, IProgressUpdate progressCallback, CallbackInfo ci) {
+        // Deferred physics may still change blocks, so they go in before anything is written
+        if (this.deferredBlockPhysics != null) {
+            this.deferredBlockPhysics.flush();
+        }
+    }
+
     @Redirect(method = "saveAllChunks", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;canSave()Z"))
     public boolean canChunkProviderSave(ChunkProviderServer chunkProviderServer) {
         if (chunkProviderServer.canSave()) {
@@ -1343,14 +1363,17 @@ public void notifyNeighborsOfStateExcept(BlockPos pos, Block blockType, EnumFaci
         if (event == null || !event.isCancelled()) {
             final PhaseTracker phaseTracker = PhaseTracker.getInstance();
             for (EnumFacing facing : EnumFacing.values()) {
+                final BlockPos notifyPos = pos.offset(facing);
                 if (event != null) {
                     final Direction direction = DirectionFacingProvider.getInstance().getKey(facing).get();
                     if (!event.getNeighbors().keySet().contains(direction)) {
                         continue;
                     }
+                } else if (!SpongeCommonEventFactory.isNotifiableNeighbor(notifyPos)) {
+                    continue;
                 }
 
-                phaseTracker.notifyBlockOfStateChange(this, pos.offset(facing), blockType, pos);
+                phaseTracker.notifyBlockOfStateChange(this, notifyPos, blockType, pos);
             }
         }
     }
@@ -1370,14 +1393,17 @@ public void notifyNeighborsOfStateChange(BlockPos pos, Block blockType, boolean
         if (event == null || !event.isCancelled()) {
             final PhaseTracker phaseTracker = PhaseTracker.getInstance();
             for (EnumFacing facing : EnumFacing.values()) {
+                final BlockPos notifyPos = pos.offset(facing);
                 if (event != null) {
                     final Direction direction = DirectionFacingProvider.getInstance().getKey(facing).get();
                     if (!event.getNeighbors().keySet().contains(direction)) {
                         continue;
                     }
+                } else if (!SpongeCommonEventFactory.isNotifiableNeighbor(notifyPos)) {
+                    continue;
                 }
 
-                phaseTracker.notifyBlockOfStateChange(this, pos.offset(facing), blockType, pos);
+                phaseTracker.notifyBlockOfStateChange(this, notifyPos, blockType, pos);
             }
         }
 
@@ -1547,7 +1573,7 @@ public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockSt
         this.builder.blockState((BlockState) state)
                 .extendedState((BlockState) extended)
                 .worldId(this.getUniqueId())
-                .position(VecHelper.toVector3i(pos));
+                .position(pos);
         Optional<UUID> creator = getCreator(pos.getX(), pos.getY(), pos.getZ());
         Optional<UUID> notifier = getNotifier(pos.getX(), pos.getY(), pos.getZ());
         if (creator.isPresent()) {
@@ -1567,7 +1593,7 @@ public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockSt
                 // Some mods like OpenComputers assert if attempting to save robot while moving
                 try {
                     te.writeToNBT(nbt);
-                    this.builder.unsafeNbt(nbt);
+                    this.builder.sharedNbt(nbt);
                 }
                 catch(Throwable t) {
                     // ignore
@@ -2056,6 +2082,27 @@ private void onBeginUpdatePortal(CallbackInfo ci) {
     private void onEndUpdatePortal(CallbackInfo ci) {
         this.timings.doPortalForcer.stopTiming();
     }
+
+    @Inject(method = "tick", at = @At("RETURN"))
+    private void onTickDeferredBlockPhysics(CallbackInfo ci) {
+        if (this.deferredBlockPhysics != null) {
+            this.deferredBlockPhysics.tick();
+        }
+    }
+
+    @Inject(method = "onEntityAdded", at = @At("RETURN"))
+    private void onEntityAddedToPlayerGrid(net.minecraft.entity.Entity entity, CallbackInfo ci) {
+        if (entity instanceof EntityPlayerMP) {
+            this.getPlayerGrid().add((EntityPlayerMP) entity);
+        }
+    }
+
+    @Inject(method = "onEntityRemoved", at = @At("RETURN"))
+    private void onEntityRemovedFromPlayerGrid(net.minecraft.entity.Entity entity, CallbackInfo ci) {
+        if (entity instanceof EntityPlayerMP && this.playerGrid != null) {
+            this.playerGrid.remove((EntityPlayerMP) entity);
+        }
+    }
     // TIMINGS
     @Inject(method = "tickUpdates", at = @At(value = "INVOKE_STRING", target = PROFILER_SS, args = "ldc=cleaning"))
     private void onTickUpdatesCleanup(boolean flag, CallbackInfoReturnable<Boolean> cir) {
@@ -2171,6 +2218,18 @@ public void spawnParticles(ParticleEffect particleEffect, Vector3d position, int
             double y = position.getY();
             double z = position.getZ();
 
+            if (ParticleBatch.isEnabled()) {
+                final List<EntityPlayerMP> recipients = new ArrayList<>();
+                this.getPlayerGrid().collectNear(null, x, y, z, radius, recipients);
+                final ParticleBatch batch = this.getParticleBatch();
+                for (EntityPlayerMP recipient : recipients) {
+                    for (Packet<?> packet : packets) {
+                        batch.add(recipient, packet);
+                    }
+                }
+                return;
+            }
+
             for (Packet<?> packet : packets) {
                 playerList.sendToAllNearExcept(null, x, y, z, radius, this.getDimensionId(), packet);
             }
@@ -2297,6 +2356,38 @@ public long getChunkUnloadDelay() {
         return this.chunkUnloadDelay;
     }
 
+    @Override
+    public BulkRelighter getBulkRelighter() {
+        if (this.bulkRelighter == null) {
+            this.bulkRelighter = new BulkRelighter((WorldServer) (Object) this);
+        }
+        return this.bulkRelighter;
+    }
+
+    @Override
+    public DeferredBlockPhysics getDeferredBlockPhysics() {
+        if (this.deferredBlockPhysics == null) {
+            this.deferredBlockPhysics = new DeferredBlockPhysics((WorldServer) (Object) this);
+        }
+        return this.deferredBlockPhysics;
+    }
+
+    @Override
+    public PlayerGrid getPlayerGrid() {
+        if (this.playerGrid == null) {
+            this.playerGrid = new PlayerGrid();
+        }
+        return this.playerGrid;
+    }
+
+    @Override
+    public ParticleBatch getParticleBatch() {
+        if (this.particleBatch == null) {
+            this.particleBatch = new ParticleBatch((WorldServer) (Object) this);
+        }
+        return this.particleBatch;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
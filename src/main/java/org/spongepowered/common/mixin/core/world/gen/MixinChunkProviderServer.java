@@ -48,7 +48,6 @@
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
-import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.IPhaseState;
@@ -63,11 +62,12 @@
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.util.CachedLong2ObjectMap;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.ChunkUnloadQueue;
 import org.spongepowered.common.world.SpongeEmptyChunk;
+import org.spongepowered.common.world.WorldTickThread;
 import org.spongepowered.common.world.storage.SpongeChunkDataStream;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
-import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -79,6 +79,8 @@ public abstract class MixinChunkProviderServer implements WorldStorage, IMixinCh
     private boolean forceChunkRequests = false;
     private long chunkUnloadDelay = 15000;
     private int maxChunkUnloads = 100;
+    private int chunkUnloadTimeBudget = 0;
+    private final ChunkUnloadQueue unloadQueue = new ChunkUnloadQueue();
 
     @Shadow @Final public WorldServer world;
     @Shadow @Final private IChunkLoader chunkLoader;
@@ -101,6 +103,7 @@ private void onConstruct(WorldServer worldObjIn, IChunkLoader chunkLoaderIn, ICh
         this.denyChunkRequests = spongeConfig.getConfig().getWorld().getDenyChunkRequests();
         this.chunkUnloadDelay = spongeConfig.getConfig().getWorld().getChunkUnloadDelay() * 1000;
         this.maxChunkUnloads = spongeConfig.getConfig().getWorld().getMaxChunkUnloads();
+        this.chunkUnloadTimeBudget = spongeConfig.getConfig().getWorld().getChunkUnloadTimeBudget();
     }
 
     @Override
@@ -133,7 +136,8 @@ public WorldProperties getWorldProperties() {
 
     /**
      * @author blood - October 25th, 2016
-     * @reason Removes usage of droppedChunksSet in favor of unloaded flag.
+     * @reason Removes usage of droppedChunksSet in favor of unloaded flag
+     * and a queue ordered by the time each unload becomes due.
      *
      * @param chunkIn The chunk to queue
      */
@@ -142,12 +146,24 @@ public void queueUnload(Chunk chunkIn)
     {
         if (!((IMixinChunk) chunkIn).isPersistedChunk() && this.world.provider.canDropChunk(chunkIn.x, chunkIn.z))
         {
-            // Sponge - we avoid using the queue and simply check the unloaded flag during unloads
+            // Sponge start - queue by due time, accessing the chunk clears the unloaded flag which cancels the unload
             //this.droppedChunksSet.add(Long.valueOf(ChunkPos.asLong(chunkIn.x, chunkIn.z)));
-            chunkIn.unloadQueued = true;
+            if (!chunkIn.unloadQueued) {
+                chunkIn.unloadQueued = true;
+                this.unloadQueue.add(chunkIn, this.getUnloadDueTime((IMixinChunk) chunkIn, System.currentTimeMillis()));
+            }
+            // Sponge end
         }
     }
 
+    private long getUnloadDueTime(IMixinChunk chunk, long now) {
+        final long scheduled = chunk.getScheduledForUnload();
+        if (this.chunkUnloadDelay <= 0 || scheduled < 0) {
+            return now;
+        }
+        return scheduled + this.chunkUnloadDelay;
+    }
+
     // split from loadChunk to avoid 2 lookups with our inject
     private Chunk loadChunkForce(int x, int z) {
         Chunk chunk = this.loadChunkFromFile(x, z);
@@ -198,7 +214,7 @@ private void onError(CallbackInfoReturnable<Chunk> ci) {
     }
 
     private boolean canDenyChunkRequest() {
-        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+        if (!WorldTickThread.isServerOrWorldThread()) {
             return true;
         }
 
@@ -247,6 +263,11 @@ public void setMaxChunkUnloads(int maxUnloads) {
         this.maxChunkUnloads = maxUnloads;
     }
 
+    @Override
+    public void setChunkUnloadTimeBudget(int budget) {
+        this.chunkUnloadTimeBudget = budget;
+    }
+
     @Override
     public void setForceChunkRequests(boolean flag) {
         this.forceChunkRequests = flag;
@@ -264,9 +285,9 @@ public long getChunkUnloadDelay() {
 
     /**
      * @author blood - October 20th, 2016
-     * @reason Refactors entire method to not use the droppedChunksSet by
-     * simply looping through all loaded chunks and determining whether it
-     * can unload or not.
+     * @reason Refactors entire method to not use the droppedChunksSet. Only
+     * chunks from the unload queue whose unload is due are visited, and
+     * unloading stops once the tick's time budget is spent.
      *
      * @return true if unload queue was processed
      */
@@ -276,24 +297,38 @@ public boolean tick()
         if (!this.world.disableLevelSaving)
         {
             ((IMixinWorldServer) this.world).getTimingsHandler().doChunkUnload.startTiming();
-            Iterator<Chunk> iterator = this.id2ChunkMap.values().iterator();
+            final long now = System.currentTimeMillis();
+            final long budgetEnd = this.chunkUnloadTimeBudget > 0 ? System.nanoTime() + this.chunkUnloadTimeBudget * 1000000L : 0;
             int chunksUnloaded = 0;
-            long now = System.currentTimeMillis();
-            while (chunksUnloaded < this.maxChunkUnloads && iterator.hasNext()) {
-                Chunk chunk = iterator.next();
-                IMixinChunk spongeChunk = (IMixinChunk) chunk;
-                if (chunk != null && chunk.unloadQueued && !spongeChunk.isPersistedChunk()) {
-                    if (this.getChunkUnloadDelay() > 0) {
-                        if ((now - spongeChunk.getScheduledForUnload()) < this.chunkUnloadDelay) {
-                            continue;
-                        }
-                        spongeChunk.setScheduledForUnload(-1);
+            Chunk chunk;
+            while ((chunk = this.unloadQueue.pollDue(now)) != null) {
+                final long chunkKey = ChunkPos.asLong(chunk.x, chunk.z);
+                // Skip unloads cancelled by an access, or chunks already unloaded elsewhere
+                if (!chunk.unloadQueued || this.id2ChunkMap.get(chunkKey) != chunk) {
+                    continue;
+                }
+                final IMixinChunk spongeChunk = (IMixinChunk) chunk;
+                if (spongeChunk.isPersistedChunk()) {
+                    // Allow the chunk GC to queue it again once it is no longer persisted
+                    chunk.unloadQueued = false;
+                    continue;
+                }
+                if (this.getChunkUnloadDelay() > 0) {
+                    // The chunk may have been marked inactive again since it was queued
+                    final long dueTime = this.getUnloadDueTime(spongeChunk, now);
+                    if (dueTime > now) {
+                        this.unloadQueue.add(chunk, dueTime);
+                        continue;
                     }
-                    chunk.onUnload();
-                    this.saveChunkData(chunk);
-                    this.saveChunkExtraData(chunk);
-                    iterator.remove();
-                    chunksUnloaded++;
+                    spongeChunk.setScheduledForUnload(-1);
+                }
+                chunk.onUnload();
+                this.saveChunkData(chunk);
+                this.saveChunkExtraData(chunk);
+                this.id2ChunkMap.remove(chunkKey);
+                chunksUnloaded++;
+                if (budgetEnd != 0 ? System.nanoTime() - budgetEnd >= 0 : chunksUnloaded >= this.maxChunkUnloads) {
+                    break;
                 }
             }
             ((IMixinWorldServer) this.world).getTimingsHandler().doChunkUnload.stopTiming();
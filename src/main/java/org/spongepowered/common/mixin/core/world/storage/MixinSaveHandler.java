@@ -41,18 +41,21 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.IMixinSaveHandler;
+import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.storage.SpongeDataWriter;
 import org.spongepowered.common.world.storage.SpongePlayerDataHandler;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
@@ -75,6 +78,7 @@ public abstract class MixinSaveHandler implements IMixinSaveHandler {
                                                    + "Lnet/minecraft/nbt/NBTBase;)V";
     @Shadow @Final private File worldDirectory;
     @Shadow @Final private long initializationTime;
+    @Shadow @Final private File playersDirectory;
 
     @ModifyArg(method = "checkSessionLock", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/MinecraftException;<init>(Ljava/lang/String;)V"
             , ordinal = 0, remap = false))
@@ -102,6 +106,8 @@ public void onSaveWorldInfoWithPlayerEnd(WorldInfo worldInformation, NBTTagCompo
 
     @Override
     public void loadSpongeDatData(WorldInfo info) throws IOException {
+        // A save of this world may still be queued
+        SpongeDataWriter.flush();
         final File spongeFile = new File(this.worldDirectory, "level_sponge.dat");
         final File spongeOldFile = new File(this.worldDirectory, "level_sponge.dat_old");
 
@@ -118,30 +124,15 @@ public void loadSpongeDatData(WorldInfo info) throws IOException {
     }
 
     private void saveSpongeDatData(WorldInfo info) {
-        try {
-            final File spongeFile1 = new File(this.worldDirectory, "level_sponge.dat_new");
-            final File spongeFile2 = new File(this.worldDirectory, "level_sponge.dat_old");
-            final File spongeFile3 = new File(this.worldDirectory, "level_sponge.dat");
-            CompressedStreamTools.writeCompressed(((IMixinWorldInfo) info).getSpongeRootLevelNbt(), new FileOutputStream(spongeFile1));
-
-            if (spongeFile2.exists()) {
-                spongeFile2.delete();
-            }
-
-            spongeFile3.renameTo(spongeFile2);
-
-            if (spongeFile3.exists()) {
-                spongeFile3.delete();
-            }
-
-            spongeFile1.renameTo(spongeFile3);
-
-            if (spongeFile1.exists()) {
-                spongeFile1.delete();
-            }
-        } catch (Exception exception) {
-            exception.printStackTrace();
+        final NBTTagCompound compound = ((IMixinWorldInfo) info).getDirtySpongeRootLevelNbt();
+        if (compound == null) {
+            SpongeDataWriter.recordSkipped();
+            return;
         }
+        // Only remembered once the write went through, a failed write is retried on the next save
+        SpongeDataWriter.write(new File(this.worldDirectory, "level_sponge.dat").toPath(),
+                new File(this.worldDirectory, "level_sponge.dat_old").toPath(), compound,
+                () -> ((IMixinWorldInfo) info).setSavedSpongeRootLevelNbt(compound));
     }
 
     @Override
@@ -222,8 +213,39 @@ private NBTTagCompound spongeReadPlayerData(InputStream inputStream) throws IOEx
         return compound;
     }
 
-    @Inject(method = "writePlayerData", at = @At(value = "INVOKE", target = COMPRESSED_WRITE_FILE, shift = At.Shift.AFTER))
-    private void onSpongeWrite(EntityPlayer player, CallbackInfo callbackInfo) {
+    // player save stuff
+    /**
+     * Skips rewriting the player file if the player data is identical to what
+     * was last written for this player. The sponge player data is still saved,
+     * it tracks its own changes.
+     *
+     * @param player The player being saved
+     * @param callbackInfo The callback
+     * @param compound The freshly written player data
+     */
+    @Inject(method = "writePlayerData", at = @At(value = "NEW", target = "java/io/File", ordinal = 0, remap = false), cancellable = true,
+            locals = LocalCapture.CAPTURE_FAILHARD)
+    private void onBeforePlayerWrite(EntityPlayer player, CallbackInfo callbackInfo, NBTTagCompound compound) {
+        if (compound.equals(((IMixinEntityPlayer) player).getLastSavedPlayerData())) {
+            SpongeDataWriter.recordSkipped();
+            SpongePlayerDataHandler.savePlayer(player.getUniqueID());
+            SpongeImplHooks.onPlayerDataSkipped(player, this.playersDirectory);
+            callbackInfo.cancel();
+        }
+    }
+
+    @Redirect(method = "writePlayerData", at = @At(value = "INVOKE", target = COMPRESSED_WRITE_FILE))
+    private void onWritePlayerFile(NBTTagCompound compound, OutputStream stream) throws IOException {
+        final long start = System.nanoTime();
+        CompressedStreamTools.writeCompressed(compound, stream);
+        SpongeDataWriter.recordWritten(System.nanoTime() - start);
+    }
+
+    @Inject(method = "writePlayerData", at = @At(value = "INVOKE", target = COMPRESSED_WRITE_FILE, shift = At.Shift.AFTER),
+            locals = LocalCapture.CAPTURE_FAILHARD)
+    private void onSpongeWrite(EntityPlayer player, CallbackInfo callbackInfo, NBTTagCompound compound, File tempFile, File file) {
+        // Only remembered once the write went through, a failed write is retried on the next save
+        ((IMixinEntityPlayer) player).setLastSavedPlayerData(compound);
         SpongePlayerDataHandler.savePlayer(player.getUniqueID());
     }
 
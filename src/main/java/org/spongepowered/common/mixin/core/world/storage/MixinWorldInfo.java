@@ -97,6 +97,8 @@
 import java.util.Optional;
 import java.util.UUID;
 
+import javax.annotation.Nullable;
+
 @NonnullByDefault
 @Mixin(WorldInfo.class)
 @Implements(@Interface(iface = WorldProperties.class, prefix = "worldproperties$"))
@@ -148,6 +150,8 @@ public abstract class MixinWorldInfo implements WorldProperties, IMixinWorldInfo
     private boolean isMod = false;
     private boolean generateBonusChest, isValid = true;
     private NBTTagCompound spongeRootLevelNbt = new NBTTagCompound(), spongeNbt = new NBTTagCompound();
+    // Set by the data writer thread once the copy was written
+    @Nullable private volatile NBTTagCompound savedSpongeRootLevelNbt;
     private NBTTagList playerUniqueIdNbt = new NBTTagList();
     private BiMap<Integer, UUID> playerUniqueIdMap = HashBiMap.create();
     private List<UUID> pendingUniqueIds = new ArrayList<>();
@@ -788,6 +792,21 @@ public NBTTagCompound getSpongeRootLevelNbt() {
         return this.spongeRootLevelNbt;
     }
 
+    @Nullable
+    @Override
+    public NBTTagCompound getDirtySpongeRootLevelNbt() {
+        writeSpongeNbt();
+        if (this.spongeRootLevelNbt.equals(this.savedSpongeRootLevelNbt)) {
+            return null;
+        }
+        return this.spongeRootLevelNbt.copy();
+    }
+
+    @Override
+    public void setSavedSpongeRootLevelNbt(NBTTagCompound compound) {
+        this.savedSpongeRootLevelNbt = compound;
+    }
+
     @Override
     public NBTTagCompound getSpongeNbt() {
         writeSpongeNbt();
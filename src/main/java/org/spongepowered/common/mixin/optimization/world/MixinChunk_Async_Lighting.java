@@ -40,10 +40,10 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.world.WorldTickThread;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -268,7 +268,7 @@ private void checkLightHead(CallbackInfo ci) {
                 return;
             }
 
-            if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            if (WorldTickThread.isServerOrWorldThread()) {
                 try {
                     this.lightExecutorService.execute(() -> {
                         this.checkLightAsync(neighborChunks);
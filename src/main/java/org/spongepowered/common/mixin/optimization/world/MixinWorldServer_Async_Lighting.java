@@ -40,6 +40,7 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.core.world.MixinWorld;
+import org.spongepowered.common.world.WorldTickThread;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -249,7 +250,7 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos, @Nullable
         }
 
         //System.out.println("size = " + ((ThreadPoolExecutor) this.lightExecutorService).getQueue().size());
-        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+        if (WorldTickThread.isServerOrWorldThread()) {
             this.lightExecutorService.execute(() -> {
                 this.checkLightAsync(lightType, pos, chunk, neighbors);
             });
@@ -26,13 +26,13 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.flowpowered.math.vector.Vector3i;
-import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -46,9 +46,17 @@
 import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
-import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_ChunkActivation;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_TileEntityActivation;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_WorldActivation;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 public class TileEntityActivation {
 
@@ -120,67 +128,218 @@ public static boolean initializeTileEntityActivationState(TileEntity tileEntity)
     }
 
     /**
-    * Find what tileentities are in range of the players in the world and set
-    * active if in range.
-    *
-    * @param world The world to perform activation checks in
-    */
-    public static void activateTileEntities(WorldServer world) {
+     * How many ticks a tile entity has to stay out of range of every player
+     * before it is taken out of the world's ticking list. This keeps tile
+     * entities on the edge of a player's range from being moved back and
+     * forth every tick.
+     */
+    private static final int PARK_DELAY_TICKS = 20;
+
+    /**
+     * Find what tileentities are in range of the players in the world and set
+     * active if in range.
+     *
+     * <p>Only chunks watched by at least one player are visited, and each of
+     * them only once, with all of its watchers. Tile entities which have been
+     * out of range for a while are parked: they are removed from the world's
+     * ticking list and only put back once a player comes in range again, at
+     * the position they were originally added in. Chunks which have lost all
+     * of their watchers since the last pass, or which had range limited tile
+     * entities added without being watched, have their remaining tile
+     * entities parked as well.</p>
+     *
+     * @param world The world to perform activation checks in
+     * @param activeChunks The chunks which have unparked range limited tile
+     *     entities, maintained by this method between passes
+     */
+    public static void activateTileEntities(WorldServer world, Set<Chunk> activeChunks) {
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        final Set<TileEntity> toPark = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<TileEntity> toUnpark = new ArrayList<>();
         final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
         for (PlayerChunkMapEntry playerChunkMapEntry : playerChunkMap.entries) {
-            for (EntityPlayer player : playerChunkMapEntry.players) {
-                final Chunk chunk = playerChunkMapEntry.chunk;
-                if (chunk == null || chunk.unloadQueued) {
-                    continue;
-                }
+            final Chunk chunk = playerChunkMapEntry.chunk;
+            if (chunk == null || chunk.unloadQueued || !chunk.isLoaded() || playerChunkMapEntry.players.isEmpty()) {
+                continue;
+            }
+
+            final IModData_ChunkActivation activationChunk = (IModData_ChunkActivation) chunk;
+            activationChunk.setLastActivationPass(currentTick);
+            if (activationChunk.getRangedTileEntities().isEmpty()) {
+                continue;
+            }
 
-                activateChunkTileEntities(player, chunk);
+            if (activateChunkTileEntities(playerChunkMapEntry.players, chunk, currentTick, toPark, toUnpark)) {
+                activeChunks.add(chunk);
+            }
+        }
+
+        for (Iterator<Chunk> iterator = activeChunks.iterator(); iterator.hasNext(); ) {
+            final Chunk chunk = iterator.next();
+            if (!chunk.isLoaded()) {
+                // The tile entities went away with the chunk
+                iterator.remove();
+                continue;
+            }
+            if (((IModData_ChunkActivation) chunk).getLastActivationPass() == currentTick) {
+                continue;
+            }
+            if (parkChunkTileEntities(chunk, currentTick, toPark)) {
+                iterator.remove();
             }
         }
-    }
 
+        if (!toPark.isEmpty()) {
+            world.tickableTileEntities.removeAll(toPark);
+        }
+        if (!toUnpark.isEmpty()) {
+            insertInTickOrder(world.tickableTileEntities, toUnpark);
+        }
+    }
 
     /**
-     * Checks for the activation state of all tileentities in this chunk.
+     * Checks for the activation state of all range limited tileentities in
+     * this chunk.
      *
      * @param chunk Chunk to check for activation
+     * @return Whether any tile entity in the chunk is left in the ticking list
      */
-    private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk) {
-        final Vector3i playerPos = VecHelper.toVector3i(player.getPosition());
-        final long currentTick = SpongeImpl.getServer().getTickCounter();
-        for (Map.Entry<BlockPos, TileEntity> mapEntry : chunk.getTileEntityMap().entrySet()) {
-            final TileEntity tileEntity = mapEntry.getValue();
-            if (!(tileEntity instanceof ITickable) || ((IModData_Activation) tileEntity).getActivatedTick() == currentTick) {
-                // already activated
+    private static boolean activateChunkTileEntities(List<EntityPlayerMP> players, Chunk chunk, long currentTick,
+            Set<TileEntity> toPark, List<TileEntity> toUnpark) {
+        final boolean persisted = ((IMixinChunk) chunk).isPersistedChunk();
+        boolean hasActive = false;
+        for (Iterator<TileEntity> iterator = ((IModData_ChunkActivation) chunk).getRangedTileEntities().iterator(); iterator.hasNext(); ) {
+            final TileEntity tileEntity = iterator.next();
+            if (tileEntity.isInvalid()) {
+                iterator.remove();
                 continue;
             }
 
-            final Vector3i tilePos = VecHelper.toVector3i(tileEntity.getPos());
-            if (currentTick > ((IModData_Activation) tileEntity).getActivatedTick()) {
-                if (((IModData_Activation) tileEntity).getDefaultActivationState()) {
-                    ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
-                    continue;
-                }
+            final IModData_Activation spongeTileEntity = (IModData_Activation) tileEntity;
+            // check if activation cache needs to be updated
+            if (spongeTileEntity.requiresActivationCacheRefresh()) {
+                spongeTileEntity.setDefaultActivationState(TileEntityActivation.initializeTileEntityActivationState(tileEntity));
+                spongeTileEntity.requiresActivationCacheRefresh(false);
+            }
 
-                IModData_Activation spongeEntity = (IModData_Activation) tileEntity;
-                // check if activation cache needs to be updated
-                if (spongeEntity.requiresActivationCacheRefresh()) {
-                    TileEntityActivation.initializeTileEntityActivationState(tileEntity);
-                    spongeEntity.requiresActivationCacheRefresh(false);
+            if (persisted || spongeTileEntity.getDefaultActivationState() || isInRange(tileEntity, players)) {
+                spongeTileEntity.setActivatedTick(currentTick);
+                unpark(tileEntity, toUnpark);
+                hasActive = true;
+            } else if (!((IModData_TileEntityActivation) tileEntity).isActivationParked()) {
+                if (currentTick - spongeTileEntity.getActivatedTick() > PARK_DELAY_TICKS) {
+                    ((IModData_TileEntityActivation) tileEntity).setActivationParked(true);
+                    toPark.add(tileEntity);
+                } else {
+                    hasActive = true;
                 }
+            }
+        }
+        return hasActive;
+    }
 
-                int bbActivationRange = ((IModData_Activation) tileEntity).getActivationRange();
-                int blockDistance = Math.round(tilePos.distance(playerPos));
-                if (blockDistance <= bbActivationRange) {
-                    ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
-                }
+    /**
+     * Parks the tile entities of a chunk that no player is watching anymore.
+     *
+     * @param chunk The chunk
+     * @return Whether every tile entity in the chunk is now parked
+     */
+    private static boolean parkChunkTileEntities(Chunk chunk, long currentTick, Set<TileEntity> toPark) {
+        if (((IMixinChunk) chunk).isPersistedChunk()) {
+            return false;
+        }
+        boolean hasActive = false;
+        for (Iterator<TileEntity> iterator = ((IModData_ChunkActivation) chunk).getRangedTileEntities().iterator(); iterator.hasNext(); ) {
+            final TileEntity tileEntity = iterator.next();
+            if (tileEntity.isInvalid()) {
+                iterator.remove();
+                continue;
+            }
+            final IModData_TileEntityActivation activationTile = (IModData_TileEntityActivation) tileEntity;
+            if (activationTile.isActivationParked() || ((IModData_Activation) tileEntity).getDefaultActivationState()) {
+                continue;
+            }
+            if (currentTick - ((IModData_Activation) tileEntity).getActivatedTick() > PARK_DELAY_TICKS) {
+                activationTile.setActivationParked(true);
+                toPark.add(tileEntity);
+            } else {
+                hasActive = true;
+            }
+        }
+        return !hasActive;
+    }
+
+    private static void unpark(TileEntity tileEntity, List<TileEntity> toUnpark) {
+        final IModData_TileEntityActivation activationTile = (IModData_TileEntityActivation) tileEntity;
+        if (activationTile.isActivationParked()) {
+            activationTile.setActivationParked(false);
+            toUnpark.add(tileEntity);
+        }
+    }
+
+    /**
+     * Puts unparked tile entities back into the ticking list. The list is
+     * kept in the order tile entities were added to the world, so parking a
+     * tile entity never changes the order it ticks in relative to others.
+     *
+     * @param tickable The world's ticking list
+     * @param unparked The tile entities to put back
+     */
+    private static void insertInTickOrder(List<TileEntity> tickable, List<TileEntity> unparked) {
+        unparked.sort(Comparator.comparingLong(tileEntity -> ((IModData_TileEntityActivation) tileEntity).getTickOrder()));
+        final List<TileEntity> merged = new ArrayList<>(tickable.size() + unparked.size());
+        int next = 0;
+        for (TileEntity tileEntity : tickable) {
+            final long tickOrder = ((IModData_TileEntityActivation) tileEntity).getTickOrder();
+            while (next < unparked.size() && ((IModData_TileEntityActivation) unparked.get(next)).getTickOrder() < tickOrder) {
+                merged.add(unparked.get(next++));
+            }
+            merged.add(tileEntity);
+        }
+        merged.addAll(unparked.subList(next, unparked.size()));
+        tickable.clear();
+        tickable.addAll(merged);
+    }
+
+    private static boolean isInRange(TileEntity tileEntity, List<EntityPlayerMP> players) {
+        final BlockPos pos = tileEntity.getPos();
+        final long range = ((IModData_Activation) tileEntity).getActivationRange();
+        final long rangeSq = range * range;
+        for (int i = 0; i < players.size(); i++) {
+            final EntityPlayerMP player = players.get(i);
+            final long dx = MathHelper.floor(player.posX) - pos.getX();
+            final long dy = MathHelper.floor(player.posY) - pos.getY();
+            final long dz = MathHelper.floor(player.posZ) - pos.getZ();
+            if (dx * dx + dy * dy + dz * dz <= rangeSq) {
+                return true;
             }
         }
+        return false;
+    }
+
+    /**
+     * Reads the activation settings of a tile entity which ticks by default
+     * again after the config was reloaded, and hands it over to the
+     * activation pass if it became range limited.
+     */
+    private static void refreshActivationState(TileEntity tileEntity, Chunk chunk) {
+        final IModData_Activation spongeTileEntity = (IModData_Activation) tileEntity;
+        spongeTileEntity.setDefaultActivationState(initializeTileEntityActivationState(tileEntity));
+        spongeTileEntity.requiresActivationCacheRefresh(false);
+        if (!spongeTileEntity.getDefaultActivationState() && ((IModData_ChunkActivation) chunk).getRangedTileEntities().add(tileEntity)
+                && tileEntity.getWorld() instanceof IModData_WorldActivation) {
+            ((IModData_WorldActivation) tileEntity.getWorld()).addActiveTileEntityChunk(chunk);
+        }
     }
 
     /**
      * Checks if the tileentity is active for this tick.
      *
+     * <p>Tile entities with a tick rate above one are given the tick on which
+     * they may next run each time they do run, rather than comparing the
+     * world time against their tick rate, which also spreads tile entities
+     * sharing a tick rate out over different ticks.</p>
+     *
      * @param tileEntity The tileentity to check for activity
      * @return Whether the given tileentity should be active
      */
@@ -189,7 +348,6 @@ public static boolean checkIfActive(TileEntity tileEntity) {
             return true;
         }
 
-        final World world = tileEntity.getWorld();
         final IMixinChunk activeChunk = ((IMixinTileEntity) tileEntity).getActiveChunk();
         if (activeChunk == null) {
             // Should never happen but just in case for mods, always tick
@@ -198,22 +356,28 @@ public static boolean checkIfActive(TileEntity tileEntity) {
 
         long currentTick = SpongeImpl.getServer().getTickCounter();
         IModData_Activation spongeTileEntity = (IModData_Activation) tileEntity;
+        if (spongeTileEntity.requiresActivationCacheRefresh()) {
+            // Range limited tile entities are refreshed by the activation pass, this picks up the ones that tick by default
+            refreshActivationState(tileEntity, (Chunk) activeChunk);
+        }
         boolean isActive = activeChunk.isPersistedChunk() || spongeTileEntity.getActivatedTick() >= currentTick || spongeTileEntity.getDefaultActivationState();
 
         // Should this entity tick?
         if (!isActive) {
-            if (spongeTileEntity.getActivatedTick() == Integer.MIN_VALUE) {
-                // Has not come across a player
-                return false;
-            }
+            return false;
         }
 
         // check tick rate
-        if (isActive && world.getWorldInfo().getWorldTotalTime() % spongeTileEntity.getSpongeTickRate() != 0L) {
-            isActive = false;
+        final int tickRate = spongeTileEntity.getSpongeTickRate();
+        if (tickRate > 1) {
+            final IModData_TileEntityActivation activationTile = (IModData_TileEntityActivation) tileEntity;
+            if (currentTick < activationTile.getNextActivationTick()) {
+                return false;
+            }
+            activationTile.setNextActivationTick(currentTick + tickRate);
         }
 
-        return isActive;
+        return true;
     }
 
     public static void addTileEntityToConfig(World world, SpongeTileEntityType type) {
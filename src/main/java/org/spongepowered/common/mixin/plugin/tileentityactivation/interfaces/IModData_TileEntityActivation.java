@@ -0,0 +1,60 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces;
+
+public interface IModData_TileEntityActivation {
+
+    /**
+     * Gets whether this tile entity was taken out of the world's ticking
+     * list because no player has been in range of it.
+     *
+     * @return True if parked
+     */
+    boolean isActivationParked();
+
+    void setActivationParked(boolean parked);
+
+    /**
+     * Gets the server tick on or after which this tile entity is next
+     * allowed to tick, according to its configured tick rate.
+     *
+     * @return The next tick
+     */
+    long getNextActivationTick();
+
+    void setNextActivationTick(long tick);
+
+    /**
+     * Gets the position of this tile entity in the order tile entities were
+     * added to the world's ticking list. Parked tile entities are put back
+     * at this position.
+     *
+     * @return The tick order
+     */
+    long getTickOrder();
+
+    void setTickOrder(long order);
+
+}
@@ -39,11 +39,22 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivation;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_ChunkActivation;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_WorldActivation;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
 
 @Mixin(Chunk.class)
-public class MixinChunk_TileEntityActivation {
+public class MixinChunk_TileEntityActivation implements IModData_ChunkActivation {
 
     @Shadow @Final private World world;
+    @Shadow @Final private Map<BlockPos, net.minecraft.tileentity.TileEntity> tileEntities;
+
+    private final Set<net.minecraft.tileentity.TileEntity> rangedTileEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long lastActivationPass = Long.MIN_VALUE;
 
     @Inject(method = "addTileEntity(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/tileentity/TileEntity;)V", at = @At("RETURN"))
     public void onAddTileEntity(BlockPos pos, net.minecraft.tileentity.TileEntity tileEntityIn, CallbackInfo ci) {
@@ -59,7 +70,41 @@ public void onAddTileEntity(BlockPos pos, net.minecraft.tileentity.TileEntity ti
             spongeTile.setDefaultActivationState(TileEntityActivation.initializeTileEntityActivationState(tileEntityIn));
             if (!spongeTile.getDefaultActivationState()) {
                 TileEntityActivation.addTileEntityToConfig(this.world, (SpongeTileEntityType) ((TileEntity) tileEntityIn).getType());
+                this.rangedTileEntities.add(tileEntityIn);
+                if (this.world instanceof IModData_WorldActivation) {
+                    // Decided on the next pass, even if no player is watching this chunk
+                    ((IModData_WorldActivation) this.world).addActiveTileEntityChunk((Chunk) (Object) this);
+                }
             }
+        } else {
+            // Never seen by an activation pass, so it must not be held back either
+            ((IModData_Activation) tileEntityIn).setDefaultActivationState(true);
+        }
+    }
+
+    @Inject(method = "removeTileEntity", at = @At("HEAD"))
+    public void onRemoveTileEntity(BlockPos pos, CallbackInfo ci) {
+        if (this.rangedTileEntities.isEmpty()) {
+            return;
+        }
+        final net.minecraft.tileentity.TileEntity tileEntity = this.tileEntities.get(pos);
+        if (tileEntity != null) {
+            this.rangedTileEntities.remove(tileEntity);
         }
     }
+
+    @Override
+    public Set<net.minecraft.tileentity.TileEntity> getRangedTileEntities() {
+        return this.rangedTileEntities;
+    }
+
+    @Override
+    public long getLastActivationPass() {
+        return this.lastActivationPass;
+    }
+
+    @Override
+    public void setLastActivationPass(long tick) {
+        this.lastActivationPass = tick;
+    }
 }
@@ -27,9 +27,10 @@
 import net.minecraft.tileentity.TileEntity;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_TileEntityActivation;
 
 @Mixin(value = TileEntity.class, priority = 1002)
-public class MixinTileEntity_Activation implements IModData_Activation {
+public class MixinTileEntity_Activation implements IModData_Activation, IModData_TileEntityActivation {
 
     private boolean refreshCache = false;
     public boolean defaultActivationState = false;
@@ -37,6 +38,9 @@ public class MixinTileEntity_Activation implements IModData_Activation {
     private int activationRange;
     private int ticksExisted;
     private int tickRate = 1;
+    private boolean activationParked;
+    private long nextActivationTick;
+    private long tickOrder;
 
     @Override
     public final void incrementSpongeTicksExisted() {
@@ -106,4 +110,34 @@ public void requiresActivationCacheRefresh(boolean flag) {
     public boolean requiresActivationCacheRefresh() {
         return this.refreshCache;
     }
+
+    @Override
+    public boolean isActivationParked() {
+        return this.activationParked;
+    }
+
+    @Override
+    public void setActivationParked(boolean parked) {
+        this.activationParked = parked;
+    }
+
+    @Override
+    public long getNextActivationTick() {
+        return this.nextActivationTick;
+    }
+
+    @Override
+    public void setNextActivationTick(long tick) {
+        this.nextActivationTick = tick;
+    }
+
+    @Override
+    public long getTickOrder() {
+        return this.tickOrder;
+    }
+
+    @Override
+    public void setTickOrder(long order) {
+        this.tickOrder = order;
+    }
 }
@@ -26,23 +26,37 @@
 
 import net.minecraft.util.ITickable;
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.mixin.core.world.MixinWorld;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivation;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_WorldActivation;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 @Mixin(value = WorldServer.class, priority = 1300)
-public abstract class MixinWorldServer_TileEntityActivation extends MixinWorld {
+public abstract class MixinWorldServer_TileEntityActivation extends MixinWorld implements IModData_WorldActivation {
+
+    private final Set<Chunk> activeTileEntityChunks = Collections.newSetFromMap(new IdentityHashMap<>());
 
     @Override
     public void spongeTileEntityActivation() {
-        TileEntityActivation.activateTileEntities((WorldServer) (Object) this);
+        TileEntityActivation.activateTileEntities((WorldServer) (Object) this, this.activeTileEntityChunks);
+    }
+
+    @Override
+    public void addActiveTileEntityChunk(Chunk chunk) {
+        this.activeTileEntityChunks.add(chunk);
     }
 
-    // TODO 1.12-pre2 I have no fucking clue what this injection is trying to target
-    // updateTileEntity doesn't exist, and it didn't exist in 1.11 either
-    //@Inject(method = "updateTileEntity", at = @At("HEAD"), cancellable = true, remap = false)
+    // updateTileEntity is merged into WorldServer by MixinWorldServer, which is applied before this mixin
+    @Inject(method = "updateTileEntity", at = @At("HEAD"), cancellable = true, remap = false)
     public void onUpdateTileEntityHead(ITickable tile, CallbackInfo ci) {
         final net.minecraft.tileentity.TileEntity tileEntity = (net.minecraft.tileentity.TileEntity) tile;
         final boolean canUpdate = TileEntityActivation.checkIfActive(tileEntity);
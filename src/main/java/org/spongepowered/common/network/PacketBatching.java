@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.SPacketDisconnect;
+import net.minecraft.network.play.server.SPacketKeepAlive;
+import net.minecraft.network.play.server.SPacketPlayerPosLook;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.PacketBatchingCategory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Settings and statistics of the per connection outbound packet queue, see
+ * {@link org.spongepowered.common.interfaces.IMixinNetworkManager#queuePacket(Packet)}.
+ * The statistics are printed by {@code /sponge tps} while batching is enabled.
+ */
+public final class PacketBatching {
+
+    private static final LongAdder flushes = new LongAdder();
+    private static final LongAdder packets = new LongAdder();
+    private static final LongAdder bytes = new LongAdder();
+
+    /**
+     * Gets whether packets sent from the main thread should be queued until
+     * the end of the tick.
+     *
+     * @return True if packet batching is enabled
+     */
+    public static boolean isEnabled() {
+        return getCategory().isEnabled();
+    }
+
+    public static int getMaxQueuedPackets() {
+        return getCategory().getMaxQueuedPackets();
+    }
+
+    /**
+     * Gets whether the packet is latency critical and should be written to
+     * the connection immediately, flushing any packets queued before it.
+     *
+     * @param packet The packet
+     * @return True if the packet should bypass the queue
+     */
+    public static boolean bypassesQueue(Packet<?> packet) {
+        return packet instanceof SPacketKeepAlive || packet instanceof SPacketPlayerPosLook || packet instanceof SPacketDisconnect;
+    }
+
+    public static void recordFlush(int packetCount, long byteCount) {
+        flushes.increment();
+        packets.add(packetCount);
+        bytes.add(byteCount);
+    }
+
+    public static long getFlushCount() {
+        return flushes.sum();
+    }
+
+    public static double getAveragePacketsPerFlush() {
+        final long flushCount = flushes.sum();
+        return flushCount == 0 ? 0 : (double) packets.sum() / flushCount;
+    }
+
+    public static double getAverageBytesPerFlush() {
+        final long flushCount = flushes.sum();
+        return flushCount == 0 ? 0 : (double) bytes.sum() / flushCount;
+    }
+
+    private static PacketBatchingCategory getCategory() {
+        return SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getPacketBatchingCategory();
+    }
+
+    private PacketBatching() {
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.EnumConnectionState;
+import net.minecraft.network.EnumPacketDirection;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.SPacketChat;
+import net.minecraft.network.play.server.SPacketPlayerListItem;
+import net.minecraft.network.play.server.SPacketResourcePackSend;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.IMixinNetworkManager;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.zip.Deflater;
+
+import javax.annotation.Nullable;
+
+/**
+ * Sends a packet to many players while encoding it only once. The encoded
+ * packet is written to every channel as a reference counted duplicate, and
+ * compressed once for every distinct compression threshold.
+ *
+ * <p>When packet batching applies to the packet, the duplicates are queued
+ * with the other packets of each connection and flushed with them at the
+ * end of the tick. Otherwise every connection is flushed right away, just
+ * like vanilla does for every packet it sends.</p>
+ */
+public final class PacketBroadcast {
+
+    // Names of the handlers in the vanilla channel pipeline
+    private static final String COMPRESSION_HANDLER = "compress";
+
+    private static final Deflater deflater = new Deflater();
+    private static final byte[] deflateBuffer = new byte[8192];
+
+    public static boolean isEnabled() {
+        return SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useSharedBroadcastPackets();
+    }
+
+    /**
+     * Sends the packet to all the given players.
+     *
+     * @param packet The packet to send
+     * @param players The recipients
+     */
+    public static void sendToAll(Packet<?> packet, Collection<EntityPlayerMP> players) {
+        if (players.size() < 2 || !isShareable(packet)) {
+            sendToEach(packet, players);
+            return;
+        }
+        final ByteBuf encoded = encode(packet);
+        if (encoded == null) {
+            sendToEach(packet, players);
+            return;
+        }
+        final boolean queue = PacketBatching.isEnabled() && !PacketBatching.bypassesQueue(packet)
+                && SpongeImpl.getServer().isCallingFromMinecraftThread();
+        final Int2ObjectMap<ByteBuf> compressed = new Int2ObjectArrayMap<>();
+        try {
+            for (EntityPlayerMP player : players) {
+                final NetHandlerPlayServer connection = player.connection;
+                if (connection == null) {
+                    continue;
+                }
+                final NetworkManager networkManager = connection.netManager;
+                if (networkManager == null || !networkManager.isChannelOpen()) {
+                    connection.sendPacket(packet);
+                    continue;
+                }
+                final IMixinNetworkManager mixinNetworkManager = (IMixinNetworkManager) networkManager;
+                final int threshold = mixinNetworkManager.getCompressionThreshold();
+                final ChannelHandlerContext compressor = threshold < 0 ? null : networkManager.channel().pipeline().context(COMPRESSION_HANDLER);
+                ByteBuf buf = encoded;
+                if (compressor != null) {
+                    buf = compressed.get(threshold);
+                    if (buf == null) {
+                        buf = compress(encoded, threshold);
+                        compressed.put(threshold, buf);
+                    }
+                }
+                if (queue) {
+                    mixinNetworkManager.queueEncodedPacket(buf.retainedDuplicate());
+                    continue;
+                }
+                // Keep the order with packets that are still queued for this connection
+                mixinNetworkManager.flushQueuedPackets();
+                if (compressor == null) {
+                    networkManager.channel().writeAndFlush(buf.retainedDuplicate()).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+                } else {
+                    // Skips the compression handler of this connection, the buffer is already compressed
+                    compressor.writeAndFlush(buf.retainedDuplicate()).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+                }
+            }
+        } finally {
+            encoded.release();
+            for (ByteBuf buf : compressed.values()) {
+                buf.release();
+            }
+        }
+    }
+
+    private static void sendToEach(Packet<?> packet, Collection<EntityPlayerMP> players) {
+        for (EntityPlayerMP player : players) {
+            player.connection.sendPacket(packet);
+        }
+    }
+
+    /**
+     * Gets whether the packet can be encoded once for all recipients. Packets
+     * that are rewritten for every player before they are sent can't be shared,
+     * and neither can chat, which is filtered by the chat visibility of every
+     * player in {@link NetHandlerPlayServer#sendPacket(Packet)}.
+     *
+     * @param packet The packet
+     * @return True if the packet can be shared
+     */
+    private static boolean isShareable(Packet<?> packet) {
+        return !(packet instanceof SPacketPlayerListItem) && !(packet instanceof SPacketResourcePackSend)
+                && !(packet instanceof SPacketChat);
+    }
+
+    @Nullable
+    private static ByteBuf encode(Packet<?> packet) {
+        final Integer packetId = EnumConnectionState.PLAY.getPacketId(EnumPacketDirection.CLIENTBOUND, packet);
+        if (packetId == null) {
+            return null;
+        }
+        final ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer();
+        final PacketBuffer packetBuffer = new PacketBuffer(buf);
+        try {
+            packetBuffer.writeVarInt(packetId);
+            packet.writePacketData(packetBuffer);
+        } catch (IOException | RuntimeException e) {
+            SpongeImpl.getLogger().debug("Failed to encode broadcast packet {}, falling back to sending it per player", packet, e);
+            buf.release();
+            return null;
+        }
+        return buf;
+    }
+
+    /**
+     * Compresses the encoded packet like vanilla's compression encoder.
+     */
+    private static synchronized ByteBuf compress(ByteBuf encoded, int threshold) {
+        final int length = encoded.readableBytes();
+        final ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer();
+        final PacketBuffer out = new PacketBuffer(buf);
+        if (length < threshold) {
+            out.writeVarInt(0);
+            out.writeBytes(encoded, encoded.readerIndex(), length);
+        } else {
+            final byte[] bytes = new byte[length];
+            encoded.getBytes(encoded.readerIndex(), bytes);
+            out.writeVarInt(length);
+            deflater.setInput(bytes, 0, length);
+            deflater.finish();
+            while (!deflater.finished()) {
+                final int count = deflater.deflate(deflateBuffer);
+                out.writeBytes(deflateBuffer, 0, count);
+            }
+            deflater.reset();
+        }
+        return buf;
+    }
+
+    private PacketBroadcast() {
+    }
+}
@@ -27,6 +27,7 @@
 import net.minecraft.server.management.UserListBans;
 import net.minecraft.server.management.UserListEntry;
 import net.minecraft.server.management.UserListIPBans;
+import net.minecraft.server.management.UserListIPBansEntry;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.SpongeEventFactory;
@@ -37,14 +38,20 @@
 import org.spongepowered.api.util.ban.Ban;
 import org.spongepowered.api.util.ban.BanTypes;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.server.management.IMixinUserList;
+import org.spongepowered.common.util.IpSet;
+import org.spongepowered.common.util.IpTrie;
 import org.spongepowered.common.util.UserListUtils;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 /**
  * The default implementation of {@link BanService}.
  *
@@ -57,6 +64,8 @@
  */
 public class SpongeBanService implements BanService {
 
+    @Nullable private volatile IpBanIndex ipBanIndex;
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public Collection<Ban> getBans() {
@@ -90,10 +99,7 @@ public Optional<Ban.Profile> getBanFor(GameProfile profile) {
 
     @Override
     public Optional<Ban.Ip> getBanFor(InetAddress address) {
-        UserListIPBans bans = this.getIPBanList();
-
-        bans.removeExpired();
-        return Optional.ofNullable((Ban.Ip) bans.getValues().get(bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0)))));
+        return Optional.ofNullable(this.findIpBan(address));
     }
 
     @Override
@@ -106,10 +112,74 @@ public boolean isBanned(GameProfile profile) {
 
     @Override
     public boolean isBanned(InetAddress address) {
-        UserListIPBans bans = this.getIPBanList();
+        return this.findIpBan(address) != null;
+    }
 
-        bans.removeExpired();
-        return bans.getValues().containsKey(bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0))));
+    /**
+     * Finds the ban of exactly the given address or, failing that, of the
+     * most specific banned range containing it.
+     *
+     * <p>Only the matched entry is checked for expiry, rather than sweeping
+     * the whole list on every lookup as the vanilla list does.</p>
+     */
+    @Nullable
+    private Ban.Ip findIpBan(InetAddress address) {
+        final UserListIPBans bans = this.getIPBanList();
+        final String key = bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0)));
+        final UserListEntry<?> exact = bans.getValues().get(key);
+        if (exact != null && !removeIfExpired(bans, key, exact)) {
+            return (Ban.Ip) exact;
+        }
+        while (true) {
+            final IpTrie<String> ranges = this.getIpBanRanges(bans);
+            final String rangeKey = ranges.getLongestMatch(address);
+            if (rangeKey == null) {
+                return null;
+            }
+            final UserListEntry<?> range = bans.getValues().get(rangeKey);
+            if (range == null) {
+                return null;
+            }
+            if (!removeIfExpired(bans, rangeKey, range)) {
+                return (Ban.Ip) range;
+            }
+            // The removal changed the list, so the next pass sees a rebuilt index
+        }
+    }
+
+    private static boolean removeIfExpired(UserListIPBans bans, String key, UserListEntry<?> entry) {
+        if (!((Ban) entry).getExpirationDate().map(date -> date.isBefore(Instant.now())).orElse(false)) {
+            return false;
+        }
+        UserListUtils.removeExpiredEntry(bans, key);
+        return true;
+    }
+
+    /**
+     * Gets the index of all entries of the list banning a range of addresses
+     * in CIDR notation, rebuilding it if the list changed since it was last
+     * built. The index is immutable and swapped as a whole, so lookups never
+     * lock.
+     */
+    private IpTrie<String> getIpBanRanges(UserListIPBans bans) {
+        final int changeCount = ((IMixinUserList) bans).getChangeCount();
+        IpBanIndex index = this.ipBanIndex;
+        if (index == null || index.list != bans || index.changeCount != changeCount) {
+            IpTrie<String> ranges = IpTrie.empty();
+            for (String key : bans.getValues().keySet()) {
+                if (key.indexOf('/') == -1) {
+                    continue;
+                }
+                try {
+                    ranges = ranges.with(IpSet.fromCidr(key), key);
+                } catch (IllegalArgumentException e) {
+                    SpongeImpl.getLogger().warn("Ignoring the malformed IP range ban '{}'", key);
+                }
+            }
+            index = new IpBanIndex(bans, changeCount, ranges);
+            this.ipBanIndex = index;
+        }
+        return index.ranges;
     }
 
     @Override
@@ -126,7 +196,8 @@ public boolean pardon(InetAddress address) {
 
         banList.removeExpired();
         InetSocketAddress inetSocketAddress = new InetSocketAddress(address, 0);
-        boolean hadBan = this.isBanned(address);
+        // Only a ban of exactly this address is lifted, a banned range containing it stays in place
+        boolean hadBan = banList.getValues().containsKey(banList.getObjectKey(banList.addressToString(inetSocketAddress)));
         UserListUtils.removeEntry(banList, banList.addressToString(inetSocketAddress));
         return hadBan;
     }
@@ -136,6 +207,14 @@ public boolean removeBan(Ban ban) {
         if (ban.getType().equals(BanTypes.PROFILE)) {
             return this.pardon(((Ban.Profile) ban).getProfile());
         } else if (ban.getType().equals(BanTypes.IP)) {
+            if (ban instanceof UserListIPBansEntry && ((UserListIPBansEntry) ban).getValue().indexOf('/') != -1) {
+                // A range ban, which is keyed by its CIDR notation rather than its address
+                UserListIPBans banList = this.getIPBanList();
+                String key = ((UserListIPBansEntry) ban).getValue();
+                boolean hadBan = banList.getValues().containsKey(key);
+                UserListUtils.removeEntry(banList, key);
+                return hadBan;
+            }
             return this.pardon(((Ban.Ip) ban).getAddress());
         }
         throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
@@ -182,4 +261,17 @@ private UserListIPBans getIPBanList() {
         return SpongeImpl.getServer().getPlayerList().getBannedIPs();
     }
 
+    private static final class IpBanIndex {
+
+        final UserListIPBans list;
+        final int changeCount;
+        final IpTrie<String> ranges;
+
+        IpBanIndex(UserListIPBans list, int changeCount, IpTrie<String> ranges) {
+            this.list = list;
+            this.changeCount = changeCount;
+            this.ranges = ranges;
+        }
+    }
+
 }
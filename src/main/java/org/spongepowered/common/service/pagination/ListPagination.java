@@ -27,11 +27,14 @@
 import static org.spongepowered.common.util.SpongeCommonTranslationHelper.t;
 
 import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import org.spongepowered.api.command.CommandException;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.channel.MessageReceiver;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -41,46 +44,71 @@
 
 /**
  * Pagination working with a list of values.
+ *
+ * <p>Pages are split off the list as far as they are needed and only the
+ * requested pages are rendered, keeping the most recently viewed ones.
+ * Knowing the total amount of pages still requires the line count of every
+ * value, but those are cached per text by the {@link PaginationCalculator}.</p>
  */
 class ListPagination extends ActivePagination {
-    private final List<List<Text>> pages;
 
-    public ListPagination(Supplier<Optional<MessageReceiver>> src, PaginationCalculator calc, List<Map.Entry<Text, Integer>> lines,
+    private static final int MAX_RENDERED_PAGES = 8;
+
+    private final List<Text> contents;
+    // The index after the last value of every page split off so far
+    private final IntList pageEnds = new IntArrayList();
+    private final IntList pageLines = new IntArrayList();
+    private boolean allPagesSplit;
+    private final Map<Integer, List<Text>> renderedPages = new LinkedHashMap<Integer, List<Text>>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Text>> eldest) {
+            return size() > MAX_RENDERED_PAGES;
+        }
+    };
+
+    public ListPagination(Supplier<Optional<MessageReceiver>> src, PaginationCalculator calc, List<Text> contents,
             @Nullable Text title, @Nullable Text header, @Nullable Text footer, Text padding) {
         super(src, calc, title, header, footer, padding);
-        List<List<Text>> pages = new ArrayList<>();
-        List<Text> currentPage = new ArrayList<>();
-        int currentPageLines = 0;
+        this.contents = contents;
+    }
 
-        for (Map.Entry<Text, Integer> ent : lines) {
-            final boolean finiteLinesPerPage  = getMaxContentLinesPerPage() > 0;
-            final boolean willExceedPageLength = ent.getValue() + currentPageLines > getMaxContentLinesPerPage();
-            final boolean currentPageNotEmpty = currentPageLines != 0;
-            final boolean spillToNextPage = finiteLinesPerPage && willExceedPageLength && currentPageNotEmpty;
-            if (spillToNextPage) {
-                padPage(currentPage, currentPageLines, true);
-                currentPageLines = 0;
-                pages.add(currentPage);
-                currentPage = new ArrayList<>();
+    /**
+     * Splits off pages until the given page exists or the values run out.
+     *
+     * @param page The page
+     * @return Whether the page exists
+     */
+    private boolean splitPages(int page) {
+        final int maxLines = getMaxContentLinesPerPage();
+        while (this.pageEnds.size() < page && !this.allPagesSplit) {
+            final int start = this.pageEnds.isEmpty() ? 0 : this.pageEnds.getInt(this.pageEnds.size() - 1);
+            int end = start;
+            int lines = 0;
+            for (; end < this.contents.size(); end++) {
+                final int entryLines = this.calc.getLines(this.contents.get(end));
+                final boolean spillToNextPage = maxLines > 0 && lines + entryLines > maxLines && lines != 0;
+                if (spillToNextPage) {
+                    break;
+                }
+                lines += entryLines;
             }
-            currentPageLines += ent.getValue();
-            currentPage.add(ent.getKey());
-        }
-        //last page is not yet committed
-        final boolean lastPageNotEmpty = currentPageLines > 0;
-        if (lastPageNotEmpty) {
-            if (!pages.isEmpty()) {
-                // Only pad if we have a previous page
-                padPage(currentPage, currentPageLines, false);
+            if (end == this.contents.size()) {
+                this.allPagesSplit = true;
+            }
+            // Values that don't take up any lines don't make up a page on their own
+            if (lines > 0) {
+                this.pageEnds.add(end);
+                this.pageLines.add(lines);
             }
-            pages.add(currentPage);
         }
-        this.pages = pages;
+        return page <= this.pageEnds.size();
     }
 
     @Override
     protected Iterable<Text> getLines(int page) throws CommandException {
-        final int size = this.pages.size();
+        final int size = getTotalPages();
         if (size == 0) {
             return ImmutableList.of();
         } else if (page < 1) {
@@ -88,7 +116,25 @@ protected Iterable<Text> getLines(int page) throws CommandException {
         } else if (page > size) {
             throw new CommandException(t("Page %s is greater than the max of %s!", page, size));
         }
-        return this.pages.get(page - 1);
+        List<Text> rendered = this.renderedPages.get(page);
+        if (rendered == null) {
+            rendered = renderPage(page);
+            this.renderedPages.put(page, rendered);
+        }
+        return rendered;
+    }
+
+    private List<Text> renderPage(int page) {
+        final int start = page == 1 ? 0 : this.pageEnds.getInt(page - 2);
+        final int end = this.pageEnds.getInt(page - 1);
+        final List<Text> lines = new ArrayList<>(this.contents.subList(start, end));
+        if (page < this.pageEnds.size()) {
+            padPage(lines, this.pageLines.getInt(page - 1), true);
+        } else if (page > 1) {
+            // Only pad the last page if we have a previous page
+            padPage(lines, this.pageLines.getInt(page - 1), false);
+        }
+        return ImmutableList.copyOf(lines);
     }
 
     @Override
@@ -98,11 +144,12 @@ protected boolean hasPrevious(int page) {
 
     @Override
     protected boolean hasNext(int page) {
-        return page < this.pages.size();
+        return splitPages(page + 1);
     }
 
     @Override
     protected int getTotalPages() {
-        return this.pages.size();
+        splitPages(Integer.MAX_VALUE);
+        return this.pageEnds.size();
     }
 }
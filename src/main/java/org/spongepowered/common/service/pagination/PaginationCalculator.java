@@ -26,6 +26,8 @@
 
 import com.flowpowered.math.GenericMath;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TextComponentString;
 import net.minecraft.util.text.TextComponentTranslation;
@@ -55,6 +57,11 @@ class PaginationCalculator {
     private static final byte[] UNICODE_CHAR_WIDTHS;
     private static final int LINE_WIDTH = 320;
 
+    // Texts are immutable, so their widths can be kept for as long as the texts themselves are
+    private static final Cache<Text, Integer> TEXT_WIDTHS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
     private final int linesPerPage;
 
     /**
@@ -161,6 +168,16 @@ int getWidth(int codePoint, boolean isBold) {
      */
     @VisibleForTesting
     int getWidth(Text text) {
+        final Integer cached = TEXT_WIDTHS.getIfPresent(text);
+        if (cached != null) {
+            return cached;
+        }
+        final int width = computeWidth(text);
+        TEXT_WIDTHS.put(text, width);
+        return width;
+    }
+
+    private int computeWidth(Text text) {
         ITextComponent component = SpongeTexts.toComponent(text);
         Iterable<ITextComponent> children = ((IMixinTextComponent) component).withChildren();
         int total = 0;
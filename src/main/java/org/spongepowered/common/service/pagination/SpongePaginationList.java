@@ -28,6 +28,7 @@
 import static org.spongepowered.api.command.CommandMessageFormatting.error;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandException;
@@ -43,8 +44,6 @@
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import javax.annotation.Nullable;
 
@@ -110,11 +109,6 @@ public void sendTo(final MessageReceiver receiver, int page) {
             realSource = ((ProxySource)realSource).getOriginalSource();
         }
         final PaginationCalculator calculator = new PaginationCalculator(this.linesPerPage);
-        Iterable<Map.Entry<Text, Integer>> counts = StreamSupport.stream(this.contents.spliterator(), false).map(input -> {
-            int lines = calculator.getLines(input);
-            return Maps.immutableEntry(input, lines);
-        }).collect(Collectors.toList());
-
         Text title = this.title.orElse(null);
         if (title != null) {
             title = calculator.center(title, this.paginationSpacer);
@@ -133,9 +127,12 @@ public void sendTo(final MessageReceiver receiver, int page) {
 
         ActivePagination pagination;
         if (this.contents instanceof List) { // If it started out as a list, it's probably reasonable to copy it to another list
-            pagination = new ListPagination(messageReceiverSupplier, calculator, ImmutableList.copyOf(counts), title, this.header.orElse(null),
-                    this.footer.orElse(null), this.paginationSpacer);
+            pagination = new ListPagination(messageReceiverSupplier, calculator, ImmutableList.copyOf(this.contents), title,
+                    this.header.orElse(null), this.footer.orElse(null), this.paginationSpacer);
         } else {
+            // Only count the lines of values as the pages are iterated over
+            final Iterable<Map.Entry<Text, Integer>> counts = Iterables.transform(this.contents,
+                    input -> Maps.immutableEntry(input, calculator.getLines(input)));
             pagination = new IterablePagination(messageReceiverSupplier, calculator, counts, title, this.header.orElse(null),
                     this.footer.orElse(null), this.paginationSpacer);
         }
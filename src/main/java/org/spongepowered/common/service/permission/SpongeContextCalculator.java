@@ -24,13 +24,16 @@
  */
 package org.spongepowered.common.service.permission;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Maps;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.source.RemoteSource;
+import org.spongepowered.api.network.RemoteConnection;
 import org.spongepowered.api.service.context.ContextCalculator;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.Subject;
@@ -38,23 +41,50 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
 
+import java.lang.ref.WeakReference;
 import java.net.InetAddress;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * A context calculator handling world contexts.
+ *
+ * <p>The active contexts of a command source are cached as an immutable set
+ * of interned {@link Context}s. The set is reused for as long as the source
+ * stays in the same world, which also covers its dimension, and on the same
+ * connection, so the host name of the connection is only looked up once.
+ * Since the contexts are interned, equal contexts handed out by this
+ * calculator are also the same instance.</p>
  */
 public class SpongeContextCalculator implements ContextCalculator<Subject> {
+
+    private static final Interner<Context> CONTEXTS = Interners.newWeakInterner();
+
     private final LoadingCache<RemoteSource, Set<Context>> remoteIpCache = buildAddressCache(Context.REMOTE_IP_KEY,
                                                                                              input -> input.getConnection().getAddress().getAddress());
 
     private final LoadingCache<RemoteSource, Set<Context>> localIpCache = buildAddressCache(Context.LOCAL_IP_KEY,
                                                                                             input -> input.getConnection().getVirtualHost().getAddress());
 
+    // Shared so that sources can be evicted as they disconnect, without a reference to the calculator
+    private static final Cache<CommandSource, ActiveContexts> ACTIVE_CONTEXTS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    /**
+     * Forgets the cached contexts of a source that disconnected.
+     *
+     * @param source The source
+     */
+    public static void invalidateActiveContexts(CommandSource source) {
+        ACTIVE_CONTEXTS.invalidate(source);
+    }
+
     private LoadingCache<RemoteSource, Set<Context>> buildAddressCache(final String contextKey, final Function<RemoteSource, InetAddress> function) {
         return CacheBuilder.newBuilder()
             .weakKeys()
@@ -63,11 +93,9 @@ private LoadingCache<RemoteSource, Set<Context>> buildAddressCache(final String
                 public Set<Context> load(RemoteSource key) throws Exception {
                     ImmutableSet.Builder<Context> builder = ImmutableSet.builder();
                     final InetAddress addr = checkNotNull(function.apply(key), "addr");
-                    builder.add(new Context(contextKey, addr.getHostAddress()));
-                    for (String set : Maps.filterValues(SpongeImpl.getGlobalConfig().getConfig().getIpSets(), input -> {
-                        return input.apply(addr);
-                    }).keySet()) {
-                        builder.add(new Context(contextKey, set));
+                    builder.add(CONTEXTS.intern(new Context(contextKey, addr.getHostAddress())));
+                    for (String ipSet : SpongeImpl.getGlobalConfig().getConfig().getMatchingIpSets(addr)) {
+                        builder.add(CONTEXTS.intern(new Context(contextKey, ipSet)));
                     }
                     return builder.build();
                 }
@@ -78,49 +106,62 @@ public Set<Context> load(RemoteSource key) throws Exception {
     public void accumulateContexts(Subject subject, Set<Context> accumulator) {
         Optional<CommandSource> subjSource = subject.getCommandSource();
         if (subjSource.isPresent()) {
-            CommandSource source = subjSource.get();
-            if (source instanceof Locatable) {
-                World currentExt = ((Locatable) source).getWorld();
-                accumulator.add(currentExt.getContext());
-                accumulator.add((currentExt.getDimension().getContext()));
-            }
-            if (source instanceof RemoteSource) {
-                RemoteSource rem = (RemoteSource) source;
-                accumulator.addAll(this.remoteIpCache.getUnchecked(rem));
-                accumulator.addAll(this.localIpCache.getUnchecked(rem));
-                accumulator.add(new Context(Context.LOCAL_PORT_KEY, String.valueOf(rem.getConnection().getVirtualHost().getPort())));
-                accumulator.add(new Context(Context.LOCAL_HOST_KEY, rem.getConnection().getVirtualHost().getHostName()));
-            }
+            accumulator.addAll(getActiveContexts(subjSource.get()));
         }
+    }
 
+    private Set<Context> getActiveContexts(CommandSource source) {
+        final World world = source instanceof Locatable ? ((Locatable) source).getWorld() : null;
+        final RemoteConnection connection = source instanceof RemoteSource ? ((RemoteSource) source).getConnection() : null;
+        ActiveContexts active = ACTIVE_CONTEXTS.getIfPresent(source);
+        if (active == null || !active.isFor(world, connection)) {
+            active = new ActiveContexts(world, connection, computeContexts(source, world, connection));
+            ACTIVE_CONTEXTS.put(source, active);
+        }
+        return active.contexts;
+    }
+
+    private ImmutableSet<Context> computeContexts(CommandSource source, @Nullable World world, @Nullable RemoteConnection connection) {
+        final ImmutableSet.Builder<Context> builder = ImmutableSet.builder();
+        if (world != null) {
+            builder.add(CONTEXTS.intern(world.getContext()));
+            builder.add(CONTEXTS.intern(world.getDimension().getContext()));
+        }
+        if (connection != null) {
+            RemoteSource rem = (RemoteSource) source;
+            builder.addAll(this.remoteIpCache.getUnchecked(rem));
+            builder.addAll(this.localIpCache.getUnchecked(rem));
+            builder.add(CONTEXTS.intern(new Context(Context.LOCAL_PORT_KEY, String.valueOf(connection.getVirtualHost().getPort()))));
+            builder.add(CONTEXTS.intern(new Context(Context.LOCAL_HOST_KEY, connection.getVirtualHost().getHostName())));
+        }
+        return builder.build();
     }
 
     @Override
     public boolean matches(Context context, Subject subject) {
         Optional<CommandSource> subjSource = subject.getCommandSource();
-        if (subjSource.isPresent()) {
-            CommandSource source = subjSource.get();
-            if (source instanceof Locatable && context.getType().equals(Context.WORLD_KEY)) {
-                Locatable located = (Locatable) source;
-                if (context.getType().equals(Context.WORLD_KEY)) {
-                    return located.getWorld().getContext().equals(context);
-                } else if (context.getType().equals(Context.DIMENSION_KEY)) {
-                    return located.getWorld().getDimension().getContext().equals(context);
-                }
-            }
-            if (source instanceof RemoteSource) {
-                RemoteSource remote = (RemoteSource) source;
-                if (context.getType().equals(Context.LOCAL_HOST_KEY)) {
-                    return context.getValue().equals(remote.getConnection().getVirtualHost().getHostName());
-                } else if (context.getType().equals(Context.LOCAL_PORT_KEY)) {
-                    return context.getValue().equals(String.valueOf(remote.getConnection().getVirtualHost().getPort()));
-                } else if (context.getType().equals(Context.LOCAL_IP_KEY)) {
-                    return this.localIpCache.getUnchecked(remote).contains(context);
-                } else if (context.getType().equals(Context.REMOTE_IP_KEY)) {
-                    return this.remoteIpCache.getUnchecked(remote).contains(context);
-                }
-            }
+        return subjSource.isPresent() && getActiveContexts(subjSource.get()).contains(context);
+    }
+
+    private static final class ActiveContexts {
+
+        // The cache holds its values strongly, and the connection refers back to the player, so these must not keep either alive
+        @Nullable private final WeakReference<World> world;
+        @Nullable private final WeakReference<RemoteConnection> connection;
+        final ImmutableSet<Context> contexts;
+
+        ActiveContexts(@Nullable World world, @Nullable RemoteConnection connection, ImmutableSet<Context> contexts) {
+            this.world = world == null ? null : new WeakReference<>(world);
+            this.connection = connection == null ? null : new WeakReference<>(connection);
+            this.contexts = contexts;
+        }
+
+        boolean isFor(@Nullable World world, @Nullable RemoteConnection connection) {
+            return refersTo(this.world, world) && refersTo(this.connection, connection);
+        }
+
+        private static <T> boolean refersTo(@Nullable WeakReference<T> reference, @Nullable T value) {
+            return reference == null ? value == null : value != null && reference.get() == value;
         }
-        return false;
     }
 }
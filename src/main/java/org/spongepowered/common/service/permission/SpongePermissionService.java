@@ -51,6 +51,7 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -73,6 +74,7 @@ public class SpongePermissionService implements PermissionService {
     private final ConcurrentMap<String, SpongeSubjectCollection> subjects = new ConcurrentHashMap<>();
     private final SpongeSubjectCollection defaultCollection;
     private final SpongeSubject defaultData;
+    private final AtomicLong revision = new AtomicLong();
 
     public SpongePermissionService(Game game) {
         this.game = game;
@@ -105,6 +107,47 @@ static int getServerOpLevel() {
         return SpongeImpl.getServer().getOpPermissionLevel();
     }
 
+    /**
+     * Gets the current revision of the permission data held by this service.
+     * Any change to subject data, parents or op levels increments it, which
+     * invalidates the resolved permission values cached by the subjects.
+     *
+     * @return The current revision
+     */
+    public long getRevision() {
+        return this.revision.get();
+    }
+
+    /**
+     * Marks the resolved permission values of all subjects as stale.
+     */
+    public void invalidatePermissionCache() {
+        this.revision.incrementAndGet();
+    }
+
+    /**
+     * Invalidates the permission cache of the given service if it is the
+     * Sponge implementation.
+     *
+     * @param service The permission service
+     */
+    public static void invalidatePermissionCache(@Nullable PermissionService service) {
+        if (service instanceof SpongePermissionService) {
+            ((SpongePermissionService) service).invalidatePermissionCache();
+        }
+    }
+
+    /**
+     * Invalidates the permission cache of the registered permission service
+     * after a change to the vanilla state op levels are derived from.
+     */
+    public static void invalidateOpLevels() {
+        if (SpongeImpl.isInitialized()) {
+            SpongeImpl.getGame().getServiceManager().provide(PermissionService.class)
+                    .ifPresent(service -> invalidatePermissionCache(service));
+        }
+    }
+
     public Subject getGroupForOpLevel(int level) {
         return getGroupSubjects().get("op_" + level);
     }
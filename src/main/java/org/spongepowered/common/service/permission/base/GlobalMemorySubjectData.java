@@ -30,6 +30,7 @@
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.SubjectReference;
 import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.SpongePermissionService;
 
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,8 @@
 
 public class GlobalMemorySubjectData extends MemorySubjectData {
 
+    private final PermissionService service;
+
     /**
      * Creates a new subject data instance, using the provided service to request instances of permission subjects.
      *
@@ -45,8 +48,16 @@ public class GlobalMemorySubjectData extends MemorySubjectData {
      */
     public GlobalMemorySubjectData(PermissionService service) {
         super(service);
+        this.service = service;
     }
 
+    /**
+     * Invalidates the resolved permissions cached by the service, to be
+     * called whenever the permissions or parents of this data change.
+     */
+    protected void onPermissionsChanged() {
+        SpongePermissionService.invalidatePermissionCache(this.service);
+    }
 
     @Override
     public Map<Set<Context>, List<SubjectReference>> getAllParents() {
@@ -58,7 +69,7 @@ public CompletableFuture<Boolean> setPermission(Set<Context> contexts, String pe
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.setPermission(contexts, permission, value);
+        return invalidating(super.setPermission(contexts, permission, value));
     }
 
     @Override
@@ -66,7 +77,7 @@ public CompletableFuture<Boolean> clearPermissions(Set<Context> contexts) {
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.clearPermissions(contexts);
+        return invalidating(super.clearPermissions(contexts));
     }
 
     @Override
@@ -74,7 +85,7 @@ public CompletableFuture<Boolean> addParent(Set<Context> contexts, SubjectRefere
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.addParent(contexts, parent);
+        return invalidating(super.addParent(contexts, parent));
     }
 
     @Override
@@ -82,7 +93,7 @@ public CompletableFuture<Boolean> removeParent(Set<Context> contexts, SubjectRef
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.removeParent(contexts, parent);
+        return invalidating(super.removeParent(contexts, parent));
     }
 
     @Override
@@ -90,6 +101,25 @@ public CompletableFuture<Boolean> clearParents(Set<Context> contexts) {
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.clearParents(contexts);
+        return invalidating(super.clearParents(contexts));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearPermissions() {
+        return invalidating(super.clearPermissions());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearParents() {
+        return invalidating(super.clearParents());
+    }
+
+    protected CompletableFuture<Boolean> invalidating(CompletableFuture<Boolean> result) {
+        return result.thenApply(changed -> {
+            if (changed) {
+                onPermissionsChanged();
+            }
+            return changed;
+        });
     }
 }
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.service.permission.base;
 
+import com.google.common.collect.ImmutableSet;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.PermissionService;
@@ -31,13 +32,23 @@
 import org.spongepowered.api.service.permission.SubjectData;
 import org.spongepowered.api.service.permission.SubjectReference;
 import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.SpongePermissionService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class SpongeBaseSubject implements Subject {
 
+    /**
+     * Resolved permission values, keyed by the queried context set and then
+     * by permission node. Only valid for {@link #cacheRevision}.
+     */
+    private final Map<Set<Context>, Map<String, Tristate>> permissionCache = new ConcurrentHashMap<>();
+    private volatile long cacheRevision = -1;
+
     public abstract PermissionService getService();
 
     @Override
@@ -60,6 +71,41 @@ public boolean hasPermission(Set<Context> contexts, String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        final PermissionService service = getService();
+        if (!(service instanceof SpongePermissionService)) {
+            return resolvePermissionValue(contexts, permission);
+        }
+        final long revision = ((SpongePermissionService) service).getRevision();
+        if (this.cacheRevision != revision) {
+            // Subject data, parents or op levels changed since the cache was filled
+            this.permissionCache.clear();
+            this.cacheRevision = revision;
+        }
+        Map<String, Tristate> nodes = this.permissionCache.get(contexts);
+        if (nodes == null) {
+            // The caller's set may be mutable, so the entry is stored under a copy of it
+            nodes = this.permissionCache.computeIfAbsent(ImmutableSet.copyOf(contexts), k -> new ConcurrentHashMap<>());
+        }
+        Tristate res = nodes.get(permission);
+        if (res == null) {
+            res = resolvePermissionValue(contexts, permission);
+            // Don't store the result if the data changed while we were resolving it
+            if (((SpongePermissionService) service).getRevision() == revision) {
+                nodes.put(permission, res);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Resolves the permission value without consulting the permission cache,
+     * walking the subject data and then the parents of this subject.
+     *
+     * @param contexts The contexts to check with
+     * @param permission The permission node
+     * @return The resolved value
+     */
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
         return getDataPermissionValue(getTransientSubjectData(), permission);
     }
 
@@ -28,9 +28,11 @@
 import static org.spongepowered.common.util.OptionalUtils.asSet;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import net.minecraft.util.math.AxisAlignedBB;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
 import org.spongepowered.api.data.manipulator.mutable.entity.ExperienceHolderData;
@@ -70,6 +72,8 @@
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * A resolver that acts like Vanilla Minecraft in many regards.
  */
@@ -116,6 +120,9 @@ private static <I, R> Predicate<I> requireTypePredicate(Class<I> inputType, fina
     private final Selector selector;
     private final Predicate<Entity> selectorFilter;
     private final boolean alwaysUsePosition;
+    private boolean playerOnly;
+    // The bounds the position based arguments limit entities to, if they limit them horizontally
+    @Nullable private AxisAlignedBB searchBox;
 
     public SelectorResolver(Collection<? extends Extent> extents, Selector selector, boolean force) {
         this(extents, null, null, selector, force);
@@ -144,13 +151,14 @@ private Predicate<Entity> makeFilter() {
         final Selector sel = this.selector;
         Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
         List<Predicate<Entity>> filters = Lists.newArrayList();
+        // Cheap filters first, those that look up data last
         addTypeFilters(filters);
         addDimensionFilters(position, filters);
         addRadiusFilters(position, filters);
+        addRotationFilters(filters);
         addLevelFilters(filters);
         addGamemodeFilters(filters);
         addNameFilters(filters);
-        addRotationFilters(filters);
         addTeamFilters(filters);
         addScoreFilters(filters);
         SelectorType selectorType = sel.getType();
@@ -164,9 +172,52 @@ private Predicate<Entity> makeFilter() {
             // insert at the start so it applies first
             filters.add(0, requireTypePredicate(Entity.class, Player.class));
         }
+        this.playerOnly = isPlayerOnlySelector;
+        this.searchBox = makeSearchBox(position);
         return Functional.predicateAnd(filters);
     }
 
+    @Nullable
+    private AxisAlignedBB makeSearchBox(Vector3d position) {
+        final Selector sel = this.selector;
+        double minX = Double.NEGATIVE_INFINITY;
+        double minY = Double.NEGATIVE_INFINITY;
+        double minZ = Double.NEGATIVE_INFINITY;
+        double maxX = Double.POSITIVE_INFINITY;
+        double maxY = Double.POSITIVE_INFINITY;
+        double maxZ = Double.POSITIVE_INFINITY;
+        final Optional<Integer> radiusMax = sel.get(ArgumentTypes.RADIUS.maximum());
+        if (radiusMax.isPresent()) {
+            final int radius = radiusMax.get();
+            minX = position.getX() - radius;
+            minY = position.getY() - radius;
+            minZ = position.getZ() - radius;
+            maxX = position.getX() + radius;
+            maxY = position.getY() + radius;
+            maxZ = position.getZ() + radius;
+        }
+        final Vector3d boxDimensions = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION);
+        final Vector3d boxMin = position.min(position.add(boxDimensions));
+        final Vector3d boxMax = position.max(position.add(boxDimensions));
+        if (sel.has(ArgumentTypes.DIMENSION.x())) {
+            minX = Math.max(minX, boxMin.getX());
+            maxX = Math.min(maxX, boxMax.getX());
+        }
+        if (sel.has(ArgumentTypes.DIMENSION.y())) {
+            minY = Math.max(minY, boxMin.getY());
+            maxY = Math.min(maxY, boxMax.getY());
+        }
+        if (sel.has(ArgumentTypes.DIMENSION.z())) {
+            minZ = Math.max(minZ, boxMin.getZ());
+            maxZ = Math.min(maxZ, boxMax.getZ());
+        }
+        if (Double.isInfinite(minX) || Double.isInfinite(maxX) || Double.isInfinite(minZ) || Double.isInfinite(maxZ)) {
+            return null;
+        }
+        // Entities are only found by their bounding boxes, which start at their position, so grow the box a little
+        return new AxisAlignedBB(minX, minY, minZ, maxX, maxY, maxZ).grow(1);
+    }
+
     private void addDimensionFilters(final Vector3d position, List<Predicate<Entity>> filters) {
         Selector sel = this.selector;
         Vector3d boxDimensions = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION);
@@ -297,10 +348,15 @@ private void addTeamFilters(List<Predicate<Entity>> filters) {
             final Collection<Team> teams = Sponge.getGame().getServer().getServerScoreboard().get().getTeams();
             filters.add(new Predicate<Entity>() {
 
+                @Nullable private Collection<Text> members;
+
                 @Override
                 public boolean test(Entity input) {
                     if (input instanceof TeamMember) {
-                        return inverted ^ collectMembers(teams).contains(((TeamMember) input).getTeamRepresentation());
+                        if (this.members == null) {
+                            this.members = collectMembers(teams);
+                        }
+                        return inverted ^ this.members.contains(((TeamMember) input).getTeamRepresentation());
                     }
                     return false;
                 }
@@ -350,7 +406,7 @@ public Set<Entity> resolve() {
         int count = 0;
         ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
         for (Extent extent : extents) {
-            Collection<Entity> allEntities = extent.getEntities();
+            Collection<? extends Entity> allEntities = getCandidates(extent);
             if (selectorType == SelectorTypes.RANDOM) {
                 List<Entity> entityList = new ArrayList<>(allEntities);
                 Collections.shuffle(entityList);
@@ -358,19 +414,38 @@ public Set<Entity> resolve() {
             }
 
             for (Entity e : allEntities) {
+                if (maxToSelect != 0 && count >= Math.abs(maxToSelect)) {
+                    return entities.build();
+                }
                 if (!this.selectorFilter.test(e)) {
                     continue;
                 }
                 entities.add(e);
                 count++;
-                if (maxToSelect != 0 && count > maxToSelect) {
-                    break;
-                }
             }
         }
         return entities.build();
     }
 
+    /**
+     * Gets the entities of the extent that may match the selector, using
+     * the world's player list or chunk entity lists where the selector
+     * allows.
+     */
+    @SuppressWarnings("unchecked")
+    private Collection<? extends Entity> getCandidates(Extent extent) {
+        if (extent instanceof World) {
+            if (this.playerOnly) {
+                return ((World) extent).getPlayers();
+            }
+            if (this.searchBox != null) {
+                return (List<Entity>) (List<?>) ((net.minecraft.world.World) extent)
+                        .getEntitiesWithinAABB(net.minecraft.entity.Entity.class, this.searchBox, Predicates.alwaysTrue());
+            }
+        }
+        return extent.getEntities();
+    }
+
     private Set<? extends Extent> getExtentSet() {
         if (!this.alwaysUsePosition && Collections.disjoint(getArgumentTypes(this.selector.getArguments()), LOCATION_BASED_ARGUMENTS)) {
             return ImmutableSet.copyOf(SpongeImpl.getGame().getServer().getWorlds());
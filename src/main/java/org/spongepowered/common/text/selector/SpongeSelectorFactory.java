@@ -26,6 +26,8 @@
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
@@ -116,6 +118,10 @@ public static <K, V> Function<K, V> methodAsFunction(final Method m, boolean isS
             Maps.newLinkedHashMap();
     private final Map<String, ArgumentType<?>> argumentLookupMap = Maps
             .newLinkedHashMap();
+    // Selectors are immutable, and command blocks parse the same ones every tick
+    private final Cache<String, Selector> parsedSelectors = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .build();
 
     @Override
     public Selector.Builder createBuilder() {
@@ -124,6 +130,15 @@ public Selector.Builder createBuilder() {
 
     @Override
     public Selector parseRawSelector(String selector) {
+        Selector parsed = this.parsedSelectors.getIfPresent(selector);
+        if (parsed == null) {
+            parsed = parseSelector(selector);
+            this.parsedSelectors.put(selector, parsed);
+        }
+        return parsed;
+    }
+
+    private Selector parseSelector(String selector) {
         checkArgument(selector.startsWith("@"), "Invalid selector %s",
                 selector);
         // If multi-character types are possible, this handles it
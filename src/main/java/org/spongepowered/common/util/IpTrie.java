@@ -0,0 +1,229 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable binary radix trie mapping CIDR ranges of IPv4 and IPv6
+ * addresses to values.
+ *
+ * <p>Lookups walk at most one node per bit of the address, regardless of
+ * how many ranges are stored. Updates copy only the nodes on the path to
+ * the changed range and return a new trie sharing everything else, so a
+ * holder can publish updates by swapping a single reference while readers
+ * keep using whichever trie they last saw without any locking.</p>
+ *
+ * @param <V> The type of value stored per range
+ */
+public final class IpTrie<V> {
+
+    private static final IpTrie<?> EMPTY = new IpTrie<>(null, null, 0);
+
+    @SuppressWarnings("unchecked")
+    public static <V> IpTrie<V> empty() {
+        return (IpTrie<V>) EMPTY;
+    }
+
+    @Nullable private final Node<V> ipv4;
+    @Nullable private final Node<V> ipv6;
+    private final int size;
+
+    private IpTrie(@Nullable Node<V> ipv4, @Nullable Node<V> ipv6, int size) {
+        this.ipv4 = ipv4;
+        this.ipv6 = ipv6;
+        this.size = size;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Gets a trie with the given range mapped to the value, replacing any
+     * value previously mapped to exactly that range.
+     *
+     * @param address The address of the range
+     * @param prefixLength The number of leading bits of the address that
+     *     make up the range
+     * @param value The value
+     * @return The new trie
+     */
+    public IpTrie<V> with(InetAddress address, int prefixLength, V value) {
+        checkNotNull(value, "value");
+        return this.update(address, prefixLength, value);
+    }
+
+    public IpTrie<V> with(IpSet range, V value) {
+        return this.with(range.getAddress(), range.getPrefixLength(), value);
+    }
+
+    /**
+     * Gets a trie without a value for exactly the given range. Values of
+     * larger or smaller ranges containing or contained in it are kept.
+     *
+     * @param address The address of the range
+     * @param prefixLength The number of leading bits of the address that
+     *     make up the range
+     * @return The new trie
+     */
+    public IpTrie<V> without(InetAddress address, int prefixLength) {
+        return this.update(address, prefixLength, null);
+    }
+
+    private IpTrie<V> update(InetAddress address, int prefixLength, @Nullable V value) {
+        final byte[] bits = checkNotNull(address, "address").getAddress();
+        checkArgument(prefixLength >= 0 && prefixLength <= bits.length * 8, "Invalid prefix length %s for %s", prefixLength, address);
+        final boolean ipv4 = address instanceof Inet4Address;
+        final Node<V> root = ipv4 ? this.ipv4 : this.ipv6;
+        final boolean existed = get(root, bits, prefixLength) != null;
+        final Node<V> newRoot = insert(root, bits, 0, prefixLength, value);
+        final int size = this.size + (value != null ? (existed ? 0 : 1) : (existed ? -1 : 0));
+        if (size == 0) {
+            return empty();
+        }
+        return ipv4 ? new IpTrie<>(newRoot, this.ipv6, size) : new IpTrie<>(this.ipv4, newRoot, size);
+    }
+
+    /**
+     * Gets the value mapped to exactly the given range.
+     *
+     * @param address The address of the range
+     * @param prefixLength The number of leading bits of the address that
+     *     make up the range
+     * @return The value, or null
+     */
+    @Nullable
+    public V getExact(InetAddress address, int prefixLength) {
+        final byte[] bits = address.getAddress();
+        if (prefixLength < 0 || prefixLength > bits.length * 8) {
+            return null;
+        }
+        return get(address instanceof Inet4Address ? this.ipv4 : this.ipv6, bits, prefixLength);
+    }
+
+    /**
+     * Gets the value of the most specific range containing the address.
+     *
+     * @param address The address
+     * @return The value, or null if no range contains the address
+     */
+    @Nullable
+    public V getLongestMatch(InetAddress address) {
+        final byte[] bits = address.getAddress();
+        Node<V> node = address instanceof Inet4Address ? this.ipv4 : this.ipv6;
+        V match = null;
+        for (int depth = 0; node != null; depth++) {
+            if (node.value != null) {
+                match = node.value;
+            }
+            if (depth == bits.length * 8) {
+                break;
+            }
+            node = bit(bits, depth) == 0 ? node.zero : node.one;
+        }
+        return match;
+    }
+
+    /**
+     * Passes the value of every range containing the address to the
+     * consumer, from the least to the most specific range.
+     *
+     * @param address The address
+     * @param consumer The consumer
+     */
+    public void forEachMatch(InetAddress address, Consumer<? super V> consumer) {
+        final byte[] bits = address.getAddress();
+        Node<V> node = address instanceof Inet4Address ? this.ipv4 : this.ipv6;
+        for (int depth = 0; node != null; depth++) {
+            if (node.value != null) {
+                consumer.accept(node.value);
+            }
+            if (depth == bits.length * 8) {
+                break;
+            }
+            node = bit(bits, depth) == 0 ? node.zero : node.one;
+        }
+    }
+
+    @Nullable
+    private static <V> V get(@Nullable Node<V> node, byte[] bits, int prefixLength) {
+        for (int depth = 0; node != null && depth < prefixLength; depth++) {
+            node = bit(bits, depth) == 0 ? node.zero : node.one;
+        }
+        return node == null ? null : node.value;
+    }
+
+    @Nullable
+    private static <V> Node<V> insert(@Nullable Node<V> node, byte[] bits, int depth, int prefixLength, @Nullable V value) {
+        final Node<V> zero = node == null ? null : node.zero;
+        final Node<V> one = node == null ? null : node.one;
+        if (depth == prefixLength) {
+            return node(zero, one, value);
+        }
+        final V current = node == null ? null : node.value;
+        if (bit(bits, depth) == 0) {
+            return node(insert(zero, bits, depth + 1, prefixLength, value), one, current);
+        }
+        return node(zero, insert(one, bits, depth + 1, prefixLength, value), current);
+    }
+
+    @Nullable
+    private static <V> Node<V> node(@Nullable Node<V> zero, @Nullable Node<V> one, @Nullable V value) {
+        if (zero == null && one == null && value == null) {
+            return null;
+        }
+        return new Node<>(zero, one, value);
+    }
+
+    private static int bit(byte[] bits, int index) {
+        return (bits[index >> 3] >> (7 - (index & 7))) & 1;
+    }
+
+    private static final class Node<V> {
+
+        @Nullable final Node<V> zero;
+        @Nullable final Node<V> one;
+        @Nullable final V value;
+
+        Node(@Nullable Node<V> zero, @Nullable Node<V> one, @Nullable V value) {
+            this.zero = zero;
+            this.one = one;
+            this.value = value;
+        }
+    }
+
+}
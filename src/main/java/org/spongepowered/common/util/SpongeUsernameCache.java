@@ -26,26 +26,43 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.CountingInputStream;
+import com.google.common.io.Files;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
-import org.spongepowered.common.SpongeImpl;
-import com.google.common.base.Charsets;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
-import com.google.common.io.Files;
-import com.google.common.reflect.TypeToken;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonSyntaxException;
-
 /**
  * Caches player's last known usernames
  * <p>
@@ -59,18 +76,46 @@
  * here :
  * 
  * https://github.com/MinecraftForge/MinecraftForge/blob/1.8.9/src/main/java/net/minecraftforge/common/UsernameCache.java
+ * 
+ * <p>Unlike Forge, the cache is persisted as a binary snapshot plus an
+ * append-only journal of changes made since that snapshot. Saving only
+ * appends the pending changes, and the journal is folded back into a new
+ * snapshot in the background once it grows larger than the cache itself.
+ * Every change is numbered, and the snapshot stores the number of the
+ * latest change it contains, so journal records that are already part of
+ * the snapshot are skipped while loading.</p>
  */
 public final class SpongeUsernameCache {
 
-    // Thread-safe map
-    private static Map<UUID, String> map = new ConcurrentHashMap<>();
+    private static final int SNAPSHOT_MAGIC = 0x53554332; // SUC2
+    private static final byte OP_SET = 0;
+    private static final byte OP_REMOVE = 1;
+    private static final int MIN_COMPACTION_RECORDS = 1024;
+
+    // Thread-safe maps, names are indexed lower case for case insensitive lookups
+    private static final Map<UUID, String> map = new ConcurrentHashMap<>();
+    private static final Map<String, UUID> byName = new ConcurrentHashMap<>();
+    private static final Object lock = new Object();
+    // Held while the journal or snapshot is written
+    private static final Object ioLock = new Object();
+
+    // Changes not yet appended to the journal
+    private static final Queue<Record> pending = new ConcurrentLinkedQueue<>();
+    // Guarded by lock, the number of the latest change
+    private static long sequence;
 
     private static final Charset charset = Charsets.UTF_8;
 
-    private static final File saveFile = new File(".", "usernamecache.json");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final File legacyFile = new File(".", "usernamecache.json");
+    private static final File snapshotFile = new File(".", "usernamecache.bin");
+    private static final File journalFile = new File(".", "usernamecache.journal");
+    private static final Gson gson = new Gson();
 
-    private static boolean loaded = false;
+    @Nullable private static ExecutorService ioExecutor;
+    // Guarded by ioLock after loading
+    private static int journalRecords;
+
+    private static volatile boolean loaded = false;
 
     /**
      * Set a player's current username
@@ -91,7 +136,10 @@ public static void setUsername(UUID uuid, String username) {
             return;
         }
 
-        map.put(uuid, username);
+        synchronized (lock) {
+            put(uuid, username);
+            pending.add(new Record(++sequence, uuid, username));
+        }
     }
 
     /**
@@ -107,8 +155,11 @@ public static boolean removeUsername(UUID uuid) {
             load();
         }
 
-        if (map.remove(uuid) != null) {
-            return true;
+        synchronized (lock) {
+            if (remove(uuid)) {
+                pending.add(new Record(++sequence, uuid, null));
+                return true;
+            }
         }
 
         return false;
@@ -151,13 +202,7 @@ public static UUID getLastKnownUUID(String username) {
             load();
         }
 
-        for (Map.Entry<UUID, String> mapEntry : map.entrySet()) {
-            if (mapEntry.getValue().equalsIgnoreCase(username)) {
-                return mapEntry.getKey();
-            }
-        }
-
-        return null;
+        return byName.get(toKey(username));
     }
 
     /**
@@ -191,17 +236,28 @@ public static Map<UUID, String> getMap() {
 
     /**
      * Save the cache to file
+     *
+     * <p>Pending changes are appended to the journal on a background
+     * thread.</p>
      */
     public static void save() {
         if (!loaded) {
             load();
         }
 
-        try {
-            // Make sure we don't save when another thread is still saving
-            Files.write(gson.toJson(map), saveFile, charset);
-        } catch (IOException e) {
-            SpongeImpl.getLogger().error("Failed to save username cache to file!", e);
+        if (pending.isEmpty()) {
+            return;
+        }
+        getExecutor().execute(SpongeUsernameCache::writeJournal);
+    }
+
+    /**
+     * Appends pending changes to the journal on the calling thread, waiting
+     * for a write that is currently in progress on the background thread.
+     */
+    public static void flush() {
+        if (loaded) {
+            writeJournal();
         }
     }
 
@@ -209,26 +265,237 @@ public static void save() {
      * Load the cache from file
      */
     public static void load() {
-        loaded = true;
-        if (!saveFile.exists()) return;
+        synchronized (lock) {
+            if (loaded) {
+                return;
+            }
+            loaded = true;
+            map.clear();
+            byName.clear();
+            pending.clear();
+            sequence = 0;
+            journalRecords = 0;
 
-        try {
+            if (snapshotFile.exists()) {
+                readSnapshot();
+            } else if (legacyFile.exists()) {
+                readLegacyJson();
+            }
+            if (journalFile.exists()) {
+                readJournal(sequence);
+            }
+            if (!snapshotFile.exists() && !map.isEmpty()) {
+                // Migrate from the legacy json format
+                getExecutor().execute(SpongeUsernameCache::compact);
+            }
+        }
+    }
+
+    private static String toKey(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static void put(UUID uuid, String username) {
+        final String previous = map.put(uuid, username);
+        if (previous != null) {
+            byName.remove(toKey(previous), uuid);
+        }
+        byName.put(toKey(username), uuid);
+    }
 
-            String json = Files.toString(saveFile, charset);
+    private static boolean remove(UUID uuid) {
+        final String previous = map.remove(uuid);
+        if (previous != null) {
+            byName.remove(toKey(previous), uuid);
+            return true;
+        }
+        return false;
+    }
+
+    private static ExecutorService getExecutor() {
+        synchronized (lock) {
+            if (ioExecutor == null) {
+                // The thread is allowed to exit while idle so that it never keeps the server alive
+                final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                        new ThreadFactoryBuilder().setNameFormat("Sponge - Username Cache Thread").build());
+                executor.allowCoreThreadTimeOut(true);
+                ioExecutor = executor;
+            }
+            return ioExecutor;
+        }
+    }
+
+    private static void writeJournal() {
+        synchronized (ioLock) {
+            if (!pending.isEmpty()) {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journalFile, true)))) {
+                    Record record;
+                    while ((record = pending.poll()) != null) {
+                        record.write(out);
+                        journalRecords++;
+                    }
+                } catch (IOException e) {
+                    SpongeImpl.getLogger().error("Failed to save username cache to file!", e);
+                    return;
+                }
+            }
+            if (journalRecords > Math.max(MIN_COMPACTION_RECORDS, map.size())) {
+                compact();
+            }
+        }
+    }
+
+    private static void compact() {
+        synchronized (ioLock) {
+            final Map<UUID, String> snapshot;
+            final long snapshotSequence;
+            synchronized (lock) {
+                snapshot = ImmutableMap.copyOf(map);
+                snapshotSequence = sequence;
+            }
+            final File tempFile = new File(snapshotFile.getPath() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(snapshotSequence);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<UUID, String> entry : snapshot.entrySet()) {
+                    out.writeLong(entry.getKey().getMostSignificantBits());
+                    out.writeLong(entry.getKey().getLeastSignificantBits());
+                    out.writeUTF(entry.getValue());
+                }
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to save username cache to file!", e);
+                return;
+            }
+            try {
+                java.nio.file.Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to save username cache to file!", e);
+                return;
+            }
+            // The journal only holds changes up to the snapshot's sequence, which are skipped if it survives a crash here
+            try {
+                java.nio.file.Files.deleteIfExists(journalFile.toPath());
+                java.nio.file.Files.deleteIfExists(legacyFile.toPath());
+                journalRecords = 0;
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to delete old username cache files!", e);
+            }
+            // Changes queued before the snapshot was taken are part of it now
+            pending.removeIf(record -> record.sequence <= snapshotSequence);
+        }
+    }
+
+    private static void readSnapshot() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Unknown username cache format");
+            }
+            sequence = in.readLong();
+            final int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                final UUID uuid = new UUID(in.readLong(), in.readLong());
+                put(uuid, in.readUTF());
+            }
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to read username cache file from disk, deleting file", e);
+            map.clear();
+            byName.clear();
+            sequence = 0;
+            snapshotFile.delete();
+        }
+    }
+
+    private static void readJournal(long snapshotSequence) {
+        // The length of the journal up to the end of the last complete record
+        long validLength = 0;
+        try (CountingInputStream counter = new CountingInputStream(new BufferedInputStream(new FileInputStream(journalFile)));
+                DataInputStream in = new DataInputStream(counter)) {
+            while (true) {
+                final byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    break;
+                }
+                final long recordSequence = in.readLong();
+                final UUID uuid = new UUID(in.readLong(), in.readLong());
+                final String username = op == OP_SET ? in.readUTF() : null;
+                journalRecords++;
+                validLength = counter.getCount();
+                if (recordSequence <= snapshotSequence) {
+                    // Left over from a compaction that was interrupted before the journal was deleted
+                    continue;
+                }
+                if (username != null) {
+                    put(uuid, username);
+                } else {
+                    remove(uuid);
+                }
+                sequence = Math.max(sequence, recordSequence);
+            }
+        } catch (EOFException e) {
+            // The last record was only partially written, everything before it is still valid
+            SpongeImpl.getLogger().warn("Username cache journal ends with an incomplete record, discarding it");
+            truncateJournal(validLength);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to read username cache journal from disk", e);
+        }
+    }
+
+    /**
+     * Cuts the partial record off the end of the journal, as new records
+     * would otherwise be appended after it and be misread on the next load.
+     */
+    private static void truncateJournal(long length) {
+        try (FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to truncate username cache journal, compacting it instead", e);
+            getExecutor().execute(SpongeUsernameCache::compact);
+        }
+    }
+
+    private static void readLegacyJson() {
+        try {
+            String json = Files.toString(legacyFile, charset);
             Type type = new TypeToken<Map<UUID, String>>() { private static final long serialVersionUID = 1L; }.getType();
 
-            map = gson.fromJson(json, type);
+            final Map<UUID, String> legacy = gson.fromJson(json, type);
+            // Can sometimes occur when the json file is malformed
+            if (legacy != null) {
+                legacy.forEach(SpongeUsernameCache::put);
+            }
         } catch (JsonSyntaxException e) {
             SpongeImpl.getLogger().error("Could not parse username cache file as valid json, deleting file", e);
-            saveFile.delete();
+            legacyFile.delete();
         } catch (IOException e) {
             SpongeImpl.getLogger().error("Failed to read username cache file from disk, deleting file", e);
-            saveFile.delete();
-        } finally {
-            // Can sometimes occur when the json file is malformed
-            if (map == null) {
-                map = Maps.newHashMap();
+            legacyFile.delete();
+        }
+    }
+
+    private static final class Record {
+
+        final long sequence;
+        final UUID uuid;
+        @Nullable final String username;
+
+        Record(long sequence, UUID uuid, @Nullable String username) {
+            this.sequence = sequence;
+            this.uuid = uuid;
+            this.username = username;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeByte(this.username == null ? OP_REMOVE : OP_SET);
+            out.writeLong(this.sequence);
+            out.writeLong(this.uuid.getMostSignificantBits());
+            out.writeLong(this.uuid.getLeastSignificantBits());
+            if (this.username != null) {
+                out.writeUTF(this.username);
             }
         }
     }
-}
\ No newline at end of file
+}
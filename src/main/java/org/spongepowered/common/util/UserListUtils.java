@@ -26,6 +26,7 @@
 
 import net.minecraft.server.management.UserList;
 import net.minecraft.server.management.UserListEntry;
+import org.spongepowered.common.interfaces.server.management.IMixinUserList;
 
 import java.io.IOException;
 
@@ -34,6 +35,7 @@ public class UserListUtils {
     @SuppressWarnings({"unchecked", "rawtypes"})
     public static void addEntry(UserList list, UserListEntry entry) {
         list.getValues().put(list.getObjectKey(entry.getValue()), entry);
+        ((IMixinUserList) list).markChanged();
 
         try {
             list.writeChanges();
@@ -46,6 +48,7 @@ public static void addEntry(UserList list, UserListEntry entry) {
     @SuppressWarnings({"rawtypes", "unchecked"})
     public static void removeEntry(UserList list, Object object) {
         list.getValues().remove(list.getObjectKey(object));
+        ((IMixinUserList) list).markChanged();
 
         try {
             list.writeChanges();
@@ -54,4 +57,18 @@ public static void removeEntry(UserList list, Object object) {
             UserList.LOGGER.warn("Could not save the list after removing a user.", ioexception);
         }
     }
+
+    /**
+     * Removes an entry which has expired. Like the entries dropped by
+     * {@link UserList#removeExpired()}, the removal is only written to the
+     * file with the next change or world save, so lookups never wait on it.
+     *
+     * @param list The list
+     * @param key The key of the expired entry
+     */
+    public static void removeExpiredEntry(UserList<?, ?> list, String key) {
+        list.getValues().remove(key);
+        ((IMixinUserList) list).markChanged();
+        ((IMixinUserList) list).markUnsaved();
+    }
 }
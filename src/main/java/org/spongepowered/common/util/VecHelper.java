@@ -72,6 +72,45 @@ public static Vector3i toVector3i(BlockPos pos) {
         return new Vector3i(pos.getX(), pos.getY(), pos.getZ());
     }
 
+    // === Flow Vector3i <--> packed long, laid out like BlockPos#toLong ===
+
+    public static long toLong(Vector3i vector) {
+        return toLong(vector.getX(), vector.getY(), vector.getZ());
+    }
+
+    /**
+     * Gets whether the position fits the packed layout, 26 bits for x and z
+     * and 12 bits for y. Anything outside of it would silently wrap.
+     *
+     * @param vector The position
+     * @return True if the position can be packed
+     */
+    public static boolean canPack(Vector3i vector) {
+        return vector.getX() >= -(1 << 25) && vector.getX() < 1 << 25
+                && vector.getY() >= -(1 << 11) && vector.getY() < 1 << 11
+                && vector.getZ() >= -(1 << 25) && vector.getZ() < 1 << 25;
+    }
+
+    public static long toLong(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) y & 0xFFFL) << 26 | (long) z & 0x3FFFFFFL;
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed << 26 >> 52);
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << 38 >> 38);
+    }
+
+    public static Vector3i toVector3i(long packed) {
+        return new Vector3i(unpackX(packed), unpackY(packed), unpackZ(packed));
+    }
+
     // === MC BlockPos --> Flow Vector3d ==
 
     public static Vector3d toVector3d(BlockPos pos) {
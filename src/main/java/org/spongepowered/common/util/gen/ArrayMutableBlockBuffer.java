@@ -25,7 +25,6 @@
 package org.spongepowered.common.util.gen;
 
 import com.flowpowered.math.vector.Vector3i;
-import net.minecraft.util.math.MathHelper;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.util.DiscreteTransform3;
@@ -266,7 +265,9 @@ public PackedBackingData(int size, int highestValue) {
             this.bits = bits;
 
             this.maxValue = (1 << bits) - 1;
-            this.longArray = new long[MathHelper.roundUp(size * bits, Long.SIZE) / Long.SIZE];
+            // Computed in longs, as large volumes overflow an int worth of bits, and too large volumes fail here
+            // rather than on first access. Zero bit entries still read from one long.
+            this.longArray = new long[Math.max(1, Math.toIntExact(((long) size * bits + Long.SIZE - 1) / Long.SIZE))];
         }
 
         private PackedBackingData(int size, int bits, long[] array) {
@@ -278,9 +279,9 @@ private PackedBackingData(int size, int bits, long[] array) {
 
         @Override
         public void set(int index, int value) {
-            int bitIndex = index * this.bits;
-            int longIndex = bitIndex / Long.SIZE;
-            int bitOffset = bitIndex % Long.SIZE;
+            long bitIndex = (long) index * this.bits;
+            int longIndex = (int) (bitIndex / Long.SIZE);
+            int bitOffset = (int) (bitIndex % Long.SIZE);
 
             this.longArray[longIndex] = this.longArray[longIndex] & ~(this.maxValue << bitOffset) | (long) value << bitOffset;
 
@@ -295,10 +296,10 @@ public void set(int index, int value) {
 
         @Override
         public int get(int index) {
-            int bitIndex = index * this.bits;
-            int longIndex = bitIndex / Long.SIZE;
-            int rightLongIndex = (bitIndex + this.bits - 1) / 64;
-            int bitOffset = bitIndex % 64;
+            long bitIndex = (long) index * this.bits;
+            int longIndex = (int) (bitIndex / Long.SIZE);
+            int rightLongIndex = (int) ((bitIndex + this.bits - 1) / Long.SIZE);
+            int bitOffset = (int) (bitIndex % Long.SIZE);
 
             if (bitOffset + this.bits > Long.SIZE) {
                 // The entry is split between two longs
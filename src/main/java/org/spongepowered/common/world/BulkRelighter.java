@@ -0,0 +1,439 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.config.type.GlobalConfig;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.util.VecHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Relights the blocks changed by a large edit in one go, instead of running
+ * a separate light update for every block as it is changed.
+ *
+ * <p>While a batch is open, block changes which would normally call
+ * {@link net.minecraft.world.World#checkLight(BlockPos)} only record their
+ * position through {@link #defer(BlockPos)}. When the outermost batch is
+ * closed the recorded positions are split into clusters of chunks far enough
+ * apart that their light cannot interact, and each cluster is relit for sky
+ * and block light with a single removal and propagation pass seeded by all
+ * of its changed blocks. Clusters are relit in parallel when there is more
+ * than one and the edit is large enough to be worth it.</p>
+ *
+ * <p>Light is not sent to players from here. Edits of this size mark the
+ * sections they touch for a full resend through the player chunk map, which
+ * happens once per chunk after the relight has finished.</p>
+ */
+public final class BulkRelighter implements AutoCloseable {
+
+    /**
+     * The number of changed blocks from which independent clusters are
+     * relit in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * How many chunks apart two changed chunks may be and still be relit
+     * together. Light travels at most 15 blocks, so changes in chunks three
+     * or more apart can never reach the same block, nor the same chunk.
+     */
+    private static final int CLUSTER_CHUNK_DISTANCE = 2;
+
+    private static final EnumFacing[] FACINGS = EnumFacing.values();
+
+    private final WorldServer world;
+    private final boolean enabled;
+    private final LongSet changed = new LongOpenHashSet();
+    private int depth;
+
+    public BulkRelighter(WorldServer world) {
+        this.world = world;
+        // Async lighting relights on its own threads, which must not race with ours
+        final GlobalConfig config = SpongeImpl.getGlobalConfig().getConfig();
+        this.enabled = !(config.getModules().useOptimizations() && config.getOptimizations().useAsyncLighting());
+    }
+
+    /**
+     * Opens a batch on the world behind the given volume, if it is one that
+     * is relit in bulk.
+     *
+     * @param volume The volume about to be edited
+     * @return The relighter to close when the edit is done, or null
+     */
+    @Nullable
+    public static BulkRelighter beginFor(Object volume) {
+        if (volume instanceof WorldServer) {
+            return ((IMixinWorldServer) volume).getBulkRelighter().begin();
+        }
+        if (volume instanceof Chunk && ((Chunk) volume).getWorld() instanceof WorldServer) {
+            return ((IMixinWorldServer) ((Chunk) volume).getWorld()).getBulkRelighter().begin();
+        }
+        return null;
+    }
+
+    /**
+     * Opens a batch. Batches nest, and relighting happens when the outermost
+     * one is closed.
+     *
+     * @return This relighter, to be closed when the edit is done
+     */
+    public BulkRelighter begin() {
+        if (this.depth++ == 0) {
+            this.changed.clear();
+        }
+        return this;
+    }
+
+    public boolean isBatching() {
+        return this.depth > 0;
+    }
+
+    /**
+     * Records a block whose light has to be checked, if a batch is open.
+     *
+     * @param pos The changed block
+     * @return False if no batch is open and the caller has to check the
+     *     light itself
+     */
+    public boolean defer(BlockPos pos) {
+        if (this.depth == 0 || !this.enabled) {
+            return false;
+        }
+        this.changed.add(pos.toLong());
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (this.depth == 0 || --this.depth > 0) {
+            return;
+        }
+        if (this.changed.isEmpty()) {
+            return;
+        }
+        try {
+            this.relight();
+        } finally {
+            this.changed.clear();
+        }
+    }
+
+    private void relight() {
+        final List<Cluster> clusters = this.createClusters();
+        if (clusters.size() > 1 && this.changed.size() >= PARALLEL_THRESHOLD) {
+            clusters.parallelStream().forEach(Cluster::relight);
+        } else {
+            for (Cluster cluster : clusters) {
+                cluster.relight();
+            }
+        }
+    }
+
+    /**
+     * Groups the changed blocks by chunk and joins chunks into clusters when
+     * they are close enough for their light to interact. Every chunk the
+     * clusters may touch is looked up here, on the owning thread, so that
+     * relighting never goes through the chunk provider.
+     */
+    private List<Cluster> createClusters() {
+        final Long2ObjectMap<LongList> byChunk = new Long2ObjectOpenHashMap<>();
+        for (LongIterator iterator = this.changed.iterator(); iterator.hasNext(); ) {
+            final long pos = iterator.nextLong();
+            final long chunkKey = ChunkPos.asLong(VecHelper.unpackX(pos) >> 4, VecHelper.unpackZ(pos) >> 4);
+            LongList list = byChunk.get(chunkKey);
+            if (list == null) {
+                list = new LongArrayList();
+                byChunk.put(chunkKey, list);
+            }
+            list.add(pos);
+        }
+
+        final Long2ObjectMap<Cluster> clusterByChunk = new Long2ObjectOpenHashMap<>();
+        final List<Cluster> clusters = new ArrayList<>();
+        for (Long2ObjectMap.Entry<LongList> entry : byChunk.long2ObjectEntrySet()) {
+            final long chunkKey = entry.getLongKey();
+            final int chunkX = (int) chunkKey;
+            final int chunkZ = (int) (chunkKey >> 32);
+            Cluster cluster = null;
+            for (int dx = -CLUSTER_CHUNK_DISTANCE; dx <= CLUSTER_CHUNK_DISTANCE; dx++) {
+                for (int dz = -CLUSTER_CHUNK_DISTANCE; dz <= CLUSTER_CHUNK_DISTANCE; dz++) {
+                    final Cluster other = find(clusterByChunk.get(ChunkPos.asLong(chunkX + dx, chunkZ + dz)));
+                    if (other == null || other == cluster) {
+                        continue;
+                    }
+                    if (cluster == null) {
+                        cluster = other;
+                    } else {
+                        other.mergeInto(cluster);
+                    }
+                }
+            }
+            if (cluster == null) {
+                cluster = new Cluster();
+                clusters.add(cluster);
+            }
+            cluster.changed.addAll(entry.getValue());
+            clusterByChunk.put(chunkKey, cluster);
+        }
+
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) this.world.getChunkProvider();
+        final List<Cluster> result = new ArrayList<>(clusters.size());
+        for (Cluster cluster : clusters) {
+            if (cluster.mergedInto != null) {
+                continue;
+            }
+            result.add(cluster);
+        }
+        for (Long2ObjectMap.Entry<Cluster> entry : clusterByChunk.long2ObjectEntrySet()) {
+            final Cluster cluster = find(entry.getValue());
+            final long chunkKey = entry.getLongKey();
+            final int chunkX = (int) chunkKey;
+            final int chunkZ = (int) (chunkKey >> 32);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    final long key = ChunkPos.asLong(chunkX + dx, chunkZ + dz);
+                    if (cluster.chunks.containsKey(key)) {
+                        continue;
+                    }
+                    final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive(chunkX + dx, chunkZ + dz);
+                    if (chunk != null && !chunk.isEmpty()) {
+                        cluster.chunks.put(key, chunk);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private static Cluster find(@Nullable Cluster cluster) {
+        while (cluster != null && cluster.mergedInto != null) {
+            cluster = cluster.mergedInto;
+        }
+        return cluster;
+    }
+
+    // Positions are packed the same way as BlockPos#toLong
+    private static long offset(long pos, EnumFacing facing) {
+        return VecHelper.toLong(VecHelper.unpackX(pos) + facing.getFrontOffsetX(), VecHelper.unpackY(pos) + facing.getFrontOffsetY(),
+                VecHelper.unpackZ(pos) + facing.getFrontOffsetZ());
+    }
+
+    private final class Cluster {
+
+        final LongList changed = new LongArrayList();
+        final Long2ObjectMap<Chunk> chunks = new Long2ObjectOpenHashMap<>();
+        @Nullable Cluster mergedInto;
+
+        private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        private final LongArrayFIFOQueue removalQueue = new LongArrayFIFOQueue();
+        private final IntArrayFIFOQueue removalLevels = new IntArrayFIFOQueue();
+        private final LongArrayFIFOQueue increaseQueue = new LongArrayFIFOQueue();
+        @Nullable private Chunk lastChunk;
+        private long lastChunkKey = Long.MIN_VALUE;
+
+        void mergeInto(Cluster other) {
+            other.changed.addAll(this.changed);
+            this.changed.clear();
+            this.mergedInto = other;
+        }
+
+        void relight() {
+            if (BulkRelighter.this.world.provider.hasSkyLight()) {
+                this.relight(EnumSkyBlock.SKY);
+            }
+            this.relight(EnumSkyBlock.BLOCK);
+        }
+
+        private void relight(EnumSkyBlock type) {
+            // Take out the light of every changed block which now has less of it
+            for (int i = 0; i < this.changed.size(); i++) {
+                final long packed = this.changed.getLong(i);
+                final Chunk chunk = this.getChunk(packed);
+                if (chunk == null) {
+                    continue;
+                }
+                final int current = chunk.getLightFor(type, this.pos);
+                if (current > 0 && this.getRawLight(type, chunk) < current) {
+                    chunk.setLightFor(type, this.pos, 0);
+                    this.removalQueue.enqueue(packed);
+                    this.removalLevels.enqueue(current);
+                }
+                this.increaseQueue.enqueue(packed);
+            }
+
+            // Clear everything that was lit through the removed light, and
+            // keep track of the light sources found at the edges
+            while (!this.removalQueue.isEmpty()) {
+                final long packed = this.removalQueue.dequeueLong();
+                final int level = this.removalLevels.dequeueInt();
+                for (EnumFacing facing : FACINGS) {
+                    final long neighbor = offset(packed, facing);
+                    final Chunk chunk = this.getChunk(neighbor);
+                    if (chunk == null) {
+                        continue;
+                    }
+                    final int neighborLevel = chunk.getLightFor(type, this.pos);
+                    if (neighborLevel == 0) {
+                        continue;
+                    }
+                    if (neighborLevel < level) {
+                        chunk.setLightFor(type, this.pos, 0);
+                        this.removalQueue.enqueue(neighbor);
+                        this.removalLevels.enqueue(neighborLevel);
+                    }
+                    this.increaseQueue.enqueue(neighbor);
+                }
+            }
+
+            // Spread light back out from the changed blocks and all sources found
+            while (!this.increaseQueue.isEmpty()) {
+                final long packed = this.increaseQueue.dequeueLong();
+                final Chunk chunk = this.getChunk(packed);
+                if (chunk == null) {
+                    continue;
+                }
+                int level = chunk.getLightFor(type, this.pos);
+                final int raw = this.getRawLight(type, chunk);
+                if (raw > level) {
+                    chunk.setLightFor(type, this.pos, raw);
+                    level = raw;
+                }
+                if (level <= 1) {
+                    continue;
+                }
+                for (EnumFacing facing : FACINGS) {
+                    final long neighbor = offset(packed, facing);
+                    final Chunk neighborChunk = this.getChunk(neighbor);
+                    if (neighborChunk == null) {
+                        continue;
+                    }
+                    final IBlockState state = neighborChunk.getBlockState(this.pos);
+                    final int opacity = Math.max(1, SpongeImplHooks.getBlockLightOpacity(state, BulkRelighter.this.world, this.pos));
+                    final int spread = level - opacity;
+                    if (spread > neighborChunk.getLightFor(type, this.pos)) {
+                        neighborChunk.setLightFor(type, this.pos, spread);
+                        this.increaseQueue.enqueue(neighbor);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Mirrors the light a block would get from its surroundings, as
+         * computed by the world's own light check. Expects {@link #pos} to
+         * point at the block.
+         */
+        private int getRawLight(EnumSkyBlock type, Chunk chunk) {
+            if (type == EnumSkyBlock.SKY && chunk.canSeeSky(this.pos)) {
+                return 15;
+            }
+            final IBlockState state = chunk.getBlockState(this.pos);
+            final int lightValue = SpongeImplHooks.getChunkPosLight(state, BulkRelighter.this.world, this.pos);
+            int light = type == EnumSkyBlock.SKY ? 0 : lightValue;
+            int opacity = SpongeImplHooks.getBlockLightOpacity(state, BulkRelighter.this.world, this.pos);
+            if (opacity >= 15 && lightValue > 0) {
+                opacity = 1;
+            }
+            if (opacity < 1) {
+                opacity = 1;
+            }
+            if (opacity >= 15) {
+                return 0;
+            }
+            if (light >= 14) {
+                return light;
+            }
+            final int x = this.pos.getX();
+            final int y = this.pos.getY();
+            final int z = this.pos.getZ();
+            for (EnumFacing facing : FACINGS) {
+                this.pos.setPos(x + facing.getFrontOffsetX(), y + facing.getFrontOffsetY(), z + facing.getFrontOffsetZ());
+                final Chunk neighborChunk = this.getChunkAt(this.pos);
+                if (neighborChunk == null) {
+                    continue;
+                }
+                final int neighborLight = neighborChunk.getLightFor(type, this.pos) - opacity;
+                if (neighborLight > light) {
+                    light = neighborLight;
+                }
+                if (light >= 14) {
+                    break;
+                }
+            }
+            this.pos.setPos(x, y, z);
+            return light;
+        }
+
+        /**
+         * Points {@link #pos} at the packed position and gets its chunk.
+         *
+         * @return The chunk, or null if the position is outside of the world
+         *     or of the chunks loaded for this cluster
+         */
+        @Nullable
+        private Chunk getChunk(long packed) {
+            this.pos.setPos(VecHelper.unpackX(packed), VecHelper.unpackY(packed), VecHelper.unpackZ(packed));
+            return this.getChunkAt(this.pos);
+        }
+
+        @Nullable
+        private Chunk getChunkAt(BlockPos pos) {
+            if (pos.getY() < 0 || pos.getY() > 255) {
+                return null;
+            }
+            final long key = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+            if (key != this.lastChunkKey) {
+                this.lastChunk = this.chunks.get(key);
+                this.lastChunkKey = key;
+            }
+            return this.lastChunk;
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.PriorityQueue;
+
+import javax.annotation.Nullable;
+
+/**
+ * A queue of chunks waiting to be unloaded, ordered by the time at which
+ * each unload becomes due.
+ *
+ * <p>Entries are never removed when a chunk becomes active again. Instead
+ * the owner is expected to validate every polled chunk against its current
+ * state (the {@link Chunk#unloadQueued} flag and whether it is still
+ * loaded), which keeps cancelling an unload free.</p>
+ */
+public final class ChunkUnloadQueue {
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private long sequence;
+
+    public void add(Chunk chunk, long dueTime) {
+        this.queue.add(new Entry(chunk, dueTime, this.sequence++));
+    }
+
+    /**
+     * Removes the chunk with the earliest due time, if that time has
+     * passed.
+     *
+     * @param now The current time in milliseconds
+     * @return The chunk, or null if no queued unload is due yet
+     */
+    @Nullable
+    public Chunk pollDue(long now) {
+        final Entry entry = this.queue.peek();
+        if (entry == null || entry.dueTime > now) {
+            return null;
+        }
+        this.queue.poll();
+        return entry.chunk;
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        final Chunk chunk;
+        final long dueTime;
+        final long sequence;
+
+        Entry(Chunk chunk, long dueTime, long sequence) {
+            this.chunk = chunk;
+            this.dueTime = dueTime;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            final int compare = Long.compare(this.dueTime, other.dueTime);
+            return compare != 0 ? compare : Long.compare(this.sequence, other.sequence);
+        }
+    }
+
+}
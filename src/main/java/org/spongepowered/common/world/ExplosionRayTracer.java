@@ -0,0 +1,303 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityTNTPrimed;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.Explosion;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.ParallelExplosionCategory;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
+
+/**
+ * Computes the blocks affected by an explosion like vanilla's
+ * {@link Explosion#doExplosionA()}, but traces the rays on worker threads
+ * against a snapshot of the explosion resistances around the explosion.
+ *
+ * <p>The snapshot and the random ray strengths are taken on the main thread,
+ * the workers only ever read the snapshot. Explosion resistances are looked up
+ * once per block state and tick, so overlapping explosions share them.</p>
+ */
+public final class ExplosionRayTracer {
+
+    private static final int RAYS_PER_AXIS = 16;
+    private static final float AIR = -1.0F;
+    // Larger explosions would need huge snapshots, those are traced in place
+    private static final int MAX_RADIUS = 24;
+
+    @Nullable private static ExecutorService executor;
+    private static final Map<IBlockState, Float> resistanceCache = new IdentityHashMap<>();
+    private static int resistanceCacheTick = -1;
+
+    private static final double[][] RAY_DIRECTIONS;
+
+    static {
+        final List<double[]> directions = new ArrayList<>();
+        for (int j = 0; j < RAYS_PER_AXIS; ++j) {
+            for (int k = 0; k < RAYS_PER_AXIS; ++k) {
+                for (int l = 0; l < RAYS_PER_AXIS; ++l) {
+                    if (j == 0 || j == 15 || k == 0 || k == 15 || l == 0 || l == 15) {
+                        double d0 = (double) ((float) j / 15.0F * 2.0F - 1.0F);
+                        double d1 = (double) ((float) k / 15.0F * 2.0F - 1.0F);
+                        double d2 = (double) ((float) l / 15.0F * 2.0F - 1.0F);
+                        double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
+                        directions.add(new double[] {d0 / d3, d1 / d3, d2 / d3});
+                    }
+                }
+            }
+        }
+        RAY_DIRECTIONS = directions.toArray(new double[directions.size()][]);
+    }
+
+    private static ParallelExplosionCategory getCategory() {
+        return SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getParallelExplosionCategory();
+    }
+
+    /**
+     * Gets whether the rays of an explosion caused by the exploder can be
+     * traced off the main thread. Exploders that override the explosion
+     * resistance or block destruction checks have to be traced in place.
+     *
+     * @param exploder The exploder, if any
+     * @return True if the explosion can be traced in parallel
+     */
+    public static boolean canTrace(@Nullable Entity exploder) {
+        // The resistance cache is shared, so worlds ticked in parallel trace in place
+        return (exploder == null || exploder.getClass() == EntityTNTPrimed.class) && getCategory().isEnabled() && !WorldTickThread.isTickingWorld();
+    }
+
+    /**
+     * Traces the rays of the explosion.
+     *
+     * @param explosion The explosion
+     * @param world The world of the explosion
+     * @param exploder The exploder, if any
+     * @param x The x coordinate of the explosion
+     * @param y The y coordinate of the explosion
+     * @param z The z coordinate of the explosion
+     * @param size The size of the explosion
+     * @return The affected block positions, or null if the explosion is too
+     *     large or the area around it isn't fully loaded, and it has to be
+     *     traced in place
+     */
+    @Nullable
+    public static Set<BlockPos> trace(Explosion explosion, World world, @Nullable Entity exploder, double x, double y, double z, float size) {
+        // The furthest a ray can travel is when it only passes through air
+        final int radius = MathHelper.ceil(size * 1.3F / 0.22500001F * 0.3F) + 1;
+        if (radius > MAX_RADIUS) {
+            return null;
+        }
+        final Snapshot snapshot = Snapshot.take(explosion, world, exploder, MathHelper.floor(x), MathHelper.floor(y), MathHelper.floor(z), radius);
+        if (snapshot == null) {
+            return null;
+        }
+
+        // Consume the world random the same way vanilla does
+        final Random random = world.rand;
+        final float[] strengths = new float[RAY_DIRECTIONS.length];
+        for (int i = 0; i < strengths.length; i++) {
+            strengths[i] = size * (0.7F + random.nextFloat() * 0.6F);
+        }
+
+        final int threads = Math.max(1, getCategory().getNumThreads());
+        final int raysPerTask = (RAY_DIRECTIONS.length + threads) / (threads + 1);
+        final List<CompletableFuture<LongList>> tasks = new ArrayList<>(threads);
+        int start = raysPerTask;
+        while (start < RAY_DIRECTIONS.length) {
+            final int from = start;
+            final int to = Math.min(start + raysPerTask, RAY_DIRECTIONS.length);
+            tasks.add(CompletableFuture.supplyAsync(() -> traceRays(snapshot, strengths, x, y, z, from, to), getExecutor()));
+            start = to;
+        }
+        // The main thread takes its share as well
+        final LongList first = traceRays(snapshot, strengths, x, y, z, 0, Math.min(raysPerTask, RAY_DIRECTIONS.length));
+
+        // The iteration order of the result decides the order of the drops, so it is built like vanilla's:
+        // the same kind of set, with the positions added in ray order
+        final Set<BlockPos> affected = Sets.newHashSet();
+        addAll(affected, first);
+        for (CompletableFuture<LongList> task : tasks) {
+            addAll(affected, task.join());
+        }
+        return affected;
+    }
+
+    private static void addAll(Set<BlockPos> affected, LongList positions) {
+        for (LongIterator iterator = positions.iterator(); iterator.hasNext(); ) {
+            affected.add(BlockPos.fromLong(iterator.nextLong()));
+        }
+    }
+
+    /**
+     * Traces the given rays, returning the affected positions in the order
+     * they were first reached.
+     */
+    private static LongList traceRays(Snapshot snapshot, float[] strengths, double x, double y, double z, int from, int to) {
+        final LongSet reached = new LongOpenHashSet();
+        final LongList positions = new LongArrayList();
+        for (int ray = from; ray < to; ray++) {
+            final double[] direction = RAY_DIRECTIONS[ray];
+            float f = strengths[ray];
+            double d4 = x;
+            double d6 = y;
+            double d8 = z;
+
+            for (; f > 0.0F; f -= 0.22500001F) {
+                final int blockX = MathHelper.floor(d4);
+                final int blockY = MathHelper.floor(d6);
+                final int blockZ = MathHelper.floor(d8);
+                final float resistance = snapshot.getResistance(blockX, blockY, blockZ);
+
+                if (resistance != AIR) {
+                    f -= (resistance + 0.3F) * 0.3F;
+                }
+
+                if (f > 0.0F) {
+                    final long pos = BlockPos.asLong(blockX, blockY, blockZ);
+                    if (reached.add(pos)) {
+                        positions.add(pos);
+                    }
+                }
+
+                d4 += direction[0] * 0.30000001192092896D;
+                d6 += direction[1] * 0.30000001192092896D;
+                d8 += direction[2] * 0.30000001192092896D;
+            }
+        }
+        return positions;
+    }
+
+    private static float getResistance(Explosion explosion, World world, @Nullable Entity exploder, BlockPos pos, IBlockState state) {
+        final int tick = SpongeImpl.getServer().getTickCounter();
+        if (resistanceCacheTick != tick) {
+            resistanceCache.clear();
+            resistanceCacheTick = tick;
+        }
+        Float resistance = resistanceCache.get(state);
+        if (resistance == null) {
+            resistance = exploder != null
+                         ? exploder.getExplosionResistance(explosion, world, pos, state)
+                         : state.getBlock().getExplosionResistance((Entity) null);
+            resistanceCache.put(state, resistance);
+        }
+        return resistance;
+    }
+
+    private static ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(Math.max(1, getCategory().getNumThreads()),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge - Explosion Thread - %d").setDaemon(true).build());
+        }
+        return executor;
+    }
+
+    /**
+     * The explosion resistances of a cube of blocks, {@link #AIR} for blocks
+     * that don't stop the explosion at all.
+     */
+    private static final class Snapshot {
+
+        private final int minX;
+        private final int minY;
+        private final int minZ;
+        private final int size;
+        private final float[] resistances;
+
+        private Snapshot(int minX, int minY, int minZ, int size) {
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.size = size;
+            this.resistances = new float[size * size * size];
+        }
+
+        @Nullable
+        static Snapshot take(Explosion explosion, World world, @Nullable Entity exploder, int centerX, int centerY, int centerZ, int radius) {
+            final Snapshot snapshot = new Snapshot(centerX - radius, centerY - radius, centerZ - radius, radius * 2 + 1);
+            final int maxX = snapshot.minX + snapshot.size - 1;
+            final int maxZ = snapshot.minZ + snapshot.size - 1;
+            // Vanilla would load chunks while tracing, leave those cases to vanilla
+            for (int chunkX = snapshot.minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+                for (int chunkZ = snapshot.minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                    if (world.getChunkProvider().getLoadedChunk(chunkX, chunkZ) == null) {
+                        return null;
+                    }
+                }
+            }
+            final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            int index = 0;
+            for (int dx = 0; dx < snapshot.size; dx++) {
+                for (int dy = 0; dy < snapshot.size; dy++) {
+                    for (int dz = 0; dz < snapshot.size; dz++) {
+                        pos.setPos(snapshot.minX + dx, snapshot.minY + dy, snapshot.minZ + dz);
+                        final Chunk chunk = world.getChunkProvider().getLoadedChunk(pos.getX() >> 4, pos.getZ() >> 4);
+                        final IBlockState state = chunk.getBlockState(pos);
+                        snapshot.resistances[index++] = state.getMaterial() == Material.AIR
+                                                        ? AIR
+                                                        : getResistance(explosion, world, exploder, pos, state);
+                    }
+                }
+            }
+            return snapshot;
+        }
+
+        float getResistance(int x, int y, int z) {
+            final int dx = x - this.minX;
+            final int dy = y - this.minY;
+            final int dz = z - this.minZ;
+            if (dx < 0 || dy < 0 || dz < 0 || dx >= this.size || dy >= this.size || dz >= this.size) {
+                return AIR;
+            }
+            return this.resistances[(dx * this.size + dy) * this.size + dz];
+        }
+    }
+
+    private ExplosionRayTracer() {
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.crash.CrashReport;
+import net.minecraft.util.ReportedException;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.config.category.ParallelWorldTickingCategory;
+import org.spongepowered.common.config.type.GlobalConfig;
+import org.spongepowered.common.event.SpongeCauseStackManager;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Ticks worlds concurrently on {@link WorldTickThread}s.
+ *
+ * <p>The server queues its worlds while it would normally tick them and
+ * ticks all of them at once in {@link #tickQueuedWorlds()}, before the
+ * network and player list are ticked. Each world is ticked with its own
+ * {@link PhaseTracker} and {@link SpongeCauseStackManager}.</p>
+ *
+ * <p>Operations that touch more than one world have to be run through
+ * {@link #runExclusive(Supplier)}. The calling world thread then waits until
+ * every other world either finished its tick or is itself waiting for
+ * exclusive access, so only one world thread is ever running while such an
+ * operation is in progress. The operation is still run on the calling
+ * thread, with the causes of the world that requested it.</p>
+ */
+public final class ParallelWorldTicker {
+
+    private static final Object lock = new Object();
+
+    // Only accessed from the main thread, or a world thread with exclusive access
+    private static final List<WorldServer> queuedWorlds = new ArrayList<>();
+    private static final Map<WorldServer, WorldState> worldStates = new IdentityHashMap<>();
+
+    // Guarded by the lock
+    private static final Deque<WorldTickThread> exclusiveRequests = new ArrayDeque<>();
+    private static int running;
+    @Nullable private static WorldTickThread granted;
+    @Nullable private static Throwable failure;
+
+    @Nullable private static ExecutorService executor;
+
+    // Vanilla keeps block state in fields shared by all worlds, such as BlockRedstoneWire#canProvidePower and
+    // #blocksNeedingUpdate, BlockLeaves#surroundings and BlockFalling#fallInstantly, and entities moved between
+    // worlds can join a world that waits for exclusive access in the middle of its tick. Until that state is
+    // confined to the thread ticking each world and arrivals wait for the end of the target world's tick,
+    // worlds are never ticked in parallel.
+    private static final boolean SHARED_WORLD_STATE_CONFINED = false;
+    private static boolean warnedUnavailable;
+
+    private static ParallelWorldTickingCategory getCategory() {
+        return SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getParallelWorldTickingCategory();
+    }
+
+    public static boolean isEnabled() {
+        final GlobalConfig config = SpongeImpl.getGlobalConfig().getConfig();
+        if (!config.getModules().useOptimizations() || !config.getOptimizations().useParallelWorldTicking()
+                || !SpongeImplHooks.isParallelWorldTickingSupported()) {
+            return false;
+        }
+        if (!SHARED_WORLD_STATE_CONFINED) {
+            if (!warnedUnavailable) {
+                warnedUnavailable = true;
+                SpongeImpl.getLogger().warn("Parallel world ticking is enabled in the config but is not available yet, as vanilla "
+                        + "block state shared between worlds is not confined to the thread ticking each world. Worlds are ticked "
+                        + "one after another.");
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Queues the world to be ticked by the next call to
+     * {@link #tickQueuedWorlds()}.
+     *
+     * @param world The world
+     */
+    public static void queue(WorldServer world) {
+        queuedWorlds.add(world);
+    }
+
+    /**
+     * Ticks all queued worlds concurrently and waits until all of them are
+     * done. Any exception thrown while ticking a world is rethrown here once
+     * the other worlds finished.
+     */
+    public static void tickQueuedWorlds() {
+        if (queuedWorlds.isEmpty()) {
+            return;
+        }
+        final List<WorldState> states = new ArrayList<>(queuedWorlds.size());
+        for (WorldServer world : queuedWorlds) {
+            states.add(worldStates.computeIfAbsent(world, WorldState::new));
+        }
+        queuedWorlds.clear();
+
+        final ExecutorService executor = getExecutor();
+        synchronized (lock) {
+            running = states.size();
+            failure = null;
+        }
+        for (WorldState state : states) {
+            executor.execute(() -> tick(state));
+        }
+
+        final Throwable failure;
+        synchronized (lock) {
+            boolean interrupted = false;
+            while (true) {
+                while (running > 0) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                // Every world is either done or waiting for exclusive access, let the next one continue
+                final WorldTickThread next = exclusiveRequests.poll();
+                if (next == null) {
+                    break;
+                }
+                granted = next;
+                running++;
+                lock.notifyAll();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            failure = ParallelWorldTicker.failure;
+            ParallelWorldTicker.failure = null;
+        }
+
+        for (WorldState state : states) {
+            ((IMixinWorldServer) state.world).getTimingsHandler().recordParallelTick(state.tickNanos);
+        }
+        if (failure instanceof ReportedException) {
+            throw (ReportedException) failure;
+        } else if (failure != null) {
+            throw new ReportedException(CrashReport.makeCrashReport(failure, "Exception ticking worlds in parallel"));
+        }
+    }
+
+    /**
+     * Gets whether the current thread has to go through
+     * {@link #runExclusive(Supplier)} before touching other worlds.
+     *
+     * @return True if called from a world thread without exclusive access
+     */
+    public static boolean requiresExclusive() {
+        final Thread thread = Thread.currentThread();
+        return thread instanceof WorldTickThread && ((WorldTickThread) thread).world != null && !((WorldTickThread) thread).exclusive;
+    }
+
+    /**
+     * Runs an operation that touches more than one world. If called while
+     * ticking a world in parallel, this waits until no other world is being
+     * ticked before the operation is run.
+     *
+     * @param operation The operation
+     * @param <T> The type of the result
+     * @return The result of the operation
+     */
+    public static <T> T runExclusive(Supplier<T> operation) {
+        if (!requiresExclusive()) {
+            return operation.get();
+        }
+        final WorldTickThread thread = (WorldTickThread) Thread.currentThread();
+        final long start = System.nanoTime();
+        synchronized (lock) {
+            exclusiveRequests.add(thread);
+            running--;
+            lock.notifyAll();
+            boolean interrupted = false;
+            while (granted != thread) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            granted = null;
+            if (interrupted) {
+                thread.interrupt();
+            }
+        }
+        thread.waitNanos += System.nanoTime() - start;
+        thread.exclusive = true;
+        try {
+            return operation.get();
+        } finally {
+            thread.exclusive = false;
+        }
+    }
+
+    public static void runExclusive(Runnable operation) {
+        runExclusive(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Drops the per world state of an unloaded world.
+     *
+     * @param world The world
+     */
+    public static void onWorldUnload(WorldServer world) {
+        worldStates.remove(world);
+    }
+
+    private static void tick(WorldState state) {
+        final WorldTickThread thread = (WorldTickThread) Thread.currentThread();
+        thread.bind(state.world, state.phaseTracker, state.causeStackManager);
+        final long start = System.nanoTime();
+        try {
+            tickWorld(state.world);
+        } catch (Throwable t) {
+            synchronized (lock) {
+                if (failure == null) {
+                    failure = t;
+                }
+            }
+        } finally {
+            state.tickNanos = System.nanoTime() - start - thread.waitNanos;
+            thread.unbind();
+            synchronized (lock) {
+                running--;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // Mirrors what MinecraftServer#updateTimeLightAndEntities does for each world
+    private static void tickWorld(WorldServer world) {
+        try {
+            world.tick();
+        } catch (Throwable throwable) {
+            final CrashReport report = CrashReport.makeCrashReport(throwable, "Exception ticking world");
+            world.addWorldInfoToCrashReport(report);
+            throw new ReportedException(report);
+        }
+        try {
+            world.updateEntities();
+        } catch (Throwable throwable) {
+            final CrashReport report = CrashReport.makeCrashReport(throwable, "Exception ticking world entities");
+            world.addWorldInfoToCrashReport(report);
+            throw new ReportedException(report);
+        }
+        if (((IMixinWorldServer) world).getChunkGCTickInterval() > 0) {
+            world.getChunkProvider().tick();
+        }
+        world.getEntityTracker().tick();
+    }
+
+    private static ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(Math.max(1, getCategory().getNumThreads()),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge - World Tick Thread - %d").setDaemon(true)
+                            .setThreadFactory(WorldTickThread::new).build());
+        }
+        return executor;
+    }
+
+    private static final class WorldState {
+
+        final WorldServer world;
+        final PhaseTracker phaseTracker = PhaseTracker.createWorldTracker();
+        final SpongeCauseStackManager causeStackManager = SpongeCauseStackManager.createWorldStack();
+        long tickNanos;
+
+        WorldState(WorldServer world) {
+            this.world = world;
+        }
+    }
+
+    private ParallelWorldTicker() {
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * A spatial index of the players in a world, bucketing them by the chunk
+ * column they are in.
+ *
+ * <p>The cell of a player is updated whenever the player moved, see
+ * {@link #onPlayerMoved(EntityPlayerMP)}. Queries also look one cell beyond
+ * the requested radius and test the exact current position of each player,
+ * so a player that moved since its last update, like a passenger carried by
+ * its vehicle, is still found.</p>
+ */
+public final class PlayerGrid {
+
+    private static final long UNTRACKED = Long.MIN_VALUE;
+
+    private final Long2ObjectMap<List<EntityPlayerMP>> cells = new Long2ObjectOpenHashMap<>();
+    private final Reference2LongMap<EntityPlayerMP> playerCells = new Reference2LongOpenHashMap<>();
+
+    public PlayerGrid() {
+        this.playerCells.defaultReturnValue(UNTRACKED);
+    }
+
+    /**
+     * Updates the cell of the player in the index of the world it is in.
+     *
+     * @param player The player
+     */
+    public static void onPlayerMoved(EntityPlayerMP player) {
+        if (player.world instanceof IMixinWorldServer) {
+            ((IMixinWorldServer) player.world).getPlayerGrid().update(player);
+        }
+    }
+
+    public void add(EntityPlayerMP player) {
+        final long cell = getCell(player);
+        final long previous = this.playerCells.put(player, cell);
+        if (previous != UNTRACKED) {
+            this.removeFromCell(player, previous);
+        }
+        this.cells.computeIfAbsent(cell, key -> new ArrayList<>(4)).add(player);
+    }
+
+    public void remove(EntityPlayerMP player) {
+        final long cell = this.playerCells.removeLong(player);
+        if (cell != UNTRACKED) {
+            this.removeFromCell(player, cell);
+        }
+    }
+
+    public void update(EntityPlayerMP player) {
+        final long previous = this.playerCells.getLong(player);
+        if (previous == UNTRACKED) {
+            return;
+        }
+        final long cell = getCell(player);
+        if (cell != previous) {
+            this.removeFromCell(player, previous);
+            this.playerCells.put(player, cell);
+            this.cells.computeIfAbsent(cell, key -> new ArrayList<>(4)).add(player);
+        }
+    }
+
+    public int size() {
+        return this.playerCells.size();
+    }
+
+    /**
+     * Collects all players closer to the given position than the radius,
+     * using the same distance test as
+     * {@link net.minecraft.server.management.PlayerList#sendToAllNearExcept}.
+     *
+     * @param except A player to leave out, or null
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @param radius The radius
+     * @param output The collection to add the players to
+     */
+    public void collectNear(@Nullable EntityPlayer except, double x, double y, double z, double radius, Collection<EntityPlayerMP> output) {
+        if (this.playerCells.isEmpty()) {
+            return;
+        }
+        final double radiusSquared = radius * radius;
+        final int minX = MathHelper.floor(x - radius) >> 4;
+        final int maxX = MathHelper.floor(x + radius) >> 4;
+        final int minZ = MathHelper.floor(z - radius) >> 4;
+        final int maxZ = MathHelper.floor(z + radius) >> 4;
+        // Large radii, like the default radius of particle effects, span more cells than are occupied
+        final long area = ((long) maxX - minX + 3) * ((long) maxZ - minZ + 3);
+        if (area > this.cells.size()) {
+            for (List<EntityPlayerMP> players : this.cells.values()) {
+                collect(players, except, x, y, z, radiusSquared, output);
+            }
+            return;
+        }
+        for (int cellX = minX - 1; cellX <= maxX + 1; cellX++) {
+            for (int cellZ = minZ - 1; cellZ <= maxZ + 1; cellZ++) {
+                final List<EntityPlayerMP> players = this.cells.get(ChunkPos.asLong(cellX, cellZ));
+                if (players != null) {
+                    collect(players, except, x, y, z, radiusSquared, output);
+                }
+            }
+        }
+    }
+
+    private static void collect(List<EntityPlayerMP> players, @Nullable EntityPlayer except, double x, double y, double z, double radiusSquared,
+            Collection<EntityPlayerMP> output) {
+        for (int i = 0; i < players.size(); i++) {
+            final EntityPlayerMP player = players.get(i);
+            if (player == except) {
+                continue;
+            }
+            final double dx = x - player.posX;
+            final double dy = y - player.posY;
+            final double dz = z - player.posZ;
+            if (dx * dx + dy * dy + dz * dz < radiusSquared) {
+                output.add(player);
+            }
+        }
+    }
+
+    private void removeFromCell(EntityPlayerMP player, long cell) {
+        final List<EntityPlayerMP> players = this.cells.get(cell);
+        if (players != null) {
+            players.remove(player);
+            if (players.isEmpty()) {
+                this.cells.remove(cell);
+            }
+        }
+    }
+
+    private static long getCell(EntityPlayerMP player) {
+        return ChunkPos.asLong(MathHelper.floor(player.posX) >> 4, MathHelper.floor(player.posZ) >> 4);
+    }
+}
@@ -468,6 +468,9 @@ public static void queueWorldToUnload(WorldServer worldServer) {
     // TODO Result
     public static boolean unloadWorld(WorldServer worldServer, boolean checkConfig) {
         checkNotNull(worldServer);
+        if (ParallelWorldTicker.requiresExclusive()) {
+            return ParallelWorldTicker.runExclusive(() -> unloadWorld(worldServer, checkConfig));
+        }
 
         final MinecraftServer server = SpongeImpl.getServer();
 
@@ -515,6 +518,7 @@ public static boolean unloadWorld(WorldServer worldServer, boolean checkConfig)
                 worldByDimensionId.remove(dimensionId);
                 weakWorldByWorld.remove(worldServer);
                 ((IMixinMinecraftServer) server).removeWorldTickTimes(dimensionId);
+                ParallelWorldTicker.onWorldUnload(worldServer);
                 SpongeImpl.getLogger().info("Unloading world [{}] (DIM{})", worldServer.getWorldInfo().getWorldName(), dimensionId);
                 reorderWorldsVanillaFirst();
             }
@@ -562,6 +566,9 @@ public static Optional<WorldServer> loadWorld(WorldProperties properties) {
 
     private static Optional<WorldServer> loadWorld(String worldName, @Nullable ISaveHandler saveHandler, @Nullable WorldProperties properties) {
         checkNotNull(worldName);
+        if (ParallelWorldTicker.requiresExclusive()) {
+            return ParallelWorldTicker.runExclusive(() -> loadWorld(worldName, saveHandler, properties));
+        }
         final Path currentSavesDir = WorldManager.getCurrentSavesDirectory().orElseThrow(() -> new IllegalStateException("Attempt "
                 + "made to load world too early!"));
         final MinecraftServer server = SpongeImpl.getServer();
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.common.event.SpongeCauseStackManager;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+
+import javax.annotation.Nullable;
+
+/**
+ * A thread that ticks worlds when parallel world ticking is enabled.
+ *
+ * <p>While a world is ticked, the thread carries the {@link PhaseTracker}
+ * and {@link SpongeCauseStackManager} of that world, which are returned
+ * instead of the server ones for any code running on this thread.</p>
+ *
+ * <p>World threads never count as the server thread. Scheduled tasks they
+ * submit are queued for the server thread, and only checks that guard the
+ * state of the world being ticked accept them, see
+ * {@link #isServerOrWorldThread()}.</p>
+ */
+public final class WorldTickThread extends Thread {
+
+    @Nullable WorldServer world;
+    @Nullable PhaseTracker phaseTracker;
+    @Nullable SpongeCauseStackManager causeStackManager;
+    // Whether this thread currently holds exclusive access to all worlds
+    boolean exclusive;
+    // The time spent waiting for exclusive access during the current tick
+    long waitNanos;
+
+    WorldTickThread(Runnable target) {
+        super(target);
+    }
+
+    /**
+     * Gets whether the current thread is ticking a world in parallel with
+     * other worlds.
+     *
+     * @return True if called while ticking a world on a world tick thread
+     */
+    public static boolean isTickingWorld() {
+        final Thread thread = Thread.currentThread();
+        return thread instanceof WorldTickThread && ((WorldTickThread) thread).world != null;
+    }
+
+    /**
+     * Gets whether the current thread may access the world it works on,
+     * which is the server thread or a thread ticking a world. Unlike
+     * {@link MinecraftServer#isCallingFromMinecraftThread()}, this must only
+     * guard the state of a single world, never state of the whole server.
+     *
+     * @return True if called from the server thread or while ticking a world
+     */
+    public static boolean isServerOrWorldThread() {
+        return Sponge.getServer().isMainThread() || isTickingWorld();
+    }
+
+    @Nullable
+    public static PhaseTracker getCurrentPhaseTracker() {
+        final Thread thread = Thread.currentThread();
+        return thread instanceof WorldTickThread ? ((WorldTickThread) thread).phaseTracker : null;
+    }
+
+    @Nullable
+    public static SpongeCauseStackManager getCurrentCauseStackManager() {
+        final Thread thread = Thread.currentThread();
+        return thread instanceof WorldTickThread ? ((WorldTickThread) thread).causeStackManager : null;
+    }
+
+    void bind(WorldServer world, PhaseTracker phaseTracker, SpongeCauseStackManager causeStackManager) {
+        this.world = world;
+        this.phaseTracker = phaseTracker;
+        this.causeStackManager = causeStackManager;
+        this.waitNanos = 0;
+    }
+
+    void unbind() {
+        this.world = null;
+        this.phaseTracker = null;
+        this.causeStackManager = null;
+        this.exclusive = false;
+    }
+}
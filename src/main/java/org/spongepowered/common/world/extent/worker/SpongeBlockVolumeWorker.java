@@ -40,6 +40,7 @@
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeVisitor;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.world.BulkRelighter;
 
 import java.util.function.BiFunction;
 
@@ -73,9 +74,10 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
         // a single go, requiring only one event
-        try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
-            .source(this)
-            .buildAndSwitch()) {
+        try (BulkRelighter relighter = BulkRelighter.beginFor(destination);
+            BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
+                .source(this)
+                .buildAndSwitch()) {
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -106,9 +108,10 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         final int yMax = firstUnmodifiableVolume.getBlockMax().getY();
         final int zMax = firstUnmodifiableVolume.getBlockMax().getZ();
         final UnmodifiableBlockVolume secondUnmodifiableVolume = second.getUnmodifiableBlockView();
-        try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
-            .source(this)
-            .buildAndSwitch()) {
+        try (BulkRelighter relighter = BulkRelighter.beginFor(destination);
+            BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
+                .source(this)
+                .buildAndSwitch()) {
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -29,6 +29,7 @@
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeFiller;
+import org.spongepowered.common.world.BulkRelighter;
 
 /**
  *
@@ -47,11 +48,13 @@ public void fill(BlockVolumeFiller filler) {
         final int xMax = this.volume.getBlockMax().getX();
         final int yMax = this.volume.getBlockMax().getY();
         final int zMax = this.volume.getBlockMax().getZ();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    final BlockState block = filler.produce(x, y, z);
-                    this.volume.setBlock(x, y, z, block);
+        try (BulkRelighter relighter = BulkRelighter.beginFor(this.volume)) {
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        final BlockState block = filler.produce(x, y, z);
+                        this.volume.setBlock(x, y, z, block);
+                    }
                 }
             }
         }
@@ -24,34 +24,40 @@
  */
 package org.spongepowered.common.world.schematic;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.world.schematic.BlockPalette;
 import org.spongepowered.api.world.schematic.BlockPaletteType;
 import org.spongepowered.api.world.schematic.BlockPaletteTypes;
 
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 
+/**
+ * A local palette, mapping ids to states through an array and states to ids
+ * through a primitive map, so that neither direction boxes the id.
+ */
 public class BimapPalette implements BlockPalette {
 
     private static final int DEFAULT_ALLOCATION_SIZE = 64;
 
-    private final BiMap<Integer, BlockState> ids;
-    private final BiMap<BlockState, Integer> idsr;
+    private BlockState[] ids;
+    private final Reference2IntMap<BlockState> idsr;
     private final BitSet allocation = new BitSet(DEFAULT_ALLOCATION_SIZE);
     private int maxId = 0;
 
     public BimapPalette() {
-        this.ids = HashBiMap.create();
-        this.idsr = this.ids.inverse();
+        this(DEFAULT_ALLOCATION_SIZE);
     }
 
     public BimapPalette(int expectedSize) {
-        this.ids = HashBiMap.create(expectedSize);
-        this.idsr = this.ids.inverse();
+        this.ids = new BlockState[Math.max(expectedSize, 1)];
+        this.idsr = new Reference2IntOpenHashMap<>(expectedSize);
+        this.idsr.defaultReturnValue(-1);
     }
 
     @Override
@@ -66,19 +72,20 @@ public int getHighestId() {
 
     @Override
     public Optional<Integer> get(BlockState state) {
-        return Optional.ofNullable(this.idsr.get(state));
+        final int id = this.idsr.getInt(state);
+        return id == -1 ? Optional.empty() : Optional.of(id);
     }
 
     @Override
     public int getOrAssign(BlockState state) {
-        Integer id = this.idsr.get(state);
-        if (id == null) {
+        final int id = this.idsr.getInt(state);
+        if (id == -1) {
             int next = this.allocation.nextClearBit(0);
             if (this.maxId < next) {
                 this.maxId = next;
             }
             this.allocation.set(next);
-            this.ids.put(next, state);
+            put(next, state);
             return next;
         }
         return id;
@@ -86,34 +93,53 @@ public int getOrAssign(BlockState state) {
 
     @Override
     public Optional<BlockState> get(int id) {
-        return Optional.ofNullable(this.ids.get(id));
+        return id >= 0 && id < this.ids.length ? Optional.ofNullable(this.ids[id]) : Optional.empty();
     }
 
     public void assign(BlockState state, int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Cannot assign state " + state + " to negative id " + id);
+        }
+        final int current = this.idsr.getInt(state);
+        if (current != -1 && current != id) {
+            throw new IllegalArgumentException("State " + state + " is already assigned to id " + current);
+        }
         if (this.maxId < id) {
             this.maxId = id;
         }
         this.allocation.set(id);
-        this.ids.put(id, state);
+        put(id, state);
+    }
+
+    private void put(int id, BlockState state) {
+        if (id >= this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, Math.max(id + 1, this.ids.length * 2));
+        }
+        final BlockState previous = this.ids[id];
+        if (previous != null) {
+            this.idsr.removeInt(previous);
+        }
+        this.ids[id] = state;
+        this.idsr.put(state, id);
     }
 
     @Override
     public boolean remove(BlockState state) {
-        Integer id = this.idsr.get(state);
-        if (id == null) {
+        final int id = this.idsr.removeInt(state);
+        if (id == -1) {
             return false;
         }
         this.allocation.clear(id);
         if (id == this.maxId) {
             this.maxId = this.allocation.previousSetBit(this.maxId);
         }
-        this.ids.remove(id);
+        this.ids[id] = null;
         return true;
     }
 
     @Override
     public Collection<BlockState> getEntries() {
-        return this.idsr.keySet();
+        return Collections.unmodifiableSet(this.idsr.keySet());
     }
 
 }
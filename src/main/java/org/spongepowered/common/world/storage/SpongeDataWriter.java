@@ -0,0 +1,219 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes Sponge owned data files (level_sponge.dat and the per player data)
+ * on a background thread.
+ *
+ * <p>Requests for the same file are coalesced, so only the most recent
+ * compound is written if a file is saved again before the previous write
+ * finished. Every file is first written to a temporary file and then moved
+ * into place, which means a crash can never leave a partially written file
+ * behind. Anything that reads one of these files should call
+ * {@link #flush()} first.</p>
+ *
+ * <p>Statistics about written and skipped files are collected here as well
+ * and reported after every save when world-save statistics logging is
+ * enabled.</p>
+ */
+public final class SpongeDataWriter {
+
+    private static final Object lock = new Object();
+    private static final Map<Path, PendingWrite> pending = new ConcurrentHashMap<>();
+    private static final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private static final AtomicLong filesWritten = new AtomicLong();
+    private static final AtomicLong filesSkipped = new AtomicLong();
+    private static final AtomicLong writeNanos = new AtomicLong();
+
+    @Nullable private static ExecutorService ioExecutor;
+
+    /**
+     * Queues the compound to be written to the given path.
+     *
+     * <p>The compound must not be modified afterwards, callers are expected
+     * to pass a copy of any live data.</p>
+     *
+     * @param path The target file
+     * @param backup The file the previous contents are moved to, if any
+     * @param compound The data to write
+     */
+    public static void write(Path path, @Nullable Path backup, NBTTagCompound compound) {
+        write(path, backup, compound, null);
+    }
+
+    /**
+     * Queues the compound to be written to the given path, see
+     * {@link #write(Path, Path, NBTTagCompound)}.
+     *
+     * <p>The callback is run on the writing thread once the file was moved
+     * into place. It is not run if the write failed, or if the file was
+     * queued again before this write started.</p>
+     *
+     * @param path The target file
+     * @param backup The file the previous contents are moved to, if any
+     * @param compound The data to write
+     * @param onWritten The callback to run once the file was written
+     */
+    public static void write(Path path, @Nullable Path backup, NBTTagCompound compound, @Nullable Runnable onWritten) {
+        pending.put(path, new PendingWrite(backup, compound, onWritten));
+        if (scheduled.compareAndSet(false, true)) {
+            getExecutor().execute(() -> {
+                scheduled.set(false);
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Writes every queued file on the calling thread, waiting for a write
+     * that is currently in progress on the background thread.
+     */
+    public static void flush() {
+        drain();
+    }
+
+    public static void recordSkipped() {
+        filesSkipped.incrementAndGet();
+    }
+
+    /**
+     * Records a file that was written synchronously by the caller.
+     *
+     * @param nanos The time spent writing the file
+     */
+    public static void recordWritten(long nanos) {
+        filesWritten.incrementAndGet();
+        writeNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Logs and resets the statistics gathered since the last report, if
+     * anything was saved in the meantime.
+     */
+    public static void reportStatistics() {
+        final long written = filesWritten.getAndSet(0);
+        final long skipped = filesSkipped.getAndSet(0);
+        final long nanos = writeNanos.getAndSet(0);
+        if ((written != 0 || skipped != 0) && SpongeImpl.getGlobalConfig().getConfig().getLogging().worldSaveStatisticsLogging()) {
+            SpongeImpl.getLogger().info("Saved {} data file(s), skipped {} unchanged data file(s), spent {} ms writing", written, skipped,
+                    TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    private static void drain() {
+        synchronized (lock) {
+            // Removing under the lock keeps writes to the same file in order. The write is taken from the removal
+            // itself, so a newer compound queued for the path in the meantime is the one that gets written.
+            for (Path path : pending.keySet()) {
+                final PendingWrite write = pending.remove(path);
+                if (write == null) {
+                    continue;
+                }
+                final long start = System.nanoTime();
+                final boolean written = writeFile(path, write);
+                writeNanos.addAndGet(System.nanoTime() - start);
+                if (written) {
+                    filesWritten.incrementAndGet();
+                    if (write.onWritten != null) {
+                        write.onWritten.run();
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean writeFile(Path path, PendingWrite write) {
+        final Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (OutputStream stream = Files.newOutputStream(tmpPath)) {
+                CompressedStreamTools.writeCompressed(write.compound, stream);
+            }
+            if (write.backup != null && Files.exists(path)) {
+                Files.move(path, write.backup, StandardCopyOption.REPLACE_EXISTING);
+            }
+            try {
+                Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to save data file [{}]!", path, e);
+            return false;
+        }
+    }
+
+    // Not guarded by the write lock, queueing a file must never wait for a write in progress
+    private static synchronized ExecutorService getExecutor() {
+        if (ioExecutor == null) {
+            // The thread is allowed to exit while idle so that it never keeps the server alive
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge - Data Writer Thread").build());
+            executor.allowCoreThreadTimeOut(true);
+            ioExecutor = executor;
+        }
+        return ioExecutor;
+    }
+
+    private static final class PendingWrite {
+
+        @Nullable final Path backup;
+        final NBTTagCompound compound;
+        @Nullable final Runnable onWritten;
+
+        PendingWrite(@Nullable Path backup, NBTTagCompound compound, @Nullable Runnable onWritten) {
+            this.backup = backup;
+            this.compound = compound;
+            this.onWritten = onWritten;
+        }
+    }
+
+    private SpongeDataWriter() {
+    }
+}
@@ -42,6 +42,10 @@ public class SpongePlayerData implements DataSerializable {
     UUID uuid;
     long firstJoined;
     long lastJoined;
+    // Counts the changes to the data and the changes that made it to disk, not part of the data itself.
+    // The saved revision is only updated once a write succeeded, so failed writes are retried on the next save.
+    int revision;
+    volatile int savedRevision;
 
     SpongePlayerData() {
     }
@@ -36,15 +36,12 @@
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.common.world.WorldManager;
 
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.DirectoryIteratorException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -72,6 +69,8 @@ public static void init() {
         final Path filePath = WorldManager.getCurrentSavesDirectory().get().resolve("data").resolve
                 (SPONGE_DATA);
 
+        // Make sure nothing from a previous load is still being written
+        SpongeDataWriter.flush();
         try {
             handlerInstance.playerDir = filePath;
             Files.createDirectories(handlerInstance.playerDir);
@@ -118,7 +117,13 @@ public static void savePlayer(UUID id) {
         SpongePlayerDataHandler instance = Holder.INSTANCE;
         @Nullable SpongePlayerData data = instance.playerDataMap.get(checkNotNull(id, "Player id cannot be null!"));
         if (data != null) {
-            saveFile(id.toString(), createCompoundFor(data));
+            final int revision = data.revision;
+            if (revision == data.savedRevision) {
+                SpongeDataWriter.recordSkipped();
+                return;
+            }
+            SpongeDataWriter.write(instance.playerDir.resolve(id.toString() + ".dat"), null, createCompoundFor(data),
+                    () -> data.savedRevision = revision);
         } else {
             SpongeImpl.getLogger().error("Couldn't find a player data for the uuid: " + id.toString());
         }
@@ -128,46 +133,6 @@ private static NBTTagCompound createCompoundFor(SpongePlayerData data) {
         return NbtTranslator.getInstance().translateData(data.toContainer());
     }
 
-    private static void saveFile(String id, NBTTagCompound compound) {
-        checkState(Holder.INSTANCE.hasInitialized, "PlayerDataHandler hasn't initialized yet!");
-        SpongePlayerDataHandler instance = Holder.INSTANCE;
-        try {
-            final Path newDatPath = instance.playerDir.resolve(id + ".dat.tmp");
-            if (Files.notExists(newDatPath)) {
-                Files.createFile(newDatPath);
-            }
-
-            final Path finalDatPath = instance.playerDir.resolve(id + ".dat");
-
-            try (OutputStream stream = Files.newOutputStream(newDatPath)) {
-                CompressedStreamTools.writeCompressed(compound, stream);
-
-                try {
-                    Files.deleteIfExists(finalDatPath);
-                } catch (IOException ioe) {
-                    SpongeImpl.getLogger().error("Failed to delete the previous file [" + finalDatPath + "]!", ioe);
-                    return;
-                }
-
-                try {
-                    Files.move(newDatPath, finalDatPath,
-                            StandardCopyOption.REPLACE_EXISTING); // Replace is our last ditch effort to put this into place
-                } catch (IOException ioe) {
-                    SpongeImpl.getLogger().error("Could not rename file [{}] to [{}]!", newDatPath, finalDatPath);
-                    return;
-                }
-
-                try {
-                    Files.deleteIfExists(newDatPath);
-                } catch (IOException ioe) {
-                    SpongeImpl.getLogger().error("Could not delete file [{}]!", newDatPath);
-                }
-            }
-        } catch (Exception e) {
-            SpongeImpl.getLogger().error("Failed to save player data for [{}]!", id, e);
-        }
-    }
-
     public static void setPlayerInfo(UUID playerId, Instant join, Instant last) {
         checkState(Holder.INSTANCE.hasInitialized, "PlayerDataHandler hasn't initialized yet!");
         checkNotNull(join, "Joined date cannot be null!");
@@ -178,9 +143,15 @@ public static void setPlayerInfo(UUID playerId, Instant join, Instant last) {
         if (data == null) {
             data = new SpongePlayerData();
             data.uuid = playerId;
+            data.revision++;
+        }
+        final long firstJoined = join.toEpochMilli();
+        final long lastJoined = last.toEpochMilli();
+        if (data.firstJoined != firstJoined || data.lastJoined != lastJoined) {
+            data.firstJoined = firstJoined;
+            data.lastJoined = lastJoined;
+            data.revision++;
         }
-        data.firstJoined = join.toEpochMilli();
-        data.lastJoined = last.toEpochMilli();
         instance.playerDataMap.put(playerId, data);
     }
 
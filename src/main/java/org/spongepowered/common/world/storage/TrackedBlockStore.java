@@ -0,0 +1,405 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.entity.PlayerTracker;
+
+import javax.annotation.Nullable;
+
+/**
+ * Stores the owner and notifier indexes of tracked block positions within a
+ * single chunk.
+ *
+ * <p>Positions inside the vanilla build height are grouped by 16x16x16
+ * section. A section keeps its positions in a small hash map and only
+ * switches to a pair of flat int arrays once it holds enough positions
+ * for the arrays to be the smaller of the two. Indexes are stored offset
+ * by one so that a zero entry means the position is not tracked. Positions
+ * outside of the build height are rare and fall back to a hash map.</p>
+ */
+public final class TrackedBlockStore {
+
+    private static final int SECTION_COUNT = 16;
+    private static final int SECTION_VOLUME = 16 * 16 * 16;
+    // Sparse sections are written as three parallel arrays, dense ones as two full arrays
+    private static final int DENSE_THRESHOLD = SECTION_VOLUME * 2 / 3;
+    // Beyond this many positions the sparse map of a section would grow larger than the two flat arrays
+    private static final int PROMOTE_THRESHOLD = SECTION_VOLUME * 3 / 8;
+
+    private static final int NUM_XZ_BITS = 4;
+    private static final int NUM_SHORT_Y_BITS = 8;
+    private static final int NUM_INT_Y_BITS = 24;
+    private static final int Z_SHORT_SHIFT = NUM_XZ_BITS + NUM_SHORT_Y_BITS;
+    private static final int Z_INT_SHIFT = NUM_XZ_BITS + NUM_INT_Y_BITS;
+    private static final int XZ_MASK = 0xF;
+    private static final int Y_SHORT_MASK = 0xFF;
+    private static final int Y_INT_MASK = 0xFFFFFF;
+
+    private final Section[] sections = new Section[SECTION_COUNT];
+    private final Int2ObjectMap<PlayerTracker> outOfBounds = new Int2ObjectOpenHashMap<>();
+
+    public boolean isEmpty() {
+        for (Section section : this.sections) {
+            if (section != null) {
+                return false;
+            }
+        }
+        return this.outOfBounds.isEmpty();
+    }
+
+    public boolean isTracked(BlockPos pos) {
+        final int y = pos.getY();
+        if (isOutOfBounds(y)) {
+            return this.outOfBounds.containsKey(toIntKey(pos));
+        }
+        final Section section = this.sections[y >> 4];
+        return section != null && section.isTracked(toSectionIndex(pos.getX(), y, pos.getZ()));
+    }
+
+    /**
+     * Gets the owner index of the given position.
+     *
+     * @param pos The position
+     * @return The owner index, or -1 if there is no owner
+     */
+    public int getOwner(BlockPos pos) {
+        final int y = pos.getY();
+        if (isOutOfBounds(y)) {
+            final PlayerTracker tracker = this.outOfBounds.get(toIntKey(pos));
+            return tracker == null ? -1 : tracker.ownerIndex;
+        }
+        final Section section = this.sections[y >> 4];
+        return section == null ? -1 : section.getOwner(toSectionIndex(pos.getX(), y, pos.getZ())) - 1;
+    }
+
+    /**
+     * Gets the notifier index of the given position.
+     *
+     * @param pos The position
+     * @return The notifier index, or -1 if there is no notifier
+     */
+    public int getNotifier(BlockPos pos) {
+        final int y = pos.getY();
+        if (isOutOfBounds(y)) {
+            final PlayerTracker tracker = this.outOfBounds.get(toIntKey(pos));
+            return tracker == null ? -1 : tracker.notifierIndex;
+        }
+        final Section section = this.sections[y >> 4];
+        return section == null ? -1 : section.getNotifier(toSectionIndex(pos.getX(), y, pos.getZ())) - 1;
+    }
+
+    public void setOwner(BlockPos pos, int ownerIndex) {
+        final int y = pos.getY();
+        if (isOutOfBounds(y)) {
+            getOrCreateTracker(pos).ownerIndex = ownerIndex;
+            return;
+        }
+        set(y >> 4, toSectionIndex(pos.getX(), y, pos.getZ()), ownerIndex, true);
+    }
+
+    public void setNotifier(BlockPos pos, int notifierIndex) {
+        final int y = pos.getY();
+        if (isOutOfBounds(y)) {
+            getOrCreateTracker(pos).notifierIndex = notifierIndex;
+            return;
+        }
+        set(y >> 4, toSectionIndex(pos.getX(), y, pos.getZ()), notifierIndex, false);
+    }
+
+    public void remove(BlockPos pos) {
+        final int y = pos.getY();
+        if (isOutOfBounds(y)) {
+            this.outOfBounds.remove(toIntKey(pos));
+            return;
+        }
+        final int sectionY = y >> 4;
+        final Section section = this.sections[sectionY];
+        if (section != null) {
+            section.set(toSectionIndex(pos.getX(), y, pos.getZ()), 0, 0);
+            releaseIfEmpty(sectionY);
+        }
+    }
+
+    private PlayerTracker getOrCreateTracker(BlockPos pos) {
+        return this.outOfBounds.computeIfAbsent(toIntKey(pos), key -> new PlayerTracker());
+    }
+
+    private void set(int sectionY, int index, int value, boolean owner) {
+        Section section = this.sections[sectionY];
+        if (section == null) {
+            if (value == -1) {
+                return;
+            }
+            section = this.sections[sectionY] = new Section();
+        }
+        if (owner) {
+            section.set(index, value + 1, section.getNotifier(index));
+        } else {
+            section.set(index, section.getOwner(index), value + 1);
+        }
+        releaseIfEmpty(sectionY);
+    }
+
+    private void releaseIfEmpty(int sectionY) {
+        if (this.sections[sectionY].count == 0) {
+            this.sections[sectionY] = null;
+        }
+    }
+
+    /**
+     * Writes this store into the given sponge data compound.
+     *
+     * @param compound The sponge data compound of the chunk
+     */
+    public void writeToNbt(NBTTagCompound compound) {
+        final NBTTagList sections = new NBTTagList();
+        for (int sectionY = 0; sectionY < SECTION_COUNT; sectionY++) {
+            final Section section = this.sections[sectionY];
+            if (section == null) {
+                continue;
+            }
+            final int count = section.count;
+            final NBTTagCompound sectionNbt = new NBTTagCompound();
+            sectionNbt.setByte(NbtDataUtil.SPONGE_TRACKED_SECTION_Y, (byte) sectionY);
+            if (section.sparse == null && count > DENSE_THRESHOLD) {
+                sectionNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_OWNERS, section.owners.clone());
+                sectionNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_NOTIFIERS, section.notifiers.clone());
+            } else {
+                final int[] positions = new int[count];
+                final int[] sparseOwners = new int[count];
+                final int[] sparseNotifiers = new int[count];
+                int entry = 0;
+                if (section.sparse != null) {
+                    for (Short2LongMap.Entry sparseEntry : section.sparse.short2LongEntrySet()) {
+                        positions[entry] = sparseEntry.getShortKey();
+                        sparseOwners[entry] = unpackOwner(sparseEntry.getLongValue());
+                        sparseNotifiers[entry] = unpackNotifier(sparseEntry.getLongValue());
+                        entry++;
+                    }
+                } else {
+                    for (int index = 0; index < SECTION_VOLUME && entry < count; index++) {
+                        if (section.owners[index] != 0 || section.notifiers[index] != 0) {
+                            positions[entry] = index;
+                            sparseOwners[entry] = section.owners[index];
+                            sparseNotifiers[entry] = section.notifiers[index];
+                            entry++;
+                        }
+                    }
+                }
+                sectionNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_POSITIONS, positions);
+                sectionNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_OWNERS, sparseOwners);
+                sectionNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_NOTIFIERS, sparseNotifiers);
+            }
+            sections.appendTag(sectionNbt);
+        }
+        if (!sections.hasNoTags()) {
+            compound.setTag(NbtDataUtil.SPONGE_TRACKED_SECTIONS, sections);
+        }
+
+        if (!this.outOfBounds.isEmpty()) {
+            final NBTTagList positions = new NBTTagList();
+            for (Int2ObjectMap.Entry<PlayerTracker> entry : this.outOfBounds.int2ObjectEntrySet()) {
+                final NBTTagCompound valueNbt = new NBTTagCompound();
+                valueNbt.setInteger("owner", entry.getValue().ownerIndex);
+                valueNbt.setInteger("notifier", entry.getValue().notifierIndex);
+                valueNbt.setInteger("ipos", entry.getIntKey());
+                positions.appendTag(valueNbt);
+            }
+            compound.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
+        }
+    }
+
+    /**
+     * Reads a store from the given sponge data compound, including positions
+     * written in the older per position table format.
+     *
+     * @param compound The sponge data compound of the chunk
+     * @return The store
+     */
+    public static TrackedBlockStore readFromNbt(NBTTagCompound compound) {
+        final TrackedBlockStore store = new TrackedBlockStore();
+        final NBTTagList sections = compound.getTagList(NbtDataUtil.SPONGE_TRACKED_SECTIONS, NbtDataUtil.TAG_COMPOUND);
+        for (int i = 0; i < sections.tagCount(); i++) {
+            final NBTTagCompound sectionNbt = sections.getCompoundTagAt(i);
+            final int section = sectionNbt.getByte(NbtDataUtil.SPONGE_TRACKED_SECTION_Y);
+            if (section < 0 || section >= SECTION_COUNT) {
+                continue;
+            }
+            final int[] owners = sectionNbt.getIntArray(NbtDataUtil.SPONGE_TRACKED_OWNERS);
+            final int[] notifiers = sectionNbt.getIntArray(NbtDataUtil.SPONGE_TRACKED_NOTIFIERS);
+            if (sectionNbt.hasKey(NbtDataUtil.SPONGE_TRACKED_POSITIONS)) {
+                final int[] positions = sectionNbt.getIntArray(NbtDataUtil.SPONGE_TRACKED_POSITIONS);
+                if (owners.length != positions.length || notifiers.length != positions.length) {
+                    continue;
+                }
+                for (int entry = 0; entry < positions.length; entry++) {
+                    final int index = positions[entry] & (SECTION_VOLUME - 1);
+                    store.set(section, index, owners[entry] - 1, true);
+                    store.set(section, index, notifiers[entry] - 1, false);
+                }
+            } else if (owners.length == SECTION_VOLUME && notifiers.length == SECTION_VOLUME) {
+                for (int index = 0; index < SECTION_VOLUME; index++) {
+                    if (owners[index] != 0 || notifiers[index] != 0) {
+                        store.set(section, index, owners[index] - 1, true);
+                        store.set(section, index, notifiers[index] - 1, false);
+                    }
+                }
+            }
+        }
+
+        final NBTTagList positions = compound.getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, NbtDataUtil.TAG_COMPOUND);
+        for (int i = 0; i < positions.tagCount(); i++) {
+            final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+            int ownerIndex = -1;
+            int notifierIndex = -1;
+            if (valueNbt.hasKey("owner")) {
+                ownerIndex = valueNbt.getInteger("owner");
+            } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
+                ownerIndex = valueNbt.getInteger("uuid");
+            }
+            if (valueNbt.hasKey("notifier")) {
+                notifierIndex = valueNbt.getInteger("notifier");
+            }
+            if (ownerIndex == -1 && notifierIndex == -1) {
+                continue;
+            }
+            if (valueNbt.hasKey("pos")) {
+                final short key = valueNbt.getShort("pos");
+                final int y = (key >> NUM_XZ_BITS) & Y_SHORT_MASK;
+                final int index = toSectionIndex(key & XZ_MASK, y, (key >> Z_SHORT_SHIFT) & XZ_MASK);
+                store.set(y >> 4, index, ownerIndex, true);
+                store.set(y >> 4, index, notifierIndex, false);
+            } else {
+                final int key = valueNbt.getInteger("ipos");
+                final int y = (key >> NUM_XZ_BITS) & Y_INT_MASK;
+                if (isOutOfBounds(y)) {
+                    final PlayerTracker tracker = new PlayerTracker();
+                    tracker.ownerIndex = ownerIndex;
+                    tracker.notifierIndex = notifierIndex;
+                    store.outOfBounds.put(key, tracker);
+                } else {
+                    final int index = toSectionIndex(key & XZ_MASK, y, (key >> Z_INT_SHIFT) & XZ_MASK);
+                    store.set(y >> 4, index, ownerIndex, true);
+                    store.set(y >> 4, index, notifierIndex, false);
+                }
+            }
+        }
+        return store;
+    }
+
+    private static boolean isOutOfBounds(int y) {
+        return y < 0 || y >= SECTION_COUNT * 16;
+    }
+
+    private static int toSectionIndex(int x, int y, int z) {
+        return (y & 0xF) << 8 | (z & XZ_MASK) << 4 | (x & XZ_MASK);
+    }
+
+    private static int toIntKey(BlockPos pos) {
+        return (pos.getX() & XZ_MASK) | (pos.getY() & Y_INT_MASK) << NUM_XZ_BITS | (pos.getZ() & XZ_MASK) << Z_INT_SHIFT;
+    }
+
+    private static long pack(int owner, int notifier) {
+        return (long) owner << 32 | (notifier & 0xFFFFFFFFL);
+    }
+
+    private static int unpackOwner(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int unpackNotifier(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * The tracked positions of a single section, all values are offset by
+     * one. Positions are kept in a map from their index within the section
+     * to the packed owner and notifier pair, until there are more than
+     * {@link #PROMOTE_THRESHOLD} of them and the section is moved to flat
+     * arrays indexed by position.
+     */
+    private static final class Section {
+
+        @Nullable Short2LongOpenHashMap sparse = new Short2LongOpenHashMap();
+        @Nullable int[] owners;
+        @Nullable int[] notifiers;
+        int count;
+
+        int getOwner(int index) {
+            return this.sparse != null ? unpackOwner(this.sparse.get((short) index)) : this.owners[index];
+        }
+
+        int getNotifier(int index) {
+            return this.sparse != null ? unpackNotifier(this.sparse.get((short) index)) : this.notifiers[index];
+        }
+
+        boolean isTracked(int index) {
+            return this.sparse != null ? this.sparse.containsKey((short) index) : this.owners[index] != 0 || this.notifiers[index] != 0;
+        }
+
+        void set(int index, int owner, int notifier) {
+            final boolean wasTracked = isTracked(index);
+            final boolean isTracked = owner != 0 || notifier != 0;
+            if (this.sparse != null) {
+                if (isTracked) {
+                    this.sparse.put((short) index, pack(owner, notifier));
+                } else {
+                    this.sparse.remove((short) index);
+                }
+            } else {
+                this.owners[index] = owner;
+                this.notifiers[index] = notifier;
+            }
+            if (!wasTracked && isTracked) {
+                if (++this.count > PROMOTE_THRESHOLD && this.sparse != null) {
+                    promote();
+                }
+            } else if (wasTracked && !isTracked) {
+                this.count--;
+            }
+        }
+
+        private void promote() {
+            final int[] owners = new int[SECTION_VOLUME];
+            final int[] notifiers = new int[SECTION_VOLUME];
+            for (Short2LongMap.Entry entry : this.sparse.short2LongEntrySet()) {
+                owners[entry.getShortKey()] = unpackOwner(entry.getLongValue());
+                notifiers[entry.getShortKey()] = unpackNotifier(entry.getLongValue());
+            }
+            this.owners = owners;
+            this.notifiers = notifiers;
+            this.sparse = null;
+        }
+    }
+
+}
@@ -29,6 +29,7 @@
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.EventContextKeys;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
@@ -90,4 +91,48 @@ public void testPoppingFrameRemovesFrameContexts() throws Exception {
         Assert.assertFalse(causeStackManager.getContext(EventContextKeys.OWNER).isPresent());
     }
 
+    @Test
+    public void testPoppingFrameReusesCause() throws Exception {
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+
+        User user = Mockito.mock(User.class);
+
+        SpongeCauseStackManager.StackFrame outer = causeStackManager.pushCauseFrame();
+        causeStackManager.pushCause(1);
+        final Cause before = causeStackManager.getCurrentCause();
+
+        // Simulate a typical entity tick
+        SpongeCauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame();
+        causeStackManager.pushCause(2);
+        causeStackManager.addContext(EventContextKeys.OWNER, user);
+        Assert.assertEquals(2, causeStackManager.getCurrentCause().root());
+        Assert.assertTrue(causeStackManager.getCurrentContext().containsKey(EventContextKeys.OWNER));
+        causeStackManager.popCauseFrame(frame);
+
+        // Both the cause and its context are shared with the state before the frame
+        Assert.assertSame(before, causeStackManager.getCurrentCause());
+        Assert.assertFalse(causeStackManager.getCurrentContext().containsKey(EventContextKeys.OWNER));
+
+        causeStackManager.popCauseFrame(outer);
+    }
+
+    @Test
+    public void testWorldStackIsSeparate() throws Exception {
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+        final SpongeCauseStackManager worldStack = SpongeCauseStackManager.createWorldStack();
+
+        SpongeCauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame();
+        causeStackManager.pushCause(1);
+        worldStack.pushCause(2);
+        worldStack.addContext(EventContextKeys.OWNER, Mockito.mock(User.class));
+
+        // Neither stack sees the causes or context of the other one
+        Assert.assertEquals(1, causeStackManager.getCurrentCause().root());
+        Assert.assertFalse(causeStackManager.getCurrentContext().containsKey(EventContextKeys.OWNER));
+        Assert.assertEquals(2, worldStack.getCurrentCause().root());
+        Assert.assertEquals(1, worldStack.getCurrentCause().all().size());
+
+        causeStackManager.popCauseFrame(frame);
+    }
+
 }
@@ -109,6 +109,25 @@ public void testMultipleListeners() {
         Assert.assertFalse("SPAWN_ENTITY_EVENT_CUSTOM is not false!", ShouldFire.SPAWN_ENTITY_EVENT_CUSTOM);
     }
 
+    @Test
+    public void testListenerPresence() {
+        final SpongeEventManager manager = (SpongeEventManager) this.eventManager;
+        SubListener listener = new SubListener();
+
+        Assert.assertFalse("SpawnEntityEvent.Custom has listeners!", manager.hasListeners(SpawnEntityEvent.Custom.class));
+        Assert.assertFalse("SpawnEntityEvent has listeners!", manager.hasListeners(SpawnEntityEvent.class));
+
+        this.eventManager.registerListeners(this.plugin, listener);
+
+        Assert.assertTrue("SpawnEntityEvent.Custom has no listeners!", manager.hasListeners(SpawnEntityEvent.Custom.class));
+        // A listener for a subtype never receives an event of the base type
+        Assert.assertFalse("SpawnEntityEvent has listeners!", manager.hasListeners(SpawnEntityEvent.class));
+
+        this.eventManager.unregisterListeners(listener);
+
+        Assert.assertFalse("SpawnEntityEvent.Custom has listeners!", manager.hasListeners(SpawnEntityEvent.Custom.class));
+    }
+
     private static class SpawnListener {
 
         @Listener
@@ -0,0 +1,78 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import static org.mockito.Mockito.mock;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.data.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DeferredBlockPhysicsTest {
+
+    private static List<Transaction<BlockSnapshot>> transactions(int valid, int invalid) {
+        final List<Transaction<BlockSnapshot>> transactions = new ArrayList<>();
+        for (int i = 0; i < valid; i++) {
+            transactions.add(transaction(true));
+        }
+        // Spread the invalid transactions between the valid ones
+        for (int i = 0; i < invalid; i++) {
+            transactions.add(Math.min(i * 2, transactions.size()), transaction(false));
+        }
+        return transactions;
+    }
+
+    private static Transaction<BlockSnapshot> transaction(boolean valid) {
+        final Transaction<BlockSnapshot> transaction = new Transaction<>(mock(BlockSnapshot.class), mock(BlockSnapshot.class));
+        transaction.setValid(valid);
+        return transaction;
+    }
+
+    @Test
+    public void testDisabled() {
+        Assert.assertFalse(DeferredBlockPhysics.reachesThreshold(transactions(10, 0), 0));
+    }
+
+    @Test
+    public void testValidTransactions() {
+        Assert.assertTrue(DeferredBlockPhysics.reachesThreshold(transactions(10, 0), 10));
+        Assert.assertFalse(DeferredBlockPhysics.reachesThreshold(transactions(9, 0), 10));
+    }
+
+    @Test
+    public void testInvalidTransactionsAreNotCounted() {
+        Assert.assertFalse(DeferredBlockPhysics.reachesThreshold(transactions(9, 5), 10));
+        Assert.assertTrue(DeferredBlockPhysics.reachesThreshold(transactions(10, 5), 10));
+    }
+
+    @Test
+    public void testOnlyInvalidTransactions() {
+        Assert.assertFalse(DeferredBlockPhysics.reachesThreshold(transactions(0, 20), 10));
+    }
+}
@@ -61,4 +61,11 @@ public void testFullLengthSets() throws UnknownHostException {
         assertTrue(specv4.apply(InetAddress.getByName("10.0.0.1")));
         assertFalse(specv4.apply(InetAddress.getByName("10.0.0.2")));
     }
+
+    @Test
+    public void testPartialByteSets() throws UnknownHostException {
+        IpSet spec = IpSet.fromCidr("10.42.128.0/17");
+        assertTrue(spec.apply(InetAddress.getByName("10.42.200.1")));
+        assertFalse(spec.apply(InetAddress.getByName("10.42.100.1")));
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class IpTrieTest {
+
+    @Test
+    public void testLongestMatch() throws UnknownHostException {
+        IpTrie<String> trie = IpTrie.<String>empty()
+                .with(IpSet.fromCidr("10.0.0.0/8"), "wide")
+                .with(IpSet.fromCidr("10.42.0.0/16"), "narrow")
+                .with(IpSet.fromCidr("[fc00::]/7"), "local");
+        assertEquals("narrow", trie.getLongestMatch(InetAddress.getByName("10.42.2.5")));
+        assertEquals("wide", trie.getLongestMatch(InetAddress.getByName("10.43.2.5")));
+        assertNull(trie.getLongestMatch(InetAddress.getByName("11.0.0.1")));
+        assertEquals("local", trie.getLongestMatch(InetAddress.getByName("fd12::1")));
+        assertNull(trie.getLongestMatch(InetAddress.getByName("fe80::1")));
+    }
+
+    @Test
+    public void testAddressFamiliesAreSeparate() throws UnknownHostException {
+        IpTrie<String> trie = IpTrie.<String>empty().with(IpSet.fromCidr("0.0.0.0/0"), "any ipv4");
+        assertEquals("any ipv4", trie.getLongestMatch(InetAddress.getByName("192.168.1.1")));
+        assertNull(trie.getLongestMatch(InetAddress.getByName("::1")));
+    }
+
+    @Test
+    public void testUpdatesDoNotChangePreviousTrie() throws UnknownHostException {
+        IpTrie<String> first = IpTrie.<String>empty().with(IpSet.fromCidr("10.0.0.0/8"), "wide");
+        IpTrie<String> second = first.with(IpSet.fromCidr("10.42.0.0/16"), "narrow");
+        IpTrie<String> third = second.without(InetAddress.getByName("10.0.0.0"), 8);
+        InetAddress address = InetAddress.getByName("10.42.2.5");
+        assertEquals("wide", first.getLongestMatch(address));
+        assertEquals("narrow", second.getLongestMatch(address));
+        assertNull(third.getLongestMatch(InetAddress.getByName("10.43.2.5")));
+        assertEquals(1, first.size());
+        assertEquals(2, second.size());
+        assertEquals(1, third.size());
+        assertTrue(third.without(InetAddress.getByName("10.42.0.0"), 16).isEmpty());
+    }
+
+    @Test
+    public void testForEachMatchMatchesLinearScan() throws UnknownHostException {
+        Random random = new Random(0);
+        List<IpSet> ranges = new ArrayList<>();
+        IpTrie<IpSet> trie = IpTrie.empty();
+        for (int i = 0; i < 500; i++) {
+            IpSet range = IpSet.fromAddrPrefix(randomAddress(random), random.nextInt(33));
+            if (trie.getExact(range.getAddress(), range.getPrefixLength()) == null) {
+                ranges.add(range);
+                trie = trie.with(range, range);
+            }
+        }
+        for (int i = 0; i < 2000; i++) {
+            InetAddress address = randomAddress(random);
+            List<IpSet> expected = new ArrayList<>();
+            for (IpSet range : ranges) {
+                if (range.apply(address)) {
+                    expected.add(range);
+                }
+            }
+            List<IpSet> actual = new ArrayList<>();
+            trie.forEachMatch(address, actual::add);
+            assertEquals(expected.size(), actual.size());
+            assertTrue(expected.containsAll(actual));
+        }
+    }
+
+    private static InetAddress randomAddress(Random random) throws UnknownHostException {
+        byte[] bytes = new byte[4];
+        random.nextBytes(bytes);
+        // Keep the addresses close together so that ranges overlap often
+        bytes[0] = (byte) (bytes[0] & 0x3);
+        return InetAddress.getByAddress(bytes);
+    }
+}